@@ -7,33 +7,144 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
 import javax.swing.filechooser.FileSystemView;
 import mycalendar.model.CalendarModel;
-import mycalendar.model.CalendarModelImpl;
 import mycalendar.model.CalendarReader;
+import mycalendar.model.CalendarSnapshot;
 
 /**
- * Manages the files used by the calendar. Keeps track of the currently open file, opens the
- * calendar file, and saves the existing calendar file. The calendar.mycal are stored in the
- * MyCalendar folder in the Windows Documents folder. This file (and folder) are created if they do
- * not already exist.
+ * Manages the files used by the calendars. Keeps track of the named calendars and which of them are
+ * shown, opens calendar files, and saves calendar files. Each calendar is stored in its own
+ * [name].mycal file, and the list of calendars is stored in the calendars.cfg file, all in the
+ * MyCalendar folder in the Windows Documents folder. These files (and folder) are created if they
+ * do not already exist. The first calendar is named "calendar" so that an existing calendar.mycal
+ * file keeps being used. The list of calendars may be used from several threads, so it is only
+ * read or changed while holding the lock of this class. Calendar files are read and written
+ * without holding the lock, so checking the list never waits for a calendar to be read or saved.
  */
 public final class FileManager {
 
-  public static CalendarModel OPEN_CALENDAR = new CalendarModelImpl();
-  private static String OPEN_FILE_PATH = getFolderPath() + "calendar.mycal";
+  private static final String DEFAULT_CALENDAR_NAME = "calendar";
+  private static final String CALENDAR_LIST_FILE_NAME = "calendars.cfg";
+
+  // The name of each calendar and whether or not it is shown, in the order they were created
+  private static final Map<String, Boolean> CALENDARS = new LinkedHashMap<>();
+
+  /**
+   * Opens the calendars.cfg file listing the calendars and whether or not each is shown. If the
+   * file does not exist, it is created listing only the default calendar as shown. No calendar
+   * files are opened.
+   *
+   * @throws IllegalArgumentException if the list of calendars is not properly formatted
+   * @throws IllegalStateException    if there is an error when reading or creating the
+   *                                  calendars.cfg file
+   */
+  public static synchronized void openCalendarList()
+      throws IllegalArgumentException, IllegalStateException {
+    CALENDARS.clear();
+
+    Path path = Path.of(getFolderPath() + CALENDAR_LIST_FILE_NAME);
+    if (!Files.exists(path)) {
+      CALENDARS.put(DEFAULT_CALENDAR_NAME, true);
+      saveCalendarList();
+      return;
+    }
+
+    try (Scanner scan = new Scanner(path)) {
+      while (scan.hasNextLine()) {
+        String line = scan.nextLine().trim();
+        if (line.isEmpty()) {
+          continue;
+        }
+
+        String[] parts = line.split(" ", 2);
+        if (parts.length != 2 || !(parts[0].equals("shown") || parts[0].equals("hidden"))) {
+          throw new IllegalArgumentException("Invalid calendar list entry: " + line);
+        }
+        validateCalendarName(parts[1]);
+        CALENDARS.put(parts[1], parts[0].equals("shown"));
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Calendar list read failed");
+    }
+  }
+
+  /**
+   * Gets the names of every calendar, whether shown or not, in the order they were created.
+   *
+   * @return the names of every calendar
+   */
+  public static synchronized List<String> getCalendarNames() {
+    return new ArrayList<>(CALENDARS.keySet());
+  }
+
+  /**
+   * Determines whether or not the calendar with the given name is shown.
+   *
+   * @param name the name of the calendar
+   * @return whether or not the calendar with the given name is shown
+   */
+  public static synchronized boolean isShown(String name) {
+    return CALENDARS.getOrDefault(name, false);
+  }
 
   /**
-   * Opens the calendar.mycal file.
+   * Creates a new empty calendar with the given name. The calendar is not shown until it is
+   * opened.
    *
-   * @throws IllegalArgumentException if the calendar file is not found or if the calendar itself
-   *                                  has invalid data (such as an invalid date)
-   * @throws IllegalStateException    if there is an error when creating the calendar.mycal file (if
-   *                                  it needs to be created)
+   * @param name the name of the calendar
+   * @throws IllegalArgumentException if the name is invalid or already used by another calendar
+   * @throws IllegalStateException    if there is an error when creating the calendar's file
    */
-  public static void openFile() throws IllegalArgumentException, IllegalStateException {
+  public static synchronized void createCalendar(String name)
+      throws IllegalArgumentException, IllegalStateException {
+    validateCalendarName(name);
+    for (String existingName : CALENDARS.keySet()) {
+      if (existingName.equalsIgnoreCase(name)) {
+        throw new IllegalArgumentException("A calendar named \"" + name + "\" already exists.");
+      }
+    }
+
+    try {
+      Path path = Path.of(getCalendarFilePath(name));
+      if (!Files.exists(path)) {
+        Files.createFile(path);
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("File creation failed");
+    }
+
+    CALENDARS.put(name, false);
+    saveCalendarList();
+  }
+
+  /**
+   * Opens the file of the calendar with the given name. The calendar is not marked as shown until
+   * it is actually shown, so that a calendar whose opening was abandoned is not listed as shown.
+   *
+   * @param name the name of the calendar
+   * @return the calendar read from the file
+   * @throws IllegalArgumentException if there is no calendar with the given name or if the calendar
+   *                                  itself has invalid data (such as an invalid date)
+   * @throws IllegalStateException    if there is an error when creating the calendar's file (if it
+   *                                  needs to be created)
+   */
+  public static CalendarModel openCalendar(String name)
+      throws IllegalArgumentException, IllegalStateException {
+    synchronized (FileManager.class) {
+      if (!CALENDARS.containsKey(name)) {
+        throw new IllegalArgumentException("There is no calendar named \"" + name + "\".");
+      }
+    }
+
+    CalendarModel calendar;
     try {
-      String filePath = getFolderPath() + "calendar.mycal";
+      String filePath = getCalendarFilePath(name);
 
       Path path = Path.of(filePath);
       if (!Files.exists(path)) {
@@ -41,8 +152,7 @@ public final class FileManager {
       }
 
       try {
-        OPEN_CALENDAR = CalendarReader.readCalendarFile(new FileReader(filePath));
-        OPEN_FILE_PATH = filePath;
+        calendar = CalendarReader.readCalendarFile(new FileReader(filePath));
       } catch (FileNotFoundException fnfe) {
         throw new IllegalArgumentException("File not found");
       }
@@ -50,26 +160,111 @@ public final class FileManager {
     } catch (IOException ioe) {
       throw new IllegalStateException("File creation failed");
     }
+
+    return calendar;
   }
 
   /**
-   * Saves the given calendar as a .mycal file within the MyCalendar folder in the user's My
-   * Documents folder. If this folder does not exist, that folder will be created. Files generated
-   * by saving the given calendar can be used within the calendar reader to be imported into the
-   * program.
+   * Marks the calendar with the given name as shown so that it is opened the next time the program
+   * runs.
    *
+   * @param name the name of the calendar
+   * @throws IllegalArgumentException if there is no calendar with the given name
+   */
+  public static synchronized void showCalendar(String name) throws IllegalArgumentException {
+    if (!CALENDARS.containsKey(name)) {
+      throw new IllegalArgumentException("There is no calendar named \"" + name + "\".");
+    }
+
+    if (!CALENDARS.get(name)) {
+      CALENDARS.put(name, true);
+      saveCalendarList();
+    }
+  }
+
+  /**
+   * Marks the calendar with the given name as hidden so that it is not opened the next time the
+   * program runs. The calendar should be saved first if it has been changed.
+   *
+   * @param name the name of the calendar
+   * @throws IllegalArgumentException if there is no calendar with the given name
+   */
+  public static synchronized void hideCalendar(String name) throws IllegalArgumentException {
+    if (!CALENDARS.containsKey(name)) {
+      throw new IllegalArgumentException("There is no calendar named \"" + name + "\".");
+    }
+
+    if (CALENDARS.get(name)) {
+      CALENDARS.put(name, false);
+      saveCalendarList();
+    }
+  }
+
+  /**
+   * Saves the given snapshot of a calendar as the .mycal file of the calendar with the given name
+   * within the MyCalendar folder in the user's My Documents folder. If this folder does not exist,
+   * that folder will be created. Since a snapshot never changes, the saved file is always a
+   * consistent version of the calendar even if the calendar is changed while it is being saved.
+   * Files generated by saving a calendar can be used within the calendar reader to be imported into
+   * the program.
+   *
+   * @param name     the name of the calendar
+   * @param snapshot the snapshot of the calendar to save
    * @throws IllegalStateException if the file writing process fails for any reason
    */
-  public static void saveCalendar() throws IllegalStateException {
+  public static void saveCalendar(String name, CalendarSnapshot snapshot)
+      throws IllegalStateException {
     try {
-      FileWriter writer = new FileWriter(OPEN_FILE_PATH);
-      writer.append(OPEN_CALENDAR.calendarInfo());
+      FileWriter writer = new FileWriter(getCalendarFilePath(name));
+      writer.append(snapshot.calendarInfo());
       writer.close();
     } catch (IOException ioe) {
       throw new IllegalStateException("File write failed");
     }
   }
 
+  /**
+   * Saves the list of calendars and whether or not each is shown to the calendars.cfg file.
+   *
+   * @throws IllegalStateException if the file writing process fails for any reason
+   */
+  private static void saveCalendarList() throws IllegalStateException {
+    try {
+      FileWriter writer = new FileWriter(getFolderPath() + CALENDAR_LIST_FILE_NAME);
+      for (Map.Entry<String, Boolean> entry : CALENDARS.entrySet()) {
+        writer.append(entry.getValue() ? "shown " : "hidden ").append(entry.getKey()).append("\n");
+      }
+      writer.close();
+    } catch (IOException ioe) {
+      throw new IllegalStateException("File write failed");
+    }
+  }
+
+  /**
+   * Checks that the given name can be used as the name of a calendar and its file. Names may only
+   * contain letters, digits, spaces, dashes, and underscores, and cannot start or end with a space.
+   *
+   * @param name the name to check
+   * @throws IllegalArgumentException if the given name cannot be used as the name of a calendar
+   */
+  private static void validateCalendarName(String name) throws IllegalArgumentException {
+    if (name == null || !name.matches("[A-Za-z0-9_-]([A-Za-z0-9 _-]*[A-Za-z0-9_-])?")) {
+      throw new IllegalArgumentException("Calendar names may only contain letters, digits, "
+          + "spaces, dashes, and underscores.");
+    }
+  }
+
+  /**
+   * Gets the path to the file of the calendar with the given name.
+   *
+   * @param name the name of the calendar
+   * @return the path to the calendar's file
+   * @throws IllegalStateException if the directory creation fails
+   */
+  private static String getCalendarFilePath(String name) throws IllegalStateException {
+    return getFolderPath() + name + ".mycal";
+  }
+
   /**
    * Gets the path to the MyCalendar folder, which is in the Windows Documents folder. If the
    * MyCalendar folder does not exist in the Windows Documents directory, it is created.
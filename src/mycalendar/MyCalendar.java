@@ -3,14 +3,17 @@ package mycalendar;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import mycalendar.controller.CalendarController;
-import mycalendar.model.CalendarModel;
+import mycalendar.model.MergedCalendarModel;
 import mycalendar.view.CalendarViewBase;
 
 /**
- * Allows for the program to be run.
+ * Allows for the program to be run. Running the program with {@code --renderer=canvas} draws the
+ * day columns of the calendar on canvases instead of building them from nodes.
  */
 public class MyCalendar extends Application {
 
+  private CalendarController controller;
+
   /**
    * Launches the program.
    *
@@ -22,11 +25,25 @@ public class MyCalendar extends Application {
 
   @Override
   public void start(Stage stage) {
-    FileManager.openFile();
-    CalendarModel model = FileManager.OPEN_CALENDAR;
-    CalendarViewBase root = new CalendarViewBase();
-    CalendarController controller = new CalendarController(model, root);
+    FileManager.openCalendarList();
+    MergedCalendarModel model = new MergedCalendarModel();
+    for (String name : FileManager.getCalendarNames()) {
+      if (FileManager.isShown(name)) {
+        model.addCalendar(name, FileManager.openCalendar(name));
+      }
+    }
+
+    boolean drawOnCanvas = "canvas".equals(this.getParameters().getNamed().get("renderer"));
+    CalendarViewBase root = new CalendarViewBase(drawOnCanvas);
+    this.controller = new CalendarController(model, root);
 
-    controller.run(stage);
+    this.controller.run(stage);
+  }
+
+  @Override
+  public void stop() {
+    if (this.controller != null) {
+      this.controller.stop();
+    }
   }
 }
@@ -0,0 +1,162 @@
+package mycalendar.controller;
+
+import java.util.List;
+import mycalendar.model.CalendarModel;
+import mycalendar.model.Event;
+import mycalendar.model.EventSeries;
+import mycalendar.model.MergedCalendarModel;
+
+/**
+ * Represents a single change made to one named calendar as the events and series it added and
+ * removed. Events and series are replaced rather than modified, so a change only refers to the
+ * affected events and series themselves and never copies the rest of the calendar. A change made
+ * up of many events (such as deleting a range of dates) is still a single change.
+ */
+final class CalendarChange {
+
+  private final String calendarName;
+  private final List<Event> addedEvents;
+  private final List<Event> removedEvents;
+  private final List<EventSeries> addedSeries;
+  private final List<EventSeries> removedSeries;
+
+  /**
+   * Constructs a change to the given calendar which added and removed the given events and series.
+   *
+   * @param calendarName  the name of the calendar which was changed
+   * @param addedEvents   the events added by the change
+   * @param removedEvents the events removed by the change
+   * @param addedSeries   the series added by the change
+   * @param removedSeries the series removed by the change
+   */
+  CalendarChange(String calendarName, List<Event> addedEvents, List<Event> removedEvents,
+      List<EventSeries> addedSeries, List<EventSeries> removedSeries) {
+    this.calendarName = calendarName;
+    this.addedEvents = List.copyOf(addedEvents);
+    this.removedEvents = List.copyOf(removedEvents);
+    this.addedSeries = List.copyOf(addedSeries);
+    this.removedSeries = List.copyOf(removedSeries);
+  }
+
+  /**
+   * Creates a change to the given calendar which only added and removed events.
+   *
+   * @param calendarName  the name of the calendar which was changed
+   * @param addedEvents   the events added by the change
+   * @param removedEvents the events removed by the change
+   * @return a change adding and removing the given events
+   */
+  static CalendarChange ofEvents(String calendarName, List<Event> addedEvents,
+      List<Event> removedEvents) {
+    return new CalendarChange(calendarName, addedEvents, removedEvents, List.of(), List.of());
+  }
+
+  /**
+   * Creates a change to the given calendar which only replaced one series with another.
+   *
+   * @param calendarName  the name of the calendar which was changed
+   * @param series        the series which was replaced
+   * @param updatedSeries the series it was replaced with
+   * @return a change replacing the given series
+   */
+  static CalendarChange ofSeriesUpdate(String calendarName, EventSeries series,
+      EventSeries updatedSeries) {
+    return new CalendarChange(calendarName, List.of(), List.of(), List.of(updatedSeries),
+        List.of(series));
+  }
+
+  /**
+   * Creates the change which undoes this change.
+   *
+   * @return a change undoing this change
+   */
+  CalendarChange inverse() {
+    return new CalendarChange(this.calendarName, this.removedEvents, this.addedEvents,
+        this.removedSeries, this.addedSeries);
+  }
+
+  /**
+   * Checks that this change can be made to the calendar it was made to, without changing anything.
+   * Every removed event and series must be in the calendar, and every added one must not be,
+   * unless this change also removes it.
+   *
+   * @param calendars the shown calendars
+   * @throws IllegalArgumentException if the changed calendar is not shown, if any of the removed
+   *                                  events or series are not found in the calendar, or if any of
+   *                                  the added events or series are already in the calendar
+   */
+  void checkApplicableTo(MergedCalendarModel calendars) throws IllegalArgumentException {
+    CalendarModel model = calendars.getCalendar(this.calendarName);
+    for (Event event : this.removedEvents) {
+      if (!model.contains(event)) {
+        throw new IllegalArgumentException("Event not found in " + this.calendarName + ".");
+      }
+    }
+    for (EventSeries series : this.removedSeries) {
+      if (!model.containsSeries(series)) {
+        throw new IllegalArgumentException("Series not found in " + this.calendarName + ".");
+      }
+    }
+    for (Event event : this.addedEvents) {
+      if (model.contains(event) && !this.removedEvents.contains(event)) {
+        throw new IllegalArgumentException("Event already in " + this.calendarName + ".");
+      }
+    }
+    for (EventSeries series : this.addedSeries) {
+      if (model.containsSeries(series) && !this.removedSeries.contains(series)) {
+        throw new IllegalArgumentException("Series already in " + this.calendarName + ".");
+      }
+    }
+  }
+
+  /**
+   * Makes this change to the calendar it was made to. The removed events are removed in one call
+   * and the added events are added in one call, so the calendar publishes a snapshot and tells its
+   * listeners once for each rather than once for every event. Series are changed one at a time.
+   * The change is checked first, and if adding still fails (such as by making the calendar too
+   * large) everything already changed is put back, so either all of the change is made or none.
+   *
+   * @param calendars the shown calendars
+   * @throws IllegalArgumentException if the change cannot be made, as described by
+   *                                  {@link #checkApplicableTo}, or if it would make the calendar
+   *                                  exceed its maximum size
+   */
+  void applyTo(MergedCalendarModel calendars) throws IllegalArgumentException {
+    this.checkApplicableTo(calendars);
+    CalendarModel model = calendars.getCalendar(this.calendarName);
+    model.removeAll(this.removedEvents);
+    for (EventSeries series : this.removedSeries) {
+      model.removeSeries(series);
+    }
+    int seriesAdded = 0;
+    try {
+      for (EventSeries series : this.addedSeries) {
+        model.addSeries(series);
+        seriesAdded++;
+      }
+      model.addAll(this.addedEvents);
+    } catch (IllegalArgumentException iae) {
+      // Putting back what was removed only shrinks the calendar back to its old size, so it
+      // cannot fail
+      for (EventSeries series : this.addedSeries.subList(0, seriesAdded)) {
+        model.removeSeries(series);
+      }
+      for (EventSeries series : this.removedSeries) {
+        model.addSeries(series);
+      }
+      model.addAll(this.removedEvents);
+      throw iae;
+    }
+  }
+
+  /**
+   * Gets the number of events and series this change refers to, used as a measure of the memory it
+   * holds on to.
+   *
+   * @return the number of events and series in this change
+   */
+  int size() {
+    return this.addedEvents.size() + this.removedEvents.size() + this.addedSeries.size()
+        + this.removedSeries.size();
+  }
+}
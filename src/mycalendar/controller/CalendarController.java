@@ -1,25 +1,76 @@
 package mycalendar.controller;
 
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import mycalendar.FileManager;
 import mycalendar.model.CalendarModel;
+import mycalendar.model.CalendarUpdate;
 import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+import mycalendar.model.EventSeries;
+import mycalendar.model.MergedCalendarModel;
+import mycalendar.model.dateandtime.Date;
 import mycalendar.view.CalendarViewBase;
 
 /**
  * Represents a controller used for facilitating interactions between the user and the calendar.
  * Also manages the application window (allows the user to move the window and maximize the window
  * brought to the top of the screen).
+ *
+ * <p>Every change to the calendars is queued to a single writer thread rather than made on the
+ * JavaFX thread. The writer makes the change and records it in the history. The calendars send
+ * each change they make to the controller as an update, from which the writer saves the changed
+ * calendars, and only the reminders and the days of the view the updates affect are then refreshed
+ * back on the JavaFX thread. Changes which fail are reported to the user as error messages once the
+ * writer gets to them.
  */
 public class CalendarController implements Features {
 
-  private final CalendarModel model;
+  private static final int MAX_TITLE_SUGGESTIONS = 8;
+  private static final KeyCombination UNDO_SHORTCUT =
+      new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+  private static final KeyCombination REDO_SHORTCUT =
+      new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+  private static final KeyCombination REDO_SHIFT_SHORTCUT =
+      new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+  private static final int REMINDER_LEAD_MINUTES = 10;
+  // The number of events and series the undo history can hold on to
+  private static final int HISTORY_CAPACITY = 100000;
+
+  private final MergedCalendarModel model;
   private final CalendarViewBase view;
+  private final ReminderScheduler reminders;
+  // Only used on the writer thread
+  private final EditHistory history;
+  // The changes made to the calendars by the batch the writer is making (only used on the writer
+  // thread)
+  private final List<CalendarUpdate> pendingUpdates;
+  private final CalendarWriter writer;
+  private final TaskService tasks;
+  // The calendars being opened in the background to be shown (only used on the JavaFX thread)
+  private final Map<String, Task<CalendarModel>> openTasks;
 
   private double xMove = 0;
   private double yMove = 0;
@@ -27,48 +78,556 @@ public class CalendarController implements Features {
   /**
    * Constructs a controller for managing the calendar.
    *
-   * @param model the calendar model
+   * @param model the shown calendars merged into one
    * @param view  the calendar view
    * @throws IllegalArgumentException if the model or the view is null
    */
-  public CalendarController(CalendarModel model, CalendarViewBase view)
+  public CalendarController(MergedCalendarModel model, CalendarViewBase view)
       throws IllegalArgumentException {
     if (model == null || view == null) {
       throw new IllegalArgumentException("Model and view cannot be null.");
     }
     this.model = model;
     this.view = view;
+    this.reminders = new ReminderScheduler(this.model, REMINDER_LEAD_MINUTES,
+        this.view::showReminder);
+    this.history = new EditHistory(HISTORY_CAPACITY);
+    this.pendingUpdates = new ArrayList<>();
+    this.writer = new CalendarWriter(this::finishBatch);
+    this.tasks = new TaskService(this.view::showError);
+    this.openTasks = new HashMap<>();
+
+    // Every change is made on the writer thread, so the listener is only called there
+    this.model.addListener(this.pendingUpdates::add);
 
     this.view.setFeatures(this);
-    this.view.setEvents(this.model.getEvents());
 
     this.view.refresh();
   }
 
   @Override
-  public void addEvent(Event event) {
-    this.model.addEvent(event);
-    this.refreshCalendar();
+  public void addEvent(Event event) throws IllegalArgumentException {
+    String calendarName = this.targetCalendarName();
+    this.writer.submit(() -> {
+      this.model.getCalendar(calendarName).addEvent(event);
+      this.record(CalendarChange.ofEvents(calendarName, List.of(event), List.of()));
+    });
+  }
+
+  @Override
+  public void updateEvent(Event event, Event updatedEvent) {
+    this.writer.submit(() -> {
+      if (event.isRecurring()) {
+        EventSeries series = event.getSeries();
+        EventSeries updatedSeries = series.withException(event.getDate());
+        String calendarName = this.model.calendarOfSeries(series);
+        CalendarModel calendar = this.model.getCalendar(calendarName);
+
+        calendar.addEvent(updatedEvent);
+        try {
+          calendar.updateSeries(series, updatedSeries);
+        } catch (IllegalArgumentException iae) {
+          calendar.removeEvent(updatedEvent);
+          throw iae;
+        }
+        this.record(new CalendarChange(calendarName, List.of(updatedEvent), List.of(),
+            List.of(updatedSeries), List.of(series)));
+      } else {
+        String calendarName = this.model.calendarOf(event);
+        this.model.getCalendar(calendarName).updateEvent(event, updatedEvent);
+        this.record(CalendarChange.ofEvents(calendarName, List.of(updatedEvent), List.of(event)));
+      }
+    });
+  }
+
+  @Override
+  public void deleteEvent(Event event) {
+    this.writer.submit(() -> {
+      if (event.isRecurring()) {
+        EventSeries series = event.getSeries();
+        EventSeries updatedSeries = series.withException(event.getDate());
+        String calendarName = this.model.calendarOfSeries(series);
+        this.model.getCalendar(calendarName).updateSeries(series, updatedSeries);
+        this.record(CalendarChange.ofSeriesUpdate(calendarName, series, updatedSeries));
+      } else {
+        String calendarName = this.model.calendarOf(event);
+        this.model.getCalendar(calendarName).removeEvent(event);
+        this.record(CalendarChange.ofEvents(calendarName, List.of(), List.of(event)));
+      }
+    });
+  }
+
+  @Override
+  public void addAll(List<Event> events) throws IllegalArgumentException {
+    String calendarName = this.targetCalendarName();
+    List<Event> eventsToAdd = List.copyOf(events);
+    this.writer.submit(() -> {
+      this.model.getCalendar(calendarName).addAll(eventsToAdd);
+      this.record(CalendarChange.ofEvents(calendarName, eventsToAdd, List.of()));
+    });
   }
 
   @Override
-  public void updateCalendar() {
-    this.refreshCalendar();
+  public void removeAll(Predicate<Event> filter) {
+    this.writer.submit(() -> {
+      List<CalendarChange> edit = new ArrayList<>();
+      try {
+        for (String calendarName : this.model.getCalendarNames()) {
+          List<Event> removedEvents = this.model.getCalendar(calendarName).removeAll(filter);
+          if (!removedEvents.isEmpty()) {
+            edit.add(CalendarChange.ofEvents(calendarName, List.of(), removedEvents));
+          }
+        }
+      } finally {
+        // The calendars already changed keep their changes, which must still be undoable
+        this.record(edit);
+      }
+    });
   }
 
   @Override
-  public void deleteEvent(Event event) throws IllegalArgumentException {
-    this.model.removeEvent(event);
-    this.refreshCalendar();
+  public void removeRange(Date start, Date end) throws IllegalArgumentException {
+    if (start.compareTo(end) > 0) {
+      throw new IllegalArgumentException("Start date must not be after end date.");
+    }
+
+    this.writer.submit(() -> {
+      List<CalendarChange> edit = new ArrayList<>();
+      try {
+        for (String calendarName : this.model.getCalendarNames()) {
+          CalendarUpdate update = this.model.getCalendar(calendarName).removeRange(start, end);
+          edit.add(new CalendarChange(calendarName, List.of(), update.getRemovedEvents(),
+              update.getAddedSeries(), update.getRemovedSeries()));
+        }
+      } finally {
+        // The calendars already changed keep their changes, which must still be undoable
+        this.record(edit);
+      }
+    });
+  }
+
+  @Override
+  public void deleteEvents(List<Event> events) {
+    List<Event> eventsToDelete = List.copyOf(events);
+    this.writer.submit(() -> {
+      // Find the calendar of every event and series before removing anything
+      Map<String, Set<Event>> eventsByCalendar = new LinkedHashMap<>();
+      Map<EventSeries, List<Date>> exceptions = new LinkedHashMap<>();
+      for (Event event : eventsToDelete) {
+        if (event.isRecurring()) {
+          exceptions.computeIfAbsent(event.getSeries(), series -> new ArrayList<>())
+              .add(event.getDate());
+        } else {
+          eventsByCalendar.computeIfAbsent(this.model.calendarOf(event), name -> new HashSet<>())
+              .add(event);
+        }
+      }
+      Map<EventSeries, String> seriesCalendars = new LinkedHashMap<>();
+      for (EventSeries series : exceptions.keySet()) {
+        seriesCalendars.put(series, this.model.calendarOfSeries(series));
+      }
+
+      // Each step is kept as soon as it is made, so that if a later step fails, the steps already
+      // made are still recorded and can be undone
+      List<CalendarChange> edit = new ArrayList<>();
+      try {
+        for (Map.Entry<EventSeries, List<Date>> entry : exceptions.entrySet()) {
+          EventSeries series = entry.getKey();
+          EventSeries updatedSeries = series.withExceptions(entry.getValue());
+          String calendarName = seriesCalendars.get(series);
+          this.model.getCalendar(calendarName).updateSeries(series, updatedSeries);
+          edit.add(CalendarChange.ofSeriesUpdate(calendarName, series, updatedSeries));
+        }
+
+        for (Map.Entry<String, Set<Event>> entry : eventsByCalendar.entrySet()) {
+          List<Event> removedEvents = List.copyOf(entry.getValue());
+          this.model.getCalendar(entry.getKey()).removeAll(removedEvents);
+          edit.add(CalendarChange.ofEvents(entry.getKey(), List.of(), removedEvents));
+        }
+      } finally {
+        this.record(edit);
+      }
+    });
+  }
+
+  @Override
+  public void addSeries(EventSeries series) throws IllegalArgumentException {
+    String calendarName = this.targetCalendarName();
+    this.writer.submit(() -> {
+      this.model.getCalendar(calendarName).addSeries(series);
+      this.record(new CalendarChange(calendarName, List.of(), List.of(), List.of(series),
+          List.of()));
+    });
+  }
+
+  @Override
+  public void deleteSeries(EventSeries series) {
+    this.writer.submit(() -> {
+      String calendarName = this.model.calendarOfSeries(series);
+      this.model.getCalendar(calendarName).removeSeries(series);
+      this.record(new CalendarChange(calendarName, List.of(), List.of(), List.of(),
+          List.of(series)));
+    });
+  }
+
+  @Override
+  public void undo() {
+    this.writer.submit(() -> {
+      List<CalendarChange> edit = this.history.undo();
+      if (edit == null) {
+        return;
+      }
+
+      List<CalendarChange> inverseEdit = new ArrayList<>();
+      for (CalendarChange change : edit) {
+        inverseEdit.add(0, change.inverse());
+      }
+      this.applyFromHistory(inverseEdit);
+    });
+  }
+
+  @Override
+  public void redo() {
+    this.writer.submit(() -> {
+      List<CalendarChange> edit = this.history.redo();
+      if (edit != null) {
+        this.applyFromHistory(edit);
+      }
+    });
+  }
+
+  @Override
+  public List<String> getCalendarNames() {
+    return FileManager.getCalendarNames();
+  }
+
+  @Override
+  public boolean isCalendarShown(String name) {
+    return FileManager.isShown(name) || this.openTasks.containsKey(name);
+  }
+
+  @Override
+  public void setCalendarShown(String name, boolean shown) {
+    Task<CalendarModel> pendingOpen = this.openTasks.get(name);
+    if (!shown) {
+      // A calendar still being opened is never shown
+      if (pendingOpen != null) {
+        pendingOpen.cancel();
+      }
+      this.writer.submit(() -> this.showCalendar(name, false));
+      return;
+    }
+    if (pendingOpen != null) {
+      return;
+    }
+
+    // Read the calendar's file in the background and only hand the writer the finished calendar,
+    // which marks it as shown once it has been added
+    Task<CalendarModel> openTask = new Task<>() {
+      @Override
+      protected CalendarModel call() throws IllegalArgumentException, IllegalStateException {
+        this.updateTitle("Opening " + name);
+        return FileManager.openCalendar(name);
+      }
+    };
+    openTask.setOnSucceeded(e -> {
+      this.openTasks.remove(name);
+      this.writer.submit(() -> this.addShownCalendar(name, openTask.getValue()));
+    });
+    // Uncheck the calendar again if it could not be opened
+    openTask.setOnCancelled(e -> {
+      this.openTasks.remove(name);
+      this.view.refresh();
+    });
+    openTask.setOnFailed(e -> {
+      this.openTasks.remove(name);
+      this.view.refresh();
+    });
+    this.openTasks.put(name, openTask);
+    this.tasks.run(openTask);
+  }
+
+  @Override
+  public void createCalendar(String name) {
+    this.writer.submit(() -> {
+      FileManager.createCalendar(name);
+      this.showCalendar(name, true);
+    });
+  }
+
+  @Override
+  public void importCalendar(File file) throws IllegalArgumentException {
+    String calendarName = this.targetCalendarName();
+    ImportTask importTask = new ImportTask(file);
+    importTask.setOnSucceeded(e -> this.writer.submit(
+        () -> this.addImported(calendarName, importTask.getValue())));
+    this.tasks.run(importTask);
+  }
+
+  @Override
+  public ObservableList<Task<?>> getRunningTasks() {
+    return this.tasks.getRunningTasks();
+  }
+
+  @Override
+  public String getTargetCalendar() {
+    return this.model.getTargetCalendar();
+  }
+
+  @Override
+  public void setTargetCalendar(String name) throws IllegalArgumentException {
+    this.model.setTargetCalendar(name);
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors) {
+    return this.model.getEventsInRange(start, end, colors);
+  }
+
+  @Override
+  public Map<EventColor, Integer> countEventsInRange(Date start, Date end) {
+    return this.model.countEventsInRange(start, end);
+  }
+
+  @Override
+  public List<String> suggestTitles(String prefix) {
+    return this.model.suggestTitles(prefix, MAX_TITLE_SUGGESTIONS);
+  }
+
+  @Override
+  public Event getLatestEventWithTitle(String title) throws IllegalArgumentException {
+    return this.model.getLatestEventWithTitle(title);
   }
 
   /**
-   * Saves and refreshes the calendar model.
+   * Records the given change, which has already been made to the calendar, so that it can be
+   * undone. Only called on the writer thread.
+   *
+   * @param change the change made to the calendar
    */
-  private void refreshCalendar() {
-    FileManager.saveCalendar();
-    this.view.setEvents(this.model.getEvents());
-    this.view.refresh();
+  private void record(CalendarChange change) {
+    this.record(List.of(change));
+  }
+
+  /**
+   * Records the given changes, which have already been made to the calendars, as a single edit so
+   * that they can be undone together. Only called on the writer thread.
+   *
+   * @param edit the changes made to each calendar
+   */
+  private void record(List<CalendarChange> edit) {
+    this.history.record(edit);
+  }
+
+  /**
+   * Makes the given changes from the history to the calendars. Only called on the writer thread.
+   * Every change is checked before any are made, and if one still fails the changes already made
+   * are undone, so either the whole edit is made or the calendars are left as they were.
+   *
+   * @param edit the changes to make to each calendar
+   * @throws IllegalStateException if the calendars no longer match the history, in which case the
+   *                               history is cleared
+   */
+  private void applyFromHistory(List<CalendarChange> edit) throws IllegalStateException {
+    List<CalendarChange> applied = new ArrayList<>();
+    try {
+      for (CalendarChange change : edit) {
+        change.checkApplicableTo(this.model);
+      }
+      for (CalendarChange change : edit) {
+        change.applyTo(this.model);
+        applied.add(change);
+      }
+    } catch (IllegalArgumentException iae) {
+      for (CalendarChange change : applied.reversed()) {
+        change.inverse().applyTo(this.model);
+      }
+      this.history.clear();
+      throw new IllegalStateException("Cannot undo or redo: " + iae.getMessage());
+    }
+  }
+
+  /**
+   * Shows or hides the calendar with the given name, saving it first if it is being hidden. Only
+   * called on the writer thread.
+   *
+   * @param name  the name of the calendar
+   * @param shown whether or not the calendar should be shown
+   * @throws IllegalArgumentException if there is no calendar with the given name or its file has
+   *                                  invalid data
+   * @throws IllegalStateException    if the calendar's file cannot be read or written
+   */
+  private void showCalendar(String name, boolean shown)
+      throws IllegalArgumentException, IllegalStateException {
+    boolean added = this.model.getCalendarNames().contains(name);
+    if (shown) {
+      if (!added) {
+        this.addShownCalendar(name, FileManager.openCalendar(name));
+      }
+      return;
+    }
+
+    // A calendar which was never added, such as one whose opening was cancelled, has nothing to
+    // save
+    if (added) {
+      FileManager.saveCalendar(name, this.model.removeCalendar(name).snapshot());
+    }
+    FileManager.hideCalendar(name);
+    if (added) {
+      // Edits to a hidden calendar can no longer be undone
+      this.history.clear();
+      this.reloadShownCalendars();
+    }
+  }
+
+  /**
+   * Shows the given calendar, which has just been opened, under the given name and marks it as
+   * shown. Nothing is done if a calendar with the given name has already been added, such as when
+   * it was opened twice. Only called on the writer thread.
+   *
+   * @param name     the name of the calendar
+   * @param calendar the opened calendar
+   * @throws IllegalArgumentException if there is no calendar with the given name
+   */
+  private void addShownCalendar(String name, CalendarModel calendar)
+      throws IllegalArgumentException {
+    if (this.model.getCalendarNames().contains(name)) {
+      return;
+    }
+
+    this.model.addCalendar(name, calendar);
+    FileManager.showCalendar(name);
+
+    // Edits made before the calendar was shown can no longer be undone
+    this.history.clear();
+    this.reloadShownCalendars();
+  }
+
+  /**
+   * Adds every event and series of the given imported calendar to the calendar with the given
+   * name as a single edit. Either everything is added or nothing is. Only called on the writer
+   * thread.
+   *
+   * @param calendarName the name of the calendar to add to
+   * @param imported     the imported calendar
+   * @throws IllegalArgumentException if any of the imported events or series is identical to one
+   *                                  already in the calendar, or if the calendar would exceed its
+   *                                  maximum size
+   */
+  private void addImported(String calendarName, CalendarModel imported)
+      throws IllegalArgumentException {
+    CalendarModel calendar = this.model.getCalendar(calendarName);
+    List<Event> events = imported.getEvents();
+    List<EventSeries> series = imported.getSeries();
+    for (EventSeries eventSeries : series) {
+      if (calendar.containsSeries(eventSeries)) {
+        throw new IllegalArgumentException("Identical series already exists in this calendar");
+      }
+    }
+
+    calendar.addAll(events);
+    List<EventSeries> addedSeries = new ArrayList<>();
+    try {
+      for (EventSeries eventSeries : series) {
+        calendar.addSeries(eventSeries);
+        addedSeries.add(eventSeries);
+      }
+    } catch (IllegalArgumentException iae) {
+      for (EventSeries eventSeries : addedSeries) {
+        calendar.removeSeries(eventSeries);
+      }
+      calendar.removeAll(events);
+      throw iae;
+    }
+
+    this.record(new CalendarChange(calendarName, events, List.of(), series, List.of()));
+  }
+
+  /**
+   * Saves the calendars changed by the batch the writer has just made and hands its changes to the
+   * JavaFX thread. Called on the writer thread after each batch.
+   *
+   * @param errors the error messages of the commands in the batch which failed
+   */
+  private void finishBatch(List<String> errors) {
+    List<CalendarUpdate> updates = List.copyOf(this.pendingUpdates);
+    this.pendingUpdates.clear();
+
+    Set<String> calendarNames = new LinkedHashSet<>();
+    for (CalendarUpdate update : updates) {
+      calendarNames.add(update.getCalendarName());
+    }
+    try {
+      this.saveCalendars(calendarNames);
+    } catch (IllegalStateException ise) {
+      errors.add(ise.getMessage());
+    }
+
+    Platform.runLater(() -> this.changesMade(updates, errors));
+  }
+
+  /**
+   * Saves each of the calendars with the given names which is still shown. Only called on the
+   * writer thread.
+   *
+   * @param calendarNames the names of the calendars to save
+   * @throws IllegalStateException if a calendar's file cannot be written
+   */
+  private void saveCalendars(Set<String> calendarNames) throws IllegalStateException {
+    for (String calendarName : calendarNames) {
+      if (this.model.getCalendarNames().contains(calendarName)) {
+        FileManager.saveCalendar(calendarName, this.model.getCalendar(calendarName).snapshot());
+      }
+    }
+  }
+
+  /**
+   * Updates the reminders and the view with the changes made by a batch of commands, and shows the
+   * error message of each command which failed. Called on the JavaFX thread.
+   *
+   * @param updates the changes made to the calendars, in the order they were made
+   * @param errors  the error messages of the failed commands
+   */
+  private void changesMade(List<CalendarUpdate> updates, List<String> errors) {
+    for (CalendarUpdate update : updates) {
+      this.reminders.calendarChanged(update);
+    }
+    this.view.showChanges(updates);
+
+    // A failed command may have left a control (such as a calendar's check box) out of date
+    if (!errors.isEmpty()) {
+      this.view.refresh();
+    }
+    for (String error : errors) {
+      this.view.showError(error);
+    }
+  }
+
+  /**
+   * Loads the upcoming reminders again and refreshes the whole view on the JavaFX thread, after
+   * every change queued before it. Used when a calendar is shown or hidden, which is not sent to
+   * the listeners as a change.
+   */
+  private void reloadShownCalendars() {
+    Platform.runLater(() -> {
+      this.reminders.start(LocalDateTime.now());
+      this.view.refresh();
+    });
+  }
+
+  /**
+   * Gets the name of the calendar new events and series are added to.
+   *
+   * @return the name of the target calendar
+   * @throws IllegalArgumentException if no calendar is shown
+   */
+  private String targetCalendarName() throws IllegalArgumentException {
+    String calendarName = this.model.getTargetCalendar();
+    if (calendarName == null) {
+      throw new IllegalArgumentException("No calendar is shown to add events to.");
+    }
+
+    return calendarName;
   }
 
   /**
@@ -83,6 +642,7 @@ public class CalendarController implements Features {
     double height = bounds.getHeight() * 0.9;
 
     this.setWindowFunctions(stage);
+    this.setHistoryShortcuts(stage);
 
     stage.setResizable(true);
     stage.getIcons().add(new Image("/resources/icon.png"));
@@ -91,6 +651,49 @@ public class CalendarController implements Features {
     this.view.setScene(stage.getScene());
     stage.setTitle("MyCalendar");
     stage.show();
+
+    this.writer.start();
+    this.startReminders();
+  }
+
+  /**
+   * Waits for every queued change to be made and saved. Called when the program is closing.
+   */
+  public void stop() {
+    this.tasks.stop();
+    this.writer.stop();
+  }
+
+  /**
+   * Loads the upcoming reminders and checks on each second of the view's clock for reminders
+   * which are due, so that no second timer runs beside the one the view shows the time with.
+   */
+  private void startReminders() {
+    this.reminders.start(LocalDateTime.now());
+    this.view.onSecond(this.reminders::tick);
+  }
+
+  /**
+   * Sets the shortcut key (control or command) with Z to undo the last change, and with Y or with
+   * shift and Z to redo the last undone change.
+   *
+   * @param stage the stage to display
+   */
+  private void setHistoryShortcuts(Stage stage) {
+    stage.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+      boolean undo = UNDO_SHORTCUT.match(e);
+      boolean redo = REDO_SHORTCUT.match(e) || REDO_SHIFT_SHORTCUT.match(e);
+      if (!undo && !redo) {
+        return;
+      }
+
+      if (undo) {
+        this.undo();
+      } else {
+        this.redo();
+      }
+      e.consume();
+    });
   }
 
   /**
@@ -0,0 +1,119 @@
+package mycalendar.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Represents the single thread which makes every change to the calendars. Changes are queued as
+ * commands and made one after another in the order they were submitted, so the calendars only
+ * ever have one writer and the JavaFX thread never waits on a change or on saving a file. Commands
+ * queued while the writer is busy are made together as one batch, after which the batch is
+ * finished once (for example, saving every calendar it changed and handing its changes back to the
+ * JavaFX thread all at once).
+ */
+final class CalendarWriter {
+
+  // The most commands made before finishing a batch
+  private static final int MAX_BATCH_SIZE = 64;
+
+  /**
+   * Represents a change to the calendars made on the writer thread.
+   */
+  @FunctionalInterface
+  interface Command {
+
+    /**
+     * Makes this change to the calendars.
+     *
+     * @throws IllegalArgumentException if the change cannot be made to the calendars
+     * @throws IllegalStateException    if a file could not be read or written
+     */
+    void apply() throws IllegalArgumentException, IllegalStateException;
+  }
+
+  private final BlockingQueue<Command> commands;
+  private final Consumer<List<String>> finishBatch;
+  private final Thread thread;
+
+  private volatile boolean stopping;
+
+  /**
+   * Constructs a writer which has not been started yet.
+   *
+   * @param finishBatch an operation run on the writer thread after each batch which takes in the
+   *                    messages of any commands in the batch which failed
+   */
+  CalendarWriter(Consumer<List<String>> finishBatch) {
+    this.commands = new LinkedBlockingQueue<>();
+    this.finishBatch = finishBatch;
+    this.thread = new Thread(this::run, "calendar-writer");
+    this.thread.setDaemon(true);
+    this.stopping = false;
+  }
+
+  /**
+   * Starts the writer thread.
+   */
+  void start() {
+    this.thread.start();
+  }
+
+  /**
+   * Queues the given command to be made on the writer thread. Returns immediately.
+   *
+   * @param command the change to make
+   * @throws IllegalStateException if the writer has been stopped
+   */
+  void submit(Command command) throws IllegalStateException {
+    if (this.stopping) {
+      throw new IllegalStateException("The calendar is closing.");
+    }
+
+    this.commands.add(command);
+  }
+
+  /**
+   * Stops accepting commands and waits for every queued command to be made and saved.
+   */
+  void stop() {
+    this.stopping = true;
+    // Wake the writer up in case it is waiting for a command
+    this.commands.add(() -> { });
+
+    try {
+      this.thread.join();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Makes the queued commands in batches until the writer is stopped and the queue is empty.
+   */
+  private void run() {
+    while (!this.stopping || !this.commands.isEmpty()) {
+      List<Command> batch = new ArrayList<>();
+      try {
+        batch.add(this.commands.take());
+      } catch (InterruptedException ie) {
+        return;
+      }
+      this.commands.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+      List<String> errors = new ArrayList<>();
+      for (Command command : batch) {
+        try {
+          command.apply();
+        } catch (RuntimeException ex) {
+          // Report any failure rather than letting it stop the only writer
+          errors.add(ex.getMessage() != null ? ex.getMessage() : ex.toString());
+        }
+      }
+
+      this.finishBatch.accept(errors);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package mycalendar.controller;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Represents the history of edits made to the calendars which can be undone and redone. Each edit
+ * is made up of the changes it made to each calendar and is undone as a whole. The history is
+ * bounded by the total number of events and series held by its edits rather than the number of
+ * edits, so a few large edits take up as much room as many small ones. The oldest edits are
+ * forgotten first once the bound is reached.
+ */
+final class EditHistory {
+
+  private final int capacity;
+  private final Deque<List<CalendarChange>> undoStack;
+  private final Deque<List<CalendarChange>> redoStack;
+
+  // The number of events and series held by the edits in both stacks
+  private int size;
+
+  /**
+   * Constructs an empty history holding edits with up to the given number of events and series.
+   *
+   * @param capacity the maximum number of events and series held by the edits in this history
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  EditHistory(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("History capacity must be positive.");
+    }
+
+    this.capacity = capacity;
+    this.undoStack = new ArrayDeque<>();
+    this.redoStack = new ArrayDeque<>();
+  }
+
+  /**
+   * Records the given edit as the latest edit. Any undone edits can no longer be redone. Edits
+   * larger than the capacity of this history are not recorded and clear the history.
+   *
+   * @param edit the changes made to each calendar by the edit
+   */
+  void record(List<CalendarChange> edit) {
+    int editSize = EditHistory.sizeOf(edit);
+    if (editSize == 0) {
+      return;
+    }
+
+    for (List<CalendarChange> undone : this.redoStack) {
+      this.size -= EditHistory.sizeOf(undone);
+    }
+    this.redoStack.clear();
+
+    if (editSize > this.capacity) {
+      this.clear();
+      return;
+    }
+
+    this.undoStack.push(List.copyOf(edit));
+    this.size += editSize;
+
+    while (this.size > this.capacity) {
+      this.size -= EditHistory.sizeOf(this.undoStack.removeLast());
+    }
+  }
+
+  /**
+   * Takes the latest edit to undo and moves it to the edits which can be redone.
+   *
+   * @return the changes of the latest edit, or null if there is nothing to undo
+   */
+  List<CalendarChange> undo() {
+    List<CalendarChange> edit = this.undoStack.poll();
+    if (edit != null) {
+      this.redoStack.push(edit);
+    }
+
+    return edit;
+  }
+
+  /**
+   * Takes the latest undone edit to redo and moves it back to the edits which can be undone.
+   *
+   * @return the changes of the latest undone edit, or null if there is nothing to redo
+   */
+  List<CalendarChange> redo() {
+    List<CalendarChange> edit = this.redoStack.poll();
+    if (edit != null) {
+      this.undoStack.push(edit);
+    }
+
+    return edit;
+  }
+
+  /**
+   * Forgets every edit in this history.
+   */
+  void clear() {
+    this.undoStack.clear();
+    this.redoStack.clear();
+    this.size = 0;
+  }
+
+  /**
+   * Gets the number of events and series held by the changes of the given edit.
+   *
+   * @param edit the changes of an edit
+   * @return the number of events and series in the given edit
+   */
+  private static int sizeOf(List<CalendarChange> edit) {
+    int size = 0;
+    for (CalendarChange change : edit) {
+      size += change.size();
+    }
+
+    return size;
+  }
+}
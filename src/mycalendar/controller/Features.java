@@ -1,9 +1,21 @@
 package mycalendar.controller;
 
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+import mycalendar.model.EventSeries;
+import mycalendar.model.dateandtime.Date;
 
 /**
- * Represents features that a user can use to interact with the calendar.
+ * Represents features that a user can use to interact with the calendar. Changes to the calendar
+ * are made in the background in the order they were asked for, so these methods return before the
+ * change has been made. If a change cannot be made, the user is shown why once it is attempted.
  */
 public interface Features {
 
@@ -11,19 +23,200 @@ public interface Features {
    * Adds the given event to the calendar.
    *
    * @param event the event to add
+   * @throws IllegalArgumentException if no calendar is shown to add the event to
    */
-  void addEvent(Event event);
+  void addEvent(Event event) throws IllegalArgumentException;
 
   /**
-   * Updates all events in the calendar.
+   * Replaces the given event in the calendar with the given updated event. If the given event is an
+   * occurrence of a series, only that occurrence is replaced: it is removed from the series and the
+   * updated event is added on its own. Fails if the given event is not found in the calendar or if
+   * the updated event is identical to another event in the calendar.
+   *
+   * @param event        the event to update
+   * @param updatedEvent the event containing the updated data
    */
-  void updateCalendar();
+  void updateEvent(Event event, Event updatedEvent);
 
   /**
-   * Removes the given event from the calendar.
+   * Removes the given event from the calendar. If the given event is an occurrence of a series,
+   * only that occurrence is removed from the series. Fails if the given event is not found in the
+   * calendar.
    *
    * @param event the event to remove
-   * @throws IllegalArgumentException if the given event is not found in the calendar
    */
-  void deleteEvent(Event event) throws IllegalArgumentException;
+  void deleteEvent(Event event);
+
+  /**
+   * Adds each of the given events to the calendar, saving and refreshing the calendar only once.
+   * Either all of the given events are added or none of them are: nothing is added if any of them
+   * is identical to an event in the calendar or to another of the given events, or if the calendar
+   * would exceed its maximum size.
+   *
+   * @param events the events to add
+   * @throws IllegalArgumentException if no calendar is shown to add the events to
+   */
+  void addAll(List<Event> events) throws IllegalArgumentException;
+
+  /**
+   * Removes every event in the calendar matching the given condition, saving and refreshing the
+   * calendar only once. The occurrences of series are not checked.
+   *
+   * @param filter the condition of the events to remove
+   */
+  void removeAll(Predicate<Event> filter);
+
+  /**
+   * Removes every event taking place between the given dates inclusive, including the occurrences
+   * of series, saving and refreshing the calendar only once.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @throws IllegalArgumentException if the start of the range is after the end of the range
+   */
+  void removeRange(Date start, Date end) throws IllegalArgumentException;
+
+  /**
+   * Removes each of the given events from the calendar, saving and refreshing the calendar only
+   * once. The given occurrences of series are removed from their series. Every series is checked
+   * before any events are removed, and nothing is removed if the series of any of the given
+   * occurrences is not found in the calendar.
+   *
+   * @param events the events to remove
+   */
+  void deleteEvents(List<Event> events);
+
+  /**
+   * Adds the given series of repeating events to the calendar.
+   *
+   * @param series the series to add
+   * @throws IllegalArgumentException if no calendar is shown to add the series to
+   */
+  void addSeries(EventSeries series) throws IllegalArgumentException;
+
+  /**
+   * Removes the given series (and every occurrence of it) from the calendar. Fails if the given
+   * series is not found in the calendar.
+   *
+   * @param series the series to remove
+   */
+  void deleteSeries(EventSeries series);
+
+  /**
+   * Undoes the latest change made to the calendar which has not been undone. Nothing happens if
+   * there is nothing to undo, and the history is cleared if the calendar no longer matches the
+   * change to undo.
+   */
+  void undo();
+
+  /**
+   * Redoes the latest change to the calendar which was undone. Nothing happens if there is nothing
+   * to redo, and the history is cleared if the calendar no longer matches the change to redo.
+   */
+  void redo();
+
+  /**
+   * Gets the names of every calendar, whether shown or not.
+   *
+   * @return the names of every calendar
+   */
+  List<String> getCalendarNames();
+
+  /**
+   * Determines whether or not the calendar with the given name is shown.
+   *
+   * @param name the name of the calendar
+   * @return whether or not the calendar with the given name is shown
+   */
+  boolean isCalendarShown(String name);
+
+  /**
+   * Shows or hides the calendar with the given name. A calendar is only loaded while it is shown.
+   * Edits made before a calendar is shown or hidden can no longer be undone. Fails if there is no
+   * calendar with the given name, or if its file has invalid data or cannot be read or written.
+   *
+   * @param name  the name of the calendar
+   * @param shown whether or not the calendar should be shown
+   */
+  void setCalendarShown(String name, boolean shown);
+
+  /**
+   * Creates a new empty calendar with the given name and shows it. Fails if the name is invalid or
+   * already used by another calendar, or if the calendar's file cannot be created.
+   *
+   * @param name the name of the calendar
+   */
+  void createCalendar(String name);
+
+  /**
+   * Imports every event and series in the given calendar file into the calendar new events are
+   * added to. The file is read in the background and the import can be cancelled until it has been
+   * read. Nothing is imported if any of its events or series is already in the calendar.
+   *
+   * @param file the calendar file to import
+   * @throws IllegalArgumentException if no calendar is shown to import the file into
+   */
+  void importCalendar(File file) throws IllegalArgumentException;
+
+  /**
+   * Gets the background tasks which are running, such as opening or importing a calendar. Each
+   * task reports its progress and can be cancelled. The list is updated as tasks start and finish.
+   *
+   * @return the running background tasks
+   */
+  ObservableList<Task<?>> getRunningTasks();
+
+  /**
+   * Gets the name of the calendar new events and series are added to.
+   *
+   * @return the name of the calendar new events are added to, or null if no calendar is shown
+   */
+  String getTargetCalendar();
+
+  /**
+   * Sets the calendar new events and series are added to.
+   *
+   * @param name the name of a shown calendar
+   * @throws IllegalArgumentException if no shown calendar has the given name
+   */
+  void setTargetCalendar(String name) throws IllegalArgumentException;
+
+  /**
+   * Gets every event with one of the given colors taking place between the given dates inclusive,
+   * including the occurrences of repeating events, in chronological order.
+   *
+   * @param start  the first date of the range
+   * @param end    the last date of the range
+   * @param colors the colors of the events to get
+   * @return the events of the given colors within the given range
+   */
+  List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors);
+
+  /**
+   * Counts the events of each color taking place between the given dates inclusive, including the
+   * occurrences of repeating events.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the number of events of each color within the given range
+   */
+  Map<EventColor, Integer> countEventsInRange(Date start, Date end);
+
+  /**
+   * Gets the most used event titles in the calendar starting with the given prefix, most used
+   * first.
+   *
+   * @param prefix the start of the titles to suggest
+   * @return the most used titles starting with the given prefix
+   */
+  List<String> suggestTitles(String prefix);
+
+  /**
+   * Gets the most recently added or updated event with the given title.
+   *
+   * @param title the title of the event
+   * @return the most recently added or updated event with the given title
+   * @throws IllegalArgumentException if no event in the calendar has the given title
+   */
+  Event getLatestEventWithTitle(String title) throws IllegalArgumentException;
 }
@@ -0,0 +1,66 @@
+package mycalendar.controller;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import javafx.concurrent.Task;
+import mycalendar.model.CalendarModel;
+import mycalendar.model.CalendarReader;
+
+/**
+ * Represents a task reading a calendar file to be imported. The progress is the share of the file
+ * read so far. Cancelling the task stops the reading at the next chunk of the file, and the
+ * partly read calendar is thrown away.
+ */
+final class ImportTask extends Task<CalendarModel> {
+
+  private final File file;
+  private long charsRead;
+
+  /**
+   * Constructs a task which imports the given calendar file.
+   *
+   * @param file the calendar file to import
+   */
+  ImportTask(File file) {
+    this.file = file;
+    this.charsRead = 0;
+    this.updateTitle("Importing " + file.getName());
+  }
+
+  /**
+   * Reads the calendar file.
+   *
+   * @return the calendar read from the file, or null if the task was cancelled
+   * @throws IllegalArgumentException if the calendar data is invalid (such as an invalid date)
+   * @throws IllegalStateException    if the file cannot be read or is not properly formatted
+   */
+  @Override
+  protected CalendarModel call() throws IllegalArgumentException, IllegalStateException {
+    long length = Math.max(this.file.length(), 1);
+
+    CalendarModel calendar;
+    try (Reader reader = new BufferedReader(new FileReader(this.file))) {
+      calendar = CalendarReader.readCalendarFile((CharBuffer buffer) -> {
+        // Ending the input early leaves the reader with a partial calendar, which is thrown away
+        if (this.isCancelled()) {
+          return -1;
+        }
+
+        int read = reader.read(buffer);
+        if (read > 0) {
+          this.charsRead += read;
+          this.updateProgress(Math.min(this.charsRead, length), length);
+        }
+        return read;
+      });
+    } catch (IOException ioe) {
+      throw new IllegalStateException("File read failed");
+    }
+
+    return this.isCancelled() ? null : calendar;
+  }
+}
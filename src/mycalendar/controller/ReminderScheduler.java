@@ -0,0 +1,251 @@
+package mycalendar.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import mycalendar.model.CalendarListener;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.CalendarModel;
+import mycalendar.model.CalendarUpdate;
+import mycalendar.model.Event;
+import mycalendar.model.EventSeries;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Schedules reminders for the events of a calendar. Reminders are kept in a min-heap ordered by the
+ * time they are due, and only the events within a short horizon of days are loaded (from the
+ * calendar's date index) at any time, so the memory and work needed stay the same no matter how
+ * many future events the calendar has. The horizon moves forward a day at a time as the days pass.
+ *
+ * <p>Changes to the calendar only reschedule the events they affect. Removed events are not
+ * searched for in the heap; their entries are instead ignored when they reach the top.
+ */
+public class ReminderScheduler implements CalendarListener {
+
+  // The number of days after today whose events are loaded
+  private static final int HORIZON_DAYS = 1;
+
+  private final CalendarModel model;
+  private final int leadMinutes;
+  private final Consumer<Event> remind;
+
+  private final PriorityQueue<Reminder> reminders;
+  // The time each event's live reminder is due (entries in the heap not matching this are stale)
+  private final Map<Event, LocalDateTime> dueTimes;
+
+  private LocalDateTime now;
+  private LocalDate loadedThrough;
+
+  /**
+   * Constructs a reminder scheduler for the given calendar.
+   *
+   * @param model       the calendar to remind the user of the events of
+   * @param leadMinutes the number of minutes before the start of an event to remind the user
+   * @param remind      an operation which takes in an event and reminds the user of it
+   * @throws IllegalArgumentException if the number of minutes is negative
+   */
+  public ReminderScheduler(CalendarModel model, int leadMinutes, Consumer<Event> remind)
+      throws IllegalArgumentException {
+    if (leadMinutes < 0) {
+      throw new IllegalArgumentException("Reminder lead time cannot be negative.");
+    }
+
+    this.model = model;
+    this.leadMinutes = leadMinutes;
+    this.remind = remind;
+    this.reminders = new PriorityQueue<>(Comparator.comparing(Reminder::getDueTime));
+    this.dueTimes = new HashMap<>();
+  }
+
+  /**
+   * Loads the reminders of the events from today through the end of the horizon. Reminders which
+   * are already past due are skipped.
+   *
+   * @param now the current date and time
+   */
+  public void start(LocalDateTime now) {
+    this.now = now;
+    this.reminders.clear();
+    this.dueTimes.clear();
+    this.loadedThrough = now.toLocalDate().minusDays(1);
+
+    this.extendHorizon();
+  }
+
+  /**
+   * Moves the horizon forward if the day has changed and reminds the user of every event whose
+   * reminder is due at or before the given time. This is meant to be called every second.
+   *
+   * @param now the current date and time
+   */
+  public void tick(LocalDateTime now) {
+    this.now = now;
+    this.extendHorizon();
+
+    while (!this.reminders.isEmpty() && !this.reminders.peek().getDueTime().isAfter(now)) {
+      Reminder reminder = this.reminders.poll();
+      Event event = reminder.getEvent();
+
+      // Skip reminders of events which were removed or rescheduled
+      if (reminder.getDueTime().equals(this.dueTimes.get(event))) {
+        this.dueTimes.remove(event);
+        this.remind.accept(event);
+      }
+    }
+  }
+
+  /**
+   * Reschedules the reminders of the events and series affected by the given change. Removed
+   * events and series are cancelled before added ones are scheduled, so that an updated event keeps
+   * its new reminder.
+   *
+   * @param update the change made to the calendar
+   */
+  @Override
+  public void calendarChanged(CalendarUpdate update) {
+    for (Event event : update.getRemovedEvents()) {
+      this.eventRemoved(event);
+    }
+    for (EventSeries series : update.getRemovedSeries()) {
+      this.seriesRemoved(series);
+    }
+    for (EventSeries series : update.getAddedSeries()) {
+      this.seriesAdded(series);
+    }
+    for (Event event : update.getAddedEvents()) {
+      this.eventAdded(event);
+    }
+  }
+
+  /**
+   * Schedules a reminder for the given event if it is within the horizon and not yet due.
+   *
+   * @param event the event which was added
+   */
+  public void eventAdded(Event event) {
+    if (this.loadedThrough == null) {
+      return;
+    }
+
+    LocalDate date = CalendarMath.modelDateToLocalDate(event.getDate());
+    if (!date.isAfter(this.loadedThrough)) {
+      this.schedule(event);
+    }
+  }
+
+  /**
+   * Cancels the reminder of the given event.
+   *
+   * @param event the event which was removed
+   */
+  public void eventRemoved(Event event) {
+    this.dueTimes.remove(event);
+  }
+
+  /**
+   * Schedules reminders for the occurrences of the given series within the horizon.
+   *
+   * @param series the series which was added
+   */
+  public void seriesAdded(EventSeries series) {
+    for (Event occurrence : this.occurrencesInHorizon(series)) {
+      this.schedule(occurrence);
+    }
+  }
+
+  /**
+   * Cancels the reminders of the occurrences of the given series within the horizon.
+   *
+   * @param series the series which was removed
+   */
+  public void seriesRemoved(EventSeries series) {
+    for (Event occurrence : this.occurrencesInHorizon(series)) {
+      this.dueTimes.remove(occurrence);
+    }
+  }
+
+  /**
+   * Loads the events of each day between the last loaded day and the end of the horizon.
+   */
+  private void extendHorizon() {
+    LocalDate horizonEnd = this.now.toLocalDate().plusDays(HORIZON_DAYS);
+
+    while (this.loadedThrough.isBefore(horizonEnd)) {
+      this.loadedThrough = this.loadedThrough.plusDays(1);
+
+      Date day = CalendarMath.localDateToModelDate(this.loadedThrough);
+      for (Event event : this.model.getEventsInRange(day, day)) {
+        this.schedule(event);
+      }
+    }
+
+    // Drop stale entries once they make up most of the heap
+    if (this.reminders.size() > 2 * this.dueTimes.size() + 64) {
+      this.reminders.clear();
+      for (Map.Entry<Event, LocalDateTime> entry : this.dueTimes.entrySet()) {
+        this.reminders.add(new Reminder(entry.getKey(), entry.getValue()));
+      }
+    }
+  }
+
+  /**
+   * Schedules a reminder for the given event unless it is already past due.
+   *
+   * @param event the event to schedule a reminder for
+   */
+  private void schedule(Event event) {
+    LocalDateTime startTime = LocalDateTime.of(CalendarMath.modelDateToLocalDate(event.getDate()),
+        LocalTime.of(event.getStartTime().getHour(), event.getStartTime().getMinute()));
+    LocalDateTime dueTime = startTime.minusMinutes(this.leadMinutes);
+
+    if (dueTime.isBefore(this.now.withNano(0).withSecond(0))) {
+      return;
+    }
+
+    this.dueTimes.put(event, dueTime);
+    this.reminders.add(new Reminder(event, dueTime));
+  }
+
+  /**
+   * Gets the occurrences of the given series from today through the end of the horizon.
+   *
+   * @param series the series
+   * @return the occurrences of the given series within the horizon
+   */
+  private List<Event> occurrencesInHorizon(EventSeries series) {
+    if (this.loadedThrough == null) {
+      return List.of();
+    }
+
+    return series.occurrencesBetween(CalendarMath.localDateToModelDate(this.now.toLocalDate()),
+        CalendarMath.localDateToModelDate(this.loadedThrough));
+  }
+
+  /**
+   * Represents a reminder for an event which is due at a certain time.
+   */
+  private static final class Reminder {
+
+    private final Event event;
+    private final LocalDateTime dueTime;
+
+    private Reminder(Event event, LocalDateTime dueTime) {
+      this.event = event;
+      this.dueTime = dueTime;
+    }
+
+    private Event getEvent() {
+      return this.event;
+    }
+
+    private LocalDateTime getDueTime() {
+      return this.dueTime;
+    }
+  }
+}
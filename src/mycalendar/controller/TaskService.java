@@ -0,0 +1,80 @@
+package mycalendar.controller;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+
+/**
+ * Represents a service running long tasks (such as reading a calendar file) in the background so
+ * that the window stays responsive. Each task runs on its own virtual thread, reports its progress
+ * through its JavaFX properties, and can be cancelled. The tasks which are running are kept in a
+ * list the view can watch. Only used on the JavaFX thread.
+ */
+final class TaskService {
+
+  private final ExecutorService executor;
+  private final Consumer<String> showError;
+  private final ObservableList<Task<?>> runningTasks;
+  private final ObservableList<Task<?>> readOnlyRunningTasks;
+
+  /**
+   * Constructs a service with no running tasks.
+   *
+   * @param showError an operation which takes in the error message of a failed task and shows it
+   */
+  TaskService(Consumer<String> showError) {
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("calendar-task-", 0).factory());
+    this.showError = showError;
+    this.runningTasks = FXCollections.observableArrayList();
+    this.readOnlyRunningTasks = FXCollections.unmodifiableObservableList(this.runningTasks);
+  }
+
+  /**
+   * Starts the given task on a new virtual thread. The task is listed as running until it
+   * succeeds, fails, or is cancelled, and the error message is shown if it fails.
+   *
+   * @param task the task to run
+   */
+  void run(Task<?> task) {
+    this.runningTasks.add(task);
+    task.stateProperty().addListener((observable, oldState, newState) -> {
+      if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED
+          || newState == Worker.State.CANCELLED) {
+        this.runningTasks.remove(task);
+      }
+      if (newState == Worker.State.FAILED) {
+        Throwable exception = task.getException();
+        this.showError.accept(exception.getMessage() != null ? exception.getMessage()
+            : exception.toString());
+      }
+    });
+
+    this.executor.execute(task);
+  }
+
+  /**
+   * Gets the tasks which are running, in the order they were started. The list cannot be changed
+   * but is updated as tasks start and finish.
+   *
+   * @return the running tasks
+   */
+  ObservableList<Task<?>> getRunningTasks() {
+    return this.readOnlyRunningTasks;
+  }
+
+  /**
+   * Cancels every running task and stops accepting new ones.
+   */
+  void stop() {
+    for (Task<?> task : new ArrayList<>(this.runningTasks)) {
+      task.cancel();
+    }
+    this.executor.shutdownNow();
+  }
+}
@@ -0,0 +1,17 @@
+package mycalendar.model;
+
+/**
+ * Represents something which is told about every change made to a calendar, such as a view which
+ * only needs to show the days which changed.
+ */
+@FunctionalInterface
+public interface CalendarListener {
+
+  /**
+   * Reacts to the given change made to the calendar. Called on the thread which made the change,
+   * after the calendar has been changed.
+   *
+   * @param update the change made to the calendar
+   */
+  void calendarChanged(CalendarUpdate update);
+}
@@ -95,6 +95,37 @@ public final class CalendarMath {
     }
   }
 
+  /**
+   * Gets the number of minutes between the two given times.
+   *
+   * @param startTime the start time
+   * @param endTime   the end time
+   * @return the number of minutes between the start time and the end time
+   * @throws IllegalArgumentException if the end time is before the start time
+   */
+  public static int minutesBetween(Time startTime, Time endTime) throws IllegalArgumentException {
+    if (endTime.before(startTime)) {
+      throw new IllegalArgumentException("Error: End time cannot be before start time");
+    }
+
+    return (endTime.getHour() - startTime.getHour()) * 60
+        + endTime.getMinute() - startTime.getMinute();
+  }
+
+  /**
+   * Gets the time the given number of minutes after the given time. Times past the end of the day
+   * are capped at 11:59 pm.
+   *
+   * @param time       the initial time
+   * @param numMinutes the number of minutes to go forward
+   * @return the time the given number of minutes after the given time, or 11:59 pm if that time is
+   * past the end of the day
+   */
+  public static Time goForwardMinutes(Time time, int numMinutes) {
+    int minuteOfDay = Math.min(time.getHour() * 60 + time.getMinute() + numMinutes, 23 * 60 + 59);
+    return new Time(minuteOfDay / 60, minuteOfDay % 60);
+  }
+
   /**
    * Converts the given LocalDate to a calendar model date.
    *
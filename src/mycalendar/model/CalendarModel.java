@@ -1,28 +1,77 @@
 package mycalendar.model;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import mycalendar.model.dateandtime.Date;
 
 /**
  * Represents the model for calendar program containing methods that a user can initiate to interact
- * with and modify the calendar. Each calendar contains a list of events, and that list has a
- * maximum length of 365,000 events.
+ * with and modify the calendar. Each calendar contains a list of events and a list of event
+ * series, and together they have a maximum length of 365,000 (each series counts as one no matter
+ * how many times it repeats).
  */
 public interface CalendarModel {
 
   /**
-   * Gets a copy of this calendar's list of events.
+   * Gets this calendar's list of events in chronological order. The list is taken from the current
+   * snapshot of this calendar and cannot be changed. It is put together the first time each
+   * snapshot is read as a whole (see {@link CalendarSnapshot#getEvents()}) and reused afterwards.
    *
-   * @return a copy of this calendar's list of events
+   * @return this calendar's list of events
    */
   List<Event> getEvents();
 
+  /**
+   * Gets the current version of this calendar's events and series. Getting a snapshot takes
+   * constant time and never waits for a change being made to this calendar, and the snapshot does
+   * not change when this calendar is changed afterwards.
+   *
+   * @return the current snapshot of this calendar
+   */
+  CalendarSnapshot snapshot();
+
+  /**
+   * Adds the given listener, which is told about every change made to this calendar from now on.
+   *
+   * @param listener the listener to add
+   */
+  void addListener(CalendarListener listener);
+
+  /**
+   * Removes the given listener so that it is no longer told about changes to this calendar.
+   * Nothing happens if the listener was not added.
+   *
+   * @param listener the listener to remove
+   */
+  void removeListener(CalendarListener listener);
+
+  /**
+   * Determines whether or not this calendar contains an event identical to the given event. The
+   * occurrences of series are not checked.
+   *
+   * @param event the event to look for
+   * @return whether or not this calendar contains the given event
+   */
+  boolean contains(Event event);
+
+  /**
+   * Determines whether or not this calendar contains a series identical to the given series.
+   *
+   * @param series the series to look for
+   * @return whether or not this calendar contains the given series
+   */
+  boolean containsSeries(EventSeries series);
+
   /**
    * Adds the given event to this calendar's list of events.
    *
    * @param event the event to add
-   * @throws IllegalArgumentException if adding this event to the list causes the number of items in
-   *                                  the list to exceed 365,000 events or if the new event is
-   *                                  identical to any existing event in this calendar.
+   * @throws IllegalArgumentException if adding this event to the list causes the number of events
+   *                                  and series to exceed 365,000 or if the new event is identical
+   *                                  to any existing event in this calendar.
    */
   void addEvent(Event event) throws IllegalArgumentException;
 
@@ -34,9 +83,163 @@ public interface CalendarModel {
    */
   void removeEvent(Event event) throws IllegalArgumentException;
 
+  /**
+   * Replaces the given event in this calendar with the given updated event.
+   *
+   * @param event        the event to update
+   * @param updatedEvent the event containing the updated data
+   * @throws IllegalArgumentException if the given event is not found in this calendar or if the
+   *                                  updated event is identical to another event in this calendar
+   */
+  void updateEvent(Event event, Event updatedEvent) throws IllegalArgumentException;
+
+  /**
+   * Adds each of the given events to this calendar. Every event is checked before any are added,
+   * so either all of the given events are added or none of them are.
+   *
+   * @param events the events to add
+   * @throws IllegalArgumentException if any of the given events is identical to an event in this
+   *                                  calendar or to another of the given events, or if adding the
+   *                                  events would make this calendar exceed its maximum size
+   */
+  void addAll(List<Event> events) throws IllegalArgumentException;
+
+  /**
+   * Removes every event in this calendar matching the given condition. The occurrences of series
+   * are not checked.
+   *
+   * @param filter the condition of the events to remove
+   * @return the removed events
+   */
+  List<Event> removeAll(Predicate<Event> filter);
+
+  /**
+   * Removes each of the given events from this calendar. Every event is checked before any are
+   * removed, so either all of the given events are removed or none of them are.
+   *
+   * @param events the events to remove
+   * @throws IllegalArgumentException if any of the given events is not found in this calendar or
+   *                                  is given more than once
+   */
+  void removeAll(Collection<Event> events) throws IllegalArgumentException;
+
+  /**
+   * Removes every event taking place between the given dates inclusive. The occurrences of series
+   * within the range are removed by replacing each series with one excluding their dates.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the change made: the removed events, not counting the occurrences of series, and each
+   *         replaced series before and after the range was excluded from it
+   * @throws IllegalArgumentException if the start of the range is after the end of the range
+   */
+  CalendarUpdate removeRange(Date start, Date end) throws IllegalArgumentException;
+
+  /**
+   * Gets the most used event titles in this calendar which start with the given prefix (ignoring
+   * case), most used first.
+   *
+   * @param prefix         the start of the titles to suggest
+   * @param maxSuggestions the maximum number of titles to return
+   * @return up to the given number of the most used titles starting with the given prefix
+   * @throws IllegalArgumentException if the maximum number of titles is negative or greater than
+   *                                  10
+   */
+  List<String> suggestTitles(String prefix, int maxSuggestions) throws IllegalArgumentException;
+
+  /**
+   * Gets the most recently added or updated event with the given title (ignoring case).
+   *
+   * @param title the title of the event
+   * @return the most recently added or updated event with the given title
+   * @throws IllegalArgumentException if no event in this calendar has the given title
+   */
+  Event getLatestEventWithTitle(String title) throws IllegalArgumentException;
+
+  /**
+   * Gets this calendar's list of event series. The list is taken from the current snapshot of this
+   * calendar, so it is not copied and cannot be changed.
+   *
+   * @return this calendar's list of event series
+   */
+  List<EventSeries> getSeries();
+
+  /**
+   * Adds the given series to this calendar's list of event series.
+   *
+   * @param series the series to add
+   * @throws IllegalArgumentException if adding this series causes the number of events and series
+   *                                  to exceed 365,000 or if the new series is identical to any
+   *                                  existing series in this calendar
+   */
+  void addSeries(EventSeries series) throws IllegalArgumentException;
+
+  /**
+   * Removes the given series (and so every occurrence of it) from this calendar.
+   *
+   * @param series the series to remove
+   * @throws IllegalArgumentException if the given series is not found in this calendar
+   */
+  void removeSeries(EventSeries series) throws IllegalArgumentException;
+
+  /**
+   * Replaces the given series in this calendar with the given updated series.
+   *
+   * @param series        the series to update
+   * @param updatedSeries the series containing the updated data
+   * @throws IllegalArgumentException if the given series is not found in this calendar or if the
+   *                                  updated series is identical to another series in this
+   *                                  calendar
+   */
+  void updateSeries(EventSeries series, EventSeries updatedSeries)
+      throws IllegalArgumentException;
+
+  /**
+   * Gets the occurrences of every series in this calendar taking place between the given dates
+   * inclusive. Only the occurrences within the range are created.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the occurrences of this calendar's series within the given range
+   */
+  List<Event> getOccurrencesInRange(Date start, Date end);
+
+  /**
+   * Gets every event taking place between the given dates inclusive, including the occurrences of
+   * this calendar's series, in chronological order. Only the events within the range are visited.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the events within the given range in chronological order
+   */
+  List<Event> getEventsInRange(Date start, Date end);
+
+  /**
+   * Gets every event with one of the given colors taking place between the given dates inclusive,
+   * including the occurrences of this calendar's series, in chronological order. Only the events
+   * of the given colors are visited.
+   *
+   * @param start  the first date of the range
+   * @param end    the last date of the range
+   * @param colors the colors of the events to get
+   * @return the events of the given colors within the given range in chronological order
+   */
+  List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors);
+
+  /**
+   * Counts the events of each color taking place between the given dates inclusive, including the
+   * occurrences of this calendar's series.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the number of events of each color within the given range
+   */
+  Map<EventColor, Integer> countEventsInRange(Date start, Date end);
+
   /**
    * Outputs a formatted string representing this calendar containing all data for each event (start
-   * date/time, end date/time, title, description, and color). The string returned by this method is
+   * date/time, end date/time, title, description, and color) and for each series (its first event
+   * and its rule). The string returned by this method is
    * in the proper format to be read in to the program using the {@link CalendarReader} class.
    *
    * @return a formatted string representation of this calendar
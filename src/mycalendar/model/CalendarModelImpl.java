@@ -1,95 +1,454 @@
 package mycalendar.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import mycalendar.model.dateandtime.Date;
 
 /**
  * Represents an implementation of the calendar model implementing all methods to allow the user to
- * use and modify the calendar.
+ * use and modify the calendar. Every change also publishes a new snapshot of the calendar, so the
+ * current snapshot can be read from other threads while this calendar is being changed. Once the
+ * indexes and the snapshot are up to date, the listeners are told about the change.
  */
 public class CalendarModelImpl implements CalendarModel {
 
-  // INVARIANT: The length of events <= 365,000 events
-  private final List<Event> events;
+  // INVARIANT: The length of events + the length of series <= 365,000
+  // Kept in the order the events were added, with constant time lookup and removal
+  private final Set<Event> events;
+  private final List<EventSeries> series;
+  // The events and series of each color, so that each color can be shown or counted on its own
+  private final Map<EventColor, DateIndex> dateIndexes;
+  private final Map<EventColor, List<EventSeries>> seriesByColor;
+  private final TitleTrie titles;
+  private final AtomicReference<CalendarSnapshot> snapshot;
+  private final List<CalendarListener> listeners;
 
   /**
    * Constructs a new calendar with an empty list of events.
    */
   public CalendarModelImpl() {
-    this.events = new ArrayList<>();
+    this.events = new LinkedHashSet<>();
+    this.series = new ArrayList<>();
+    this.dateIndexes = new EnumMap<>(EventColor.class);
+    this.seriesByColor = new EnumMap<>(EventColor.class);
+    for (EventColor color : EventColor.values()) {
+      this.dateIndexes.put(color, new DateIndex());
+      this.seriesByColor.put(color, new ArrayList<>());
+    }
+    this.titles = new TitleTrie();
+    this.snapshot = new AtomicReference<>(CalendarSnapshot.EMPTY);
+    this.listeners = new CopyOnWriteArrayList<>();
   }
 
   @Override
   public List<Event> getEvents() {
-    return new ArrayList<>(this.events);
+    return this.snapshot.get().getEvents();
+  }
+
+  @Override
+  public CalendarSnapshot snapshot() {
+    return this.snapshot.get();
+  }
+
+  @Override
+  public void addListener(CalendarListener listener) {
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(CalendarListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  @Override
+  public boolean contains(Event event) {
+    return this.events.contains(event);
+  }
+
+  @Override
+  public boolean containsSeries(EventSeries series) {
+    return this.series.contains(series);
   }
 
   @Override
   public void addEvent(Event event) throws IllegalArgumentException {
-    for (Event existingEvent : this.events) {
-      if (existingEvent.equals(event)) {
-        throw new IllegalArgumentException("Identical event already exists in this calendar");
-      }
+    if (this.dateIndexOf(event).contains(event)) {
+      throw new IllegalArgumentException("Identical event already exists in this calendar");
     }
 
     this.validateCalendarAddingEvent();
     this.events.add(event);
+    this.dateIndexOf(event).add(event);
+    this.titles.insert(event);
+    this.publishEvents(List.of(event), List.of());
+    this.notifyListeners(CalendarUpdate.added(List.of(event), List.of()));
   }
 
   @Override
   public void removeEvent(Event event) throws IllegalArgumentException {
-    int indexToDelete = -1;
-    for (int i = 0; i < this.events.size(); i++) {
-      Event eventToRemove = this.events.get(i);
+    if (!this.events.remove(event)) {
+      throw new IllegalArgumentException(
+          "Cannot delete: The given event does not exist in this calendar.");
+    } else {
+      this.dateIndexOf(event).remove(event);
+      this.titles.remove(event);
+      this.publishEvents(List.of(), List.of(event));
+      this.notifyListeners(CalendarUpdate.removed(List.of(event), List.of()));
+    }
+  }
+
+  @Override
+  public void updateEvent(Event event, Event updatedEvent) throws IllegalArgumentException {
+    if (!this.events.contains(event)) {
+      throw new IllegalArgumentException(
+          "Cannot update: The given event does not exist in this calendar.");
+    }
+
+    if (!updatedEvent.equals(event) && this.dateIndexOf(updatedEvent).contains(updatedEvent)) {
+      throw new IllegalArgumentException("Identical event already exists in this calendar");
+    }
+
+    this.events.remove(event);
+    this.events.add(updatedEvent);
+    this.dateIndexOf(event).remove(event);
+    this.dateIndexOf(updatedEvent).add(updatedEvent);
+    this.titles.remove(event);
+    this.titles.insert(updatedEvent);
+    this.publishEvents(List.of(updatedEvent), List.of(event));
+    this.notifyListeners(
+        CalendarUpdate.updated(List.of(event), List.of(updatedEvent), List.of(), List.of()));
+  }
+
+  @Override
+  public void addAll(List<Event> events) throws IllegalArgumentException {
+    if (this.events.size() + this.series.size() + events.size() > 365000) {
+      throw new IllegalArgumentException("Calendar size exceeded. "
+          + "Calendar can hold a maximum of 365,000 events.");
+    }
+
+    Set<Event> eventsToAdd = new HashSet<>();
+    for (Event event : events) {
+      if (this.dateIndexOf(event).contains(event) || !eventsToAdd.add(event)) {
+        throw new IllegalArgumentException("Identical event already exists in this calendar");
+      }
+    }
+
+    for (Event event : events) {
+      this.events.add(event);
+      this.dateIndexOf(event).add(event);
+      this.titles.insert(event);
+    }
+    this.publishEvents(events, List.of());
+    this.notifyListeners(CalendarUpdate.added(events, List.of()));
+  }
 
-      if (eventToRemove.equals(event)) {
-        indexToDelete = i;
-        break;
+  @Override
+  public List<Event> removeAll(Predicate<Event> filter) {
+    List<Event> removedEvents = new ArrayList<>();
+    Iterator<Event> iterator = this.events.iterator();
+    while (iterator.hasNext()) {
+      Event event = iterator.next();
+      if (filter.test(event)) {
+        iterator.remove();
+        removedEvents.add(event);
       }
     }
 
+    for (Event removedEvent : removedEvents) {
+      this.dateIndexOf(removedEvent).remove(removedEvent);
+      this.titles.remove(removedEvent);
+    }
+    this.publishEvents(List.of(), removedEvents);
+    if (!removedEvents.isEmpty()) {
+      this.notifyListeners(CalendarUpdate.removed(removedEvents, List.of()));
+    }
+
+    return removedEvents;
+  }
+
+  @Override
+  public void removeAll(Collection<Event> events) throws IllegalArgumentException {
+    Set<Event> eventsToRemove = new HashSet<>();
+    for (Event event : events) {
+      if (!this.dateIndexOf(event).contains(event) || !eventsToRemove.add(event)) {
+        throw new IllegalArgumentException(
+            "Cannot delete: The given event does not exist in this calendar.");
+      }
+    }
+    if (events.isEmpty()) {
+      return;
+    }
+
+    List<Event> removedEvents = List.copyOf(events);
+    for (Event event : removedEvents) {
+      this.events.remove(event);
+      this.dateIndexOf(event).remove(event);
+      this.titles.remove(event);
+    }
+    this.publishEvents(List.of(), removedEvents);
+    this.notifyListeners(CalendarUpdate.removed(removedEvents, List.of()));
+  }
+
+  @Override
+  public CalendarUpdate removeRange(Date start, Date end) throws IllegalArgumentException {
+    if (start.compareTo(end) > 0) {
+      throw new IllegalArgumentException("Start date must not be after end date.");
+    }
+
+    // Remove the events within the range from each index at once
+    List<Event> removedEvents = new ArrayList<>();
+    for (DateIndex dateIndex : this.dateIndexes.values()) {
+      removedEvents.addAll(dateIndex.eventsBetween(start, end));
+      dateIndex.removeBetween(start, end);
+    }
+
+    for (Event removedEvent : removedEvents) {
+      this.events.remove(removedEvent);
+      this.titles.remove(removedEvent);
+    }
+    List<EventSeries> oldSeries = new ArrayList<>();
+    List<EventSeries> newSeries = new ArrayList<>();
+
+    for (int i = 0; i < this.series.size(); i++) {
+      EventSeries eventSeries = this.series.get(i);
+      List<Event> occurrences = eventSeries.occurrencesBetween(start, end);
+      if (occurrences.isEmpty()) {
+        continue;
+      }
+
+      List<Date> dates = new ArrayList<>();
+      for (Event occurrence : occurrences) {
+        dates.add(occurrence.getDate());
+      }
+
+      EventSeries updatedSeries = eventSeries.withExceptions(dates);
+      this.series.set(i, updatedSeries);
+      List<EventSeries> seriesOfColor = this.seriesOfColor(eventSeries);
+      seriesOfColor.set(seriesOfColor.indexOf(eventSeries), updatedSeries);
+      oldSeries.add(eventSeries);
+      newSeries.add(updatedSeries);
+    }
+
+    // Publish the removed events and the updated series together so that no snapshot has only one
+    this.snapshot.set(this.snapshot.get()
+        .withEvents(List.of(), removedEvents)
+        .withSeries(this.series));
+    if (!removedEvents.isEmpty()) {
+      this.notifyListeners(CalendarUpdate.removed(removedEvents, List.of()));
+    }
+    if (!oldSeries.isEmpty()) {
+      this.notifyListeners(CalendarUpdate.updated(List.of(), List.of(), oldSeries, newSeries));
+    }
+
+    return CalendarUpdate.updated(removedEvents, List.of(), oldSeries, newSeries);
+  }
+
+  @Override
+  public List<String> suggestTitles(String prefix, int maxSuggestions)
+      throws IllegalArgumentException {
+    return this.titles.suggest(prefix, maxSuggestions);
+  }
+
+  @Override
+  public Event getLatestEventWithTitle(String title) throws IllegalArgumentException {
+    return this.titles.latestWithTitle(title);
+  }
+
+  @Override
+  public List<EventSeries> getSeries() {
+    return this.snapshot.get().getSeries();
+  }
+
+  @Override
+  public void addSeries(EventSeries series) throws IllegalArgumentException {
+    if (this.series.contains(series)) {
+      throw new IllegalArgumentException("Identical series already exists in this calendar");
+    }
+
+    this.validateCalendarAddingEvent();
+    this.series.add(series);
+    this.seriesOfColor(series).add(series);
+    this.titles.insert(series.getTemplate());
+    this.publishSeries();
+    this.notifyListeners(CalendarUpdate.added(List.of(), List.of(series)));
+  }
+
+  @Override
+  public void removeSeries(EventSeries series) throws IllegalArgumentException {
+    int indexToDelete = this.series.indexOf(series);
+
     if (indexToDelete == -1) {
       throw new IllegalArgumentException(
-          "Cannot delete: The given event does not exist in this calendar.");
+          "Cannot delete: The given series does not exist in this calendar.");
     } else {
-      this.events.remove(indexToDelete);
+      EventSeries removedSeries = this.series.remove(indexToDelete);
+      this.seriesOfColor(removedSeries).remove(removedSeries);
+      this.titles.remove(removedSeries.getTemplate());
+      this.publishSeries();
+      this.notifyListeners(CalendarUpdate.removed(List.of(), List.of(removedSeries)));
     }
   }
 
   @Override
-  public String calendarInfo() {
-    StringBuilder builder = new StringBuilder();
+  public void updateSeries(EventSeries series, EventSeries updatedSeries)
+      throws IllegalArgumentException {
+    int indexToUpdate = this.series.indexOf(series);
+
+    if (indexToUpdate == -1) {
+      throw new IllegalArgumentException(
+          "Cannot update: The given series does not exist in this calendar.");
+    }
+
+    int identicalIndex = this.series.indexOf(updatedSeries);
+    if (identicalIndex != -1 && identicalIndex != indexToUpdate) {
+      throw new IllegalArgumentException("Identical series already exists in this calendar");
+    }
+
+    EventSeries oldSeries = this.series.set(indexToUpdate, updatedSeries);
+    this.seriesOfColor(oldSeries).remove(oldSeries);
+    this.seriesOfColor(updatedSeries).add(updatedSeries);
+    this.titles.remove(oldSeries.getTemplate());
+    this.titles.insert(updatedSeries.getTemplate());
+    this.publishSeries();
+    this.notifyListeners(
+        CalendarUpdate.updated(List.of(), List.of(), List.of(oldSeries), List.of(updatedSeries)));
+  }
+
+  @Override
+  public List<Event> getOccurrencesInRange(Date start, Date end) {
+    List<Event> occurrences = new ArrayList<>();
+    for (EventSeries eventSeries : this.series) {
+      occurrences.addAll(eventSeries.occurrencesBetween(start, end));
+    }
+
+    return occurrences;
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end) {
+    return this.getEventsInRange(start, end, EnumSet.allOf(EventColor.class));
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors) {
+    List<Event> eventsInRange = new ArrayList<>();
+    int numSources = 0;
 
-    int numEvents = this.events.size();
-    for (int i = 0; i < numEvents; i++) {
-      Event event = this.events.get(i);
+    for (EventColor color : colors) {
+      List<Event> eventsOfColor = this.dateIndexes.get(color).eventsBetween(start, end);
+      if (!eventsOfColor.isEmpty()) {
+        eventsInRange.addAll(eventsOfColor);
+        numSources++;
+      }
+
+      for (EventSeries eventSeries : this.seriesByColor.get(color)) {
+        List<Event> occurrences = eventSeries.occurrencesBetween(start, end);
+        if (!occurrences.isEmpty()) {
+          eventsInRange.addAll(occurrences);
+          numSources++;
+        }
+      }
+    }
+
+    // Each source is already in order, so only events from different sources need sorting
+    if (numSources > 1) {
+      eventsInRange.sort(DateIndex.CHRONOLOGICAL);
+    }
 
-      builder.append("##########################################\n");
-      builder.append("Event ").append(i + 1).append("/").append(numEvents).append("\n");
-      builder.append(event.toString());
-      builder.append("##########################################");
+    return eventsInRange;
+  }
 
-      if (i < numEvents - 1) {
-        builder.append("\n");
+  @Override
+  public Map<EventColor, Integer> countEventsInRange(Date start, Date end) {
+    Map<EventColor, Integer> counts = new EnumMap<>(EventColor.class);
+    for (EventColor color : EventColor.values()) {
+      int count = this.dateIndexes.get(color).countBetween(start, end);
+      for (EventSeries eventSeries : this.seriesByColor.get(color)) {
+        count += eventSeries.countBetween(start, end);
       }
+
+      counts.put(color, count);
     }
 
-    return builder.toString();
+    return counts;
   }
 
+  @Override
+  public String calendarInfo() {
+    return this.snapshot.get().calendarInfo();
+  }
+
+  /**
+   * Publishes a new snapshot of this calendar with the given events added and removed.
+   *
+   * @param addedEvents   the events which were added
+   * @param removedEvents the events which were removed
+   */
+  private void publishEvents(List<Event> addedEvents, List<Event> removedEvents) {
+    this.snapshot.set(this.snapshot.get().withEvents(addedEvents, removedEvents));
+  }
+
+  /**
+   * Publishes a new snapshot of this calendar with its current series.
+   */
+  private void publishSeries() {
+    this.snapshot.set(this.snapshot.get().withSeries(this.series));
+  }
+
+  /**
+   * Tells every listener about the given change.
+   *
+   * @param update the change made to this calendar
+   */
+  private void notifyListeners(CalendarUpdate update) {
+    for (CalendarListener listener : this.listeners) {
+      listener.calendarChanged(update);
+    }
+  }
+
+  /**
+   * Gets the date index holding the events with the color of the given event.
+   *
+   * @param event the event
+   * @return the date index for the color of the given event
+   */
+  private DateIndex dateIndexOf(Event event) {
+    return this.dateIndexes.get(event.getColor());
+  }
+
+  /**
+   * Gets the list of series with the color of the given series.
+   *
+   * @param eventSeries the series
+   * @return the list of series for the color of the given series
+   */
+  private List<EventSeries> seriesOfColor(EventSeries eventSeries) {
+    return this.seriesByColor.get(eventSeries.getTemplate().getColor());
+  }
 
   /**
-   * Checks if this calendar's list of events has a length greater than or equal to 365,000 and
-   * throws an error if this is the case. Although the calendar is allowed to contain exactly
-   * 365,000 events (this is the maximum allowed value), this method is to be called before adding a
-   * new event to this calendar, meaning that if the calendar has exactly 365,000 events, adding one
-   * more event will cause the calendar to be invalid.
+   * Checks if this calendar's lists of events and series have a combined length greater than or
+   * equal to 365,000 and throws an error if this is the case. Although the calendar is allowed to
+   * contain exactly 365,000 events and series (this is the maximum allowed value), this method is
+   * to be called before adding a new event or series to this calendar, meaning that if the calendar
+   * has exactly 365,000 events and series, adding one more will cause the calendar to be invalid.
    *
-   * @throws IllegalArgumentException if this calendar's list of events contains 365,000 or more
-   *                                  events
+   * @throws IllegalArgumentException if this calendar's lists of events and series contain 365,000
+   *                                  or more items
    */
   private void validateCalendarAddingEvent() throws IllegalArgumentException {
-    if (this.events.size() >= 365000) {
+    if (this.events.size() + this.series.size() >= 365000) {
       throw new IllegalArgumentException("Calendar size exceeded. "
           + "Calendar can hold a maximum of 365,000 events.");
     }
@@ -1,8 +1,14 @@
 package mycalendar.model;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeSet;
 import mycalendar.model.dateandtime.Date;
+import mycalendar.model.dateandtime.DayOfWeek;
 import mycalendar.model.dateandtime.Time;
 
 /**
@@ -22,29 +28,35 @@ public final class CalendarReader {
   public static CalendarModel readCalendarFile(Readable readable)
       throws IllegalStateException, IllegalArgumentException {
     CalendarModel model = new CalendarModelImpl();
+    // The events are added together once the file has been read, so only one snapshot is made
+    List<Event> events = new ArrayList<>();
 
     Scanner scan = new Scanner(readable);
 
     while (scan.hasNext()) {
       if (scan.next().equals("##########################################")) {
-        model.addEvent(CalendarReader.readEvent(scan));
+        CalendarReader.readEntry(scan, model, events);
       }
     }
     scan.close();
 
+    model.addAll(events);
     return model;
   }
 
   /**
-   * Generates an event from the event section of a properly formatted calendar input source.
+   * Generates an event or an event series from the event section of a properly formatted calendar
+   * input source. A series is added to the given calendar, and an event to the given list of
+   * events to add. The section describes a series if it contains a recurrence field.
    *
-   * @param scan a scanner containing the input source of the properly formatted calendar
-   *             information
-   * @return an event with the data specified by the given input source
+   * @param scan   a scanner containing the input source of the properly formatted calendar
+   *               information
+   * @param model  the calendar to add the series to
+   * @param events the events to add to the calendar
    * @throws IllegalStateException    if there is unexpected input in the input source
    * @throws IllegalArgumentException if the calendar data is invalid (such as an invalid date)
    */
-  private static Event readEvent(Scanner scan)
+  private static void readEntry(Scanner scan, CalendarModel model, List<Event> events)
       throws IllegalStateException, IllegalArgumentException {
     Date date = null;
 
@@ -56,6 +68,10 @@ public final class CalendarReader {
 
     EventColor color = EventColor.Fire;
 
+    String recurrence = null;
+    String ends = "never";
+    String exceptions = "";
+
     inputLoop:
     while (scan.hasNext()) {
       String field = scan.next();
@@ -79,12 +95,91 @@ public final class CalendarReader {
         case "color:":
           color = CalendarReader.readColor(scan);
           break;
+        case "recurrence:":
+          recurrence = scan.nextLine().trim();
+          break;
+        case "ends:":
+          ends = scan.nextLine().trim();
+          break;
+        case "exceptions:":
+          exceptions = scan.nextLine().trim();
+          break;
         case "##########################################":
           break inputLoop;
         default:
       }
     }
-    return new Event(date, startTime, endTime, title, description, color);
+    Event event = new Event(date, startTime, endTime, title, description, color);
+
+    if (recurrence == null) {
+      events.add(event);
+    } else {
+      RecurrenceRule rule = CalendarReader.readRule(recurrence, ends, exceptions);
+      model.addSeries(new EventSeries(event, rule));
+    }
+  }
+
+  /**
+   * Generates a recurrence rule from the recurrence, ends, and exceptions fields of a series
+   * section of a properly formatted calendar input source.
+   *
+   * @param recurrence the text of the recurrence field (the frequency followed by the days of the
+   *                   week for a weekly series or the week of the month for a series repeating
+   *                   monthly on a day of the week)
+   * @param ends       the text of the ends field ("never", "on" followed by a date, or "after"
+   *                   followed by a number of events)
+   * @param exceptions the text of the exceptions field (comma separated dates)
+   * @return a recurrence rule with the data specified by the given fields
+   * @throws IllegalStateException    if there is unexpected input in the given fields
+   * @throws IllegalArgumentException if the rule data is invalid (such as an invalid date)
+   */
+  private static RecurrenceRule readRule(String recurrence, String ends, String exceptions)
+      throws IllegalStateException, IllegalArgumentException {
+    Scanner ruleScan = new Scanner(recurrence);
+    RecurrenceFrequency frequency = RecurrenceFrequency.valueOf(ruleScan.next());
+
+    Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    int weekOfMonth = 0;
+    try {
+      if (frequency == RecurrenceFrequency.Weekly) {
+        while (ruleScan.hasNext()) {
+          weekdays.add(DayOfWeek.valueOf(ruleScan.next()));
+        }
+      } else if (frequency == RecurrenceFrequency.MonthlyOnWeekday) {
+        weekOfMonth = ruleScan.nextInt();
+      }
+    } catch (InputMismatchException ime) {
+      throw new IllegalStateException("Unexpected input");
+    }
+
+    Date endDate = null;
+    int count = 0;
+    Scanner endsScan = new Scanner(ends);
+    switch (endsScan.next()) {
+      case "on":
+        endDate = CalendarReader.readDate(endsScan);
+        break;
+      case "after":
+        try {
+          count = endsScan.nextInt();
+        } catch (InputMismatchException ime) {
+          throw new IllegalStateException("Unexpected input");
+        }
+        break;
+      case "never":
+        break;
+      default:
+        throw new IllegalStateException("Unexpected input");
+    }
+
+    Set<Date> exceptionDates = new TreeSet<>();
+    for (String exception : exceptions.split(",")) {
+      if (!exception.isBlank()) {
+        exceptionDates.add(CalendarReader.readDate(new Scanner(exception)));
+      }
+    }
+
+    return new RecurrenceRule(frequency, weekdays, weekOfMonth, endDate, count, exceptionDates);
   }
 
   /**
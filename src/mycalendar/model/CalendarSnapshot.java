@@ -0,0 +1,594 @@
+package mycalendar.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents an unchangeable version of a calendar's events and series at one point in time. A
+ * snapshot can be read from any thread without locking, and it never changes, so a save or export
+ * working from a snapshot always sees a consistent calendar even while the calendar is being
+ * changed.
+ *
+ * <p>The events are split up by month and then by color, and each color's events within a month
+ * are kept in chronological order, so the events of some colors within a range are found without
+ * looking at the events of any other color, and the months wholly within a range are counted by
+ * the sizes of their lists alone. The series are split up by color as well. The months are held in
+ * a trie, so a new version is made by copying only the months which changed and the few nodes
+ * leading to them; every other month is shared with the previous version rather than copied. The
+ * list of every event is only put together the first time it is asked for: see {@link
+ * #getEvents()} for its cost.
+ */
+public final class CalendarSnapshot {
+
+  // Declared before the empty snapshot, which needs it to split up its series
+  private static final EventColor[] COLORS = EventColor.values();
+
+  static final CalendarSnapshot EMPTY = new CalendarSnapshot(MonthTrie.empty(), List.of(),
+      seriesByColor(List.of()));
+
+  // The events of each month, keyed by the number of months since year 0
+  private final MonthTrie<Month> months;
+  private final List<EventSeries> series;
+  private final Map<EventColor, List<EventSeries>> seriesByColor;
+  // Every event in chronological order, or null until it is first asked for
+  private volatile List<Event> events;
+
+  /**
+   * Constructs a snapshot of the given events and series. None of the lists may be changed
+   * afterwards.
+   *
+   * @param months        the events of each month
+   * @param series        the unchangeable series
+   * @param seriesByColor the same series split up by color
+   */
+  private CalendarSnapshot(MonthTrie<Month> months, List<EventSeries> series,
+      Map<EventColor, List<EventSeries>> seriesByColor) {
+    this.months = months;
+    this.series = series;
+    this.seriesByColor = seriesByColor;
+    this.events = null;
+  }
+
+  /**
+   * Creates a new version of this snapshot with the given events added and removed. Only the
+   * colors of the months of the given events and the nodes leading to them are copied; everything
+   * else is shared with this snapshot.
+   *
+   * @param addedEvents   the events to add
+   * @param removedEvents the events to remove
+   * @return the new version of this snapshot
+   */
+  CalendarSnapshot withEvents(Collection<Event> addedEvents, Collection<Event> removedEvents) {
+    if (addedEvents.isEmpty() && removedEvents.isEmpty()) {
+      return this;
+    }
+
+    Map<Integer, Set<Event>> removedByMonth = new TreeMap<>();
+    for (Event event : removedEvents) {
+      removedByMonth.computeIfAbsent(monthOf(event.getDate()), month -> new HashSet<>())
+          .add(event);
+    }
+    Map<Integer, List<Event>> addedByMonth = new TreeMap<>();
+    for (Event event : addedEvents) {
+      addedByMonth.computeIfAbsent(monthOf(event.getDate()), month -> new ArrayList<>())
+          .add(event);
+    }
+
+    Set<Integer> changedMonths = new HashSet<>(removedByMonth.keySet());
+    changedMonths.addAll(addedByMonth.keySet());
+    MonthTrie<Month> months = this.months;
+    for (int key : changedMonths) {
+      Month month = months.get(key);
+      if (month == null) {
+        month = Month.empty(key);
+      }
+
+      months = months.with(key, month.with(addedByMonth.getOrDefault(key, List.of()),
+          removedByMonth.getOrDefault(key, Set.of())));
+    }
+
+    return new CalendarSnapshot(months, this.series, this.seriesByColor);
+  }
+
+  /**
+   * Creates a new version of this snapshot with the given series in place of its series. The events
+   * are shared with this snapshot.
+   *
+   * @param series the series of the new version
+   * @return the new version of this snapshot
+   */
+  CalendarSnapshot withSeries(List<EventSeries> series) {
+    List<EventSeries> seriesCopy = List.copyOf(series);
+    CalendarSnapshot snapshot = new CalendarSnapshot(this.months, seriesCopy,
+        seriesByColor(seriesCopy));
+    snapshot.events = this.events;
+    return snapshot;
+  }
+
+  /**
+   * Combines the given snapshots into one containing the events and series of all of them. The
+   * months of the first snapshot are shared, and months found in only one of the snapshots are
+   * shared rather than copied. Each month found in several snapshots is combined color by color
+   * with a k-way merge of their lists, which are already in chronological order, so nothing is
+   * sorted again.
+   *
+   * @param snapshots the snapshots to combine
+   * @return a snapshot of every event and series within the given snapshots
+   */
+  static CalendarSnapshot merge(List<CalendarSnapshot> snapshots) {
+    if (snapshots.isEmpty()) {
+      return EMPTY;
+    }
+    if (snapshots.size() == 1) {
+      return snapshots.get(0);
+    }
+
+    // Gather the months of the other snapshots by key, in the order of the snapshots
+    Map<Integer, List<Month>> otherMonths = new TreeMap<>();
+    List<EventSeries> series = new ArrayList<>(snapshots.get(0).series);
+    for (CalendarSnapshot snapshot : snapshots.subList(1, snapshots.size())) {
+      for (Month month : snapshot.months.values()) {
+        otherMonths.computeIfAbsent(month.key, key -> new ArrayList<>()).add(month);
+      }
+      series.addAll(snapshot.series);
+    }
+
+    MonthTrie<Month> months = snapshots.get(0).months;
+    for (Map.Entry<Integer, List<Month>> entry : otherMonths.entrySet()) {
+      List<Month> versions = new ArrayList<>();
+      Month firstVersion = months.get(entry.getKey());
+      if (firstVersion != null) {
+        versions.add(firstVersion);
+      }
+      versions.addAll(entry.getValue());
+
+      months = months.with(entry.getKey(),
+          versions.size() == 1 ? versions.get(0) : Month.merge(versions));
+    }
+
+    List<EventSeries> seriesCopy = List.copyOf(series);
+    return new CalendarSnapshot(months, seriesCopy, seriesByColor(seriesCopy));
+  }
+
+  /**
+   * Gets every event in this snapshot in chronological order. The list cannot be changed.
+   *
+   * <p>The list is put together the first time it is asked for and kept afterwards, so every later
+   * call takes O(1) time. Putting it together visits every month with events, taking O(m) time for
+   * m months, and merges the colors of each month which has not been read as a whole before. The
+   * merged list of a month is kept with the month, which later versions share as long as it does
+   * not change, so after an edit only the changed months are merged again. The events themselves
+   * are not copied into one list: the months' lists are read through a view of them.
+   *
+   * @return the events in this snapshot
+   */
+  public List<Event> getEvents() {
+    List<Event> events = this.events;
+    if (events == null) {
+      // Snapshots never change, so threads racing to put the list together make equal lists
+      List<List<Event>> monthEvents = new ArrayList<>();
+      for (Month month : this.months.values()) {
+        monthEvents.add(month.chronological());
+      }
+      events = new MonthsView(monthEvents);
+      this.events = events;
+    }
+
+    return events;
+  }
+
+  /**
+   * Gets every event with one of the given colors taking place between the given dates inclusive,
+   * including the occurrences of series, in chronological order. Only the months within the range
+   * and the events and series of the given colors are visited, and only the first and last months
+   * are searched for the range's dates.
+   *
+   * @param start  the first date of the range
+   * @param end    the last date of the range
+   * @param colors the colors of the events to get
+   * @return the events of the given colors within the given range in chronological order, which
+   *         cannot be changed
+   */
+  public List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors) {
+    List<Event> eventsInRange = new ArrayList<>();
+    if (start.compareTo(end) > 0) {
+      return eventsInRange;
+    }
+
+    int firstMonth = monthOf(start);
+    int lastMonth = monthOf(end);
+    for (Month month : this.months.valuesBetween(firstMonth, lastMonth)) {
+      boolean wholeMonth = month.key > firstMonth && month.key < lastMonth;
+      int monthStart = eventsInRange.size();
+      int numColors = 0;
+      for (EventColor color : colors) {
+        List<Event> eventsOfColor = wholeMonth ? month.ofColor(color)
+            : between(month.ofColor(color), start, end);
+        if (!eventsOfColor.isEmpty()) {
+          eventsInRange.addAll(eventsOfColor);
+          numColors++;
+        }
+      }
+
+      // Each color is already in order, so a month only needs sorting if it has several colors
+      if (numColors > 1) {
+        eventsInRange.subList(monthStart, eventsInRange.size()).sort(DateIndex.CHRONOLOGICAL);
+      }
+    }
+    boolean sorted = true;
+
+    for (EventColor color : colors) {
+      for (EventSeries eventSeries : this.seriesByColor.get(color)) {
+        List<Event> occurrences = eventSeries.occurrencesBetween(start, end);
+        sorted = sorted && (occurrences.isEmpty() || eventsInRange.isEmpty());
+        eventsInRange.addAll(occurrences);
+      }
+    }
+
+    // The events and each series are already in order, so only mixed sources need sorting
+    if (!sorted) {
+      eventsInRange.sort(DateIndex.CHRONOLOGICAL);
+    }
+
+    return Collections.unmodifiableList(eventsInRange);
+  }
+
+  /**
+   * Counts the events of each color taking place between the given dates inclusive, including the
+   * occurrences of series. The months wholly within the range are counted by the sizes of their
+   * lists, so only the first and last months are searched.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the number of events of each color within the given range
+   */
+  public Map<EventColor, Integer> countEventsInRange(Date start, Date end) {
+    Map<EventColor, Integer> counts = new EnumMap<>(EventColor.class);
+    for (EventColor color : COLORS) {
+      counts.put(color, 0);
+    }
+    if (start.compareTo(end) > 0) {
+      return counts;
+    }
+
+    int firstMonth = monthOf(start);
+    int lastMonth = monthOf(end);
+    int[] countsByColor = new int[COLORS.length];
+    for (Month month : this.months.valuesBetween(firstMonth, lastMonth)) {
+      boolean wholeMonth = month.key > firstMonth && month.key < lastMonth;
+      for (EventColor color : COLORS) {
+        countsByColor[color.ordinal()] += wholeMonth ? month.ofColor(color).size()
+            : between(month.ofColor(color), start, end).size();
+      }
+    }
+    for (EventColor color : COLORS) {
+      int count = countsByColor[color.ordinal()];
+      for (EventSeries eventSeries : this.seriesByColor.get(color)) {
+        count += eventSeries.countBetween(start, end);
+      }
+      counts.put(color, count);
+    }
+
+    return counts;
+  }
+
+  /**
+   * Gets every series in this snapshot. The list cannot be changed.
+   *
+   * @return the series in this snapshot
+   */
+  public List<EventSeries> getSeries() {
+    return this.series;
+  }
+
+  /**
+   * Outputs a formatted string representing this snapshot in the same format as {@link
+   * CalendarModel#calendarInfo()}. The events are listed in chronological order.
+   *
+   * @return a formatted string representation of this snapshot
+   */
+  public String calendarInfo() {
+    StringBuilder builder = new StringBuilder();
+
+    List<Event> events = this.getEvents();
+    int numEvents = events.size();
+    int i = 0;
+    for (Event event : events) {
+      builder.append("##########################################\n");
+      builder.append("Event ").append(i + 1).append("/").append(numEvents).append("\n");
+      builder.append(event.toString());
+      builder.append("##########################################");
+
+      if (i < numEvents - 1) {
+        builder.append("\n");
+      }
+      i++;
+    }
+
+    int numSeries = this.series.size();
+    for (int j = 0; j < numSeries; j++) {
+      if (numEvents > 0 || j > 0) {
+        builder.append("\n");
+      }
+
+      builder.append("##########################################\n");
+      builder.append("Series ").append(j + 1).append("/").append(numSeries).append("\n");
+      builder.append(this.series.get(j).toString());
+      builder.append("##########################################");
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Splits up the given series by the color of their events.
+   *
+   * @param series the series
+   * @return the unchangeable series of each color, in the order they are given
+   */
+  private static Map<EventColor, List<EventSeries>> seriesByColor(List<EventSeries> series) {
+    Map<EventColor, List<EventSeries>> seriesByColor = new EnumMap<>(EventColor.class);
+    for (EventColor color : COLORS) {
+      seriesByColor.put(color, new ArrayList<>());
+    }
+    for (EventSeries eventSeries : series) {
+      seriesByColor.get(eventSeries.getTemplate().getColor()).add(eventSeries);
+    }
+    for (EventColor color : COLORS) {
+      seriesByColor.put(color, Collections.unmodifiableList(seriesByColor.get(color)));
+    }
+
+    return Collections.unmodifiableMap(seriesByColor);
+  }
+
+  /**
+   * Gets the part of the given events taking place between the given dates inclusive, found by
+   * binary search.
+   *
+   * @param events the events in chronological order
+   * @param start  the first date of the range
+   * @param end    the last date of the range
+   * @return the events within the range, which is a view of the given list
+   */
+  private static List<Event> between(List<Event> events, Date start, Date end) {
+    return events.subList(countBefore(events, start, false), countBefore(events, end, true));
+  }
+
+  /**
+   * Counts the events at the start of the given events which take place before the given date, or
+   * on it as well if asked to.
+   *
+   * @param events      the events in chronological order
+   * @param date        the date
+   * @param includeDate whether or not to count the events on the given date
+   * @return the number of events before the given date
+   */
+  private static int countBefore(List<Event> events, Date date, boolean includeDate) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int comparison = events.get(middle).getDate().compareTo(date);
+      if (comparison < 0 || (includeDate && comparison == 0)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Gets the key of the month of the given date.
+   *
+   * @param date the date
+   * @return the number of months from the start of year 0 to the month of the given date
+   */
+  private static int monthOf(Date date) {
+    return date.getYear() * 12 + date.getMonth() - 1;
+  }
+
+  /**
+   * Represents the events of one month split up by color, each color's events in chronological
+   * order. A month is never changed; a new version is made by copying only the colors which
+   * changed.
+   */
+  private static final class Month {
+
+    private final int key;
+    // The unchangeable events of each color, by the ordinal of the color
+    private final List<List<Event>> eventsByColor;
+    // Every event of the month in chronological order, or null until it is first asked for
+    private volatile List<Event> chronological;
+
+    /**
+     * Constructs a month with the given events.
+     *
+     * @param key           the number of months from the start of year 0 to the month
+     * @param eventsByColor the unchangeable events of each color in chronological order
+     */
+    private Month(int key, List<List<Event>> eventsByColor) {
+      this.key = key;
+      this.eventsByColor = eventsByColor;
+      this.chronological = null;
+    }
+
+    /**
+     * Creates a month without any events.
+     *
+     * @param key the number of months from the start of year 0 to the month
+     * @return an empty month
+     */
+    private static Month empty(int key) {
+      return new Month(key, Collections.nCopies(COLORS.length, List.of()));
+    }
+
+    /**
+     * Gets the events of the given color.
+     *
+     * @param color the color
+     * @return the unchangeable events of the given color in chronological order
+     */
+    private List<Event> ofColor(EventColor color) {
+      return this.eventsByColor.get(color.ordinal());
+    }
+
+    /**
+     * Creates a new version of this month with the given events added and removed. The colors none
+     * of the given events have are shared with this month.
+     *
+     * @param addedEvents   the events to add
+     * @param removedEvents the events to remove
+     * @return the new version of this month, or null if it has no events
+     */
+    private Month with(List<Event> addedEvents, Set<Event> removedEvents) {
+      List<List<Event>> eventsByColor = new ArrayList<>(this.eventsByColor);
+      Set<EventColor> changedColors = new HashSet<>();
+      for (Event event : addedEvents) {
+        changedColors.add(event.getColor());
+      }
+      for (Event event : removedEvents) {
+        changedColors.add(event.getColor());
+      }
+
+      for (EventColor color : changedColors) {
+        List<Event> events = new ArrayList<>(this.ofColor(color));
+        events.removeIf(removedEvents::contains);
+        boolean added = false;
+        for (Event event : addedEvents) {
+          if (event.getColor() == color) {
+            events.add(event);
+            added = true;
+          }
+        }
+        if (added) {
+          events.sort(DateIndex.CHRONOLOGICAL);
+        }
+
+        eventsByColor.set(color.ordinal(),
+            events.isEmpty() ? List.of() : Collections.unmodifiableList(events));
+      }
+
+      Month month = new Month(this.key, Collections.unmodifiableList(eventsByColor));
+      return month.isEmpty() ? null : month;
+    }
+
+    /**
+     * Creates a month with the events of every given month, which are the same month of several
+     * calendars. The lists of each color are merged without sorting them again, and a color found
+     * in only one of the months is shared rather than copied.
+     *
+     * @param months the same month of each calendar, in the order of the calendars
+     * @return the combined month
+     */
+    private static Month merge(List<Month> months) {
+      List<List<Event>> eventsByColor = new ArrayList<>();
+      for (EventColor color : COLORS) {
+        List<List<Event>> sortedRuns = new ArrayList<>();
+        for (Month month : months) {
+          sortedRuns.add(month.ofColor(color));
+        }
+        eventsByColor.add(DateIndex.merge(sortedRuns));
+      }
+
+      return new Month(months.get(0).key, Collections.unmodifiableList(eventsByColor));
+    }
+
+    /**
+     * Gets every event of this month in chronological order. The colors are merged without sorting
+     * them again the first time this is asked for, and the result is kept.
+     *
+     * @return the unchangeable events of this month in chronological order
+     */
+    private List<Event> chronological() {
+      List<Event> events = this.chronological;
+      if (events == null) {
+        // Months never change, so threads racing to merge the colors make equal lists
+        events = DateIndex.merge(this.eventsByColor);
+        this.chronological = events;
+      }
+
+      return events;
+    }
+
+    /**
+     * Determines whether or not this month has no events.
+     *
+     * @return whether or not this month is empty
+     */
+    private boolean isEmpty() {
+      for (List<Event> eventsOfColor : this.eventsByColor) {
+        if (!eventsOfColor.isEmpty()) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+
+  /**
+   * Represents the events of every month as one unchangeable list without copying them.
+   */
+  private static final class MonthsView extends AbstractList<Event> {
+
+    private final List<List<Event>> months;
+    // The index within the whole list of the first event of each month
+    private final int[] firstIndexes;
+    private final int size;
+
+    /**
+     * Constructs a view of the given months' events.
+     *
+     * @param months the events of each month in order
+     */
+    private MonthsView(Collection<List<Event>> months) {
+      this.months = new ArrayList<>(months);
+      this.firstIndexes = new int[this.months.size()];
+
+      int size = 0;
+      for (int i = 0; i < this.firstIndexes.length; i++) {
+        this.firstIndexes[i] = size;
+        size += this.months.get(i).size();
+      }
+      this.size = size;
+    }
+
+    @Override
+    public Event get(int index) {
+      if (index < 0 || index >= this.size) {
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + this.size);
+      }
+
+      // No month is empty, so no two months start at the same index
+      int month = Arrays.binarySearch(this.firstIndexes, index);
+      if (month < 0) {
+        month = -month - 2;
+      }
+
+      return this.months.get(month).get(index - this.firstIndexes[month]);
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+      return this.months.stream().flatMap(List::stream).iterator();
+    }
+  }
+}
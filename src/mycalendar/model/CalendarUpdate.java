@@ -0,0 +1,230 @@
+package mycalendar.model;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents a single change made to a calendar, sent to the calendar's listeners. A change either
+ * added events and series, removed them, or updated them by replacing some with others. Listeners
+ * can ask which dates within a range were affected, so that each only reacts to the days which
+ * changed.
+ */
+public final class CalendarUpdate {
+
+  /**
+   * Represents the kinds of changes which can be made to a calendar.
+   */
+  public enum Type {
+    ADDED, REMOVED, UPDATED
+  }
+
+  private final Type type;
+  private final String calendarName;
+  private final List<Event> addedEvents;
+  private final List<Event> removedEvents;
+  private final List<EventSeries> addedSeries;
+  private final List<EventSeries> removedSeries;
+
+  /**
+   * Constructs a change of the given type to the calendar with the given name.
+   *
+   * @param type          the type of the change
+   * @param calendarName  the name of the changed calendar, or null if it is not known
+   * @param addedEvents   the events added by the change
+   * @param removedEvents the events removed by the change
+   * @param addedSeries   the series added by the change
+   * @param removedSeries the series removed by the change
+   */
+  private CalendarUpdate(Type type, String calendarName, List<Event> addedEvents,
+      List<Event> removedEvents, List<EventSeries> addedSeries, List<EventSeries> removedSeries) {
+    this.type = type;
+    this.calendarName = calendarName;
+    this.addedEvents = addedEvents;
+    this.removedEvents = removedEvents;
+    this.addedSeries = addedSeries;
+    this.removedSeries = removedSeries;
+  }
+
+  /**
+   * Creates a change which added the given events and series.
+   *
+   * @param events the added events
+   * @param series the added series
+   * @return a change adding the given events and series
+   */
+  static CalendarUpdate added(List<Event> events, List<EventSeries> series) {
+    return new CalendarUpdate(Type.ADDED, null, List.copyOf(events), List.of(),
+        List.copyOf(series), List.of());
+  }
+
+  /**
+   * Creates a change which removed the given events and series.
+   *
+   * @param events the removed events
+   * @param series the removed series
+   * @return a change removing the given events and series
+   */
+  static CalendarUpdate removed(List<Event> events, List<EventSeries> series) {
+    return new CalendarUpdate(Type.REMOVED, null, List.of(), List.copyOf(events), List.of(),
+        List.copyOf(series));
+  }
+
+  /**
+   * Creates a change which replaced the given old events and series with the given new ones.
+   *
+   * @param oldEvents the events which were replaced
+   * @param newEvents the events they were replaced with
+   * @param oldSeries the series which were replaced
+   * @param newSeries the series they were replaced with
+   * @return a change replacing the given events and series
+   */
+  static CalendarUpdate updated(List<Event> oldEvents, List<Event> newEvents,
+      List<EventSeries> oldSeries, List<EventSeries> newSeries) {
+    return new CalendarUpdate(Type.UPDATED, null, List.copyOf(newEvents), List.copyOf(oldEvents),
+        List.copyOf(newSeries), List.copyOf(oldSeries));
+  }
+
+  /**
+   * Creates a copy of this change made to the calendar with the given name.
+   *
+   * @param calendarName the name of the changed calendar
+   * @return this change labelled with the given calendar name
+   */
+  CalendarUpdate inCalendar(String calendarName) {
+    return new CalendarUpdate(this.type, calendarName, this.addedEvents, this.removedEvents,
+        this.addedSeries, this.removedSeries);
+  }
+
+  /**
+   * Gets the type of this change.
+   *
+   * @return the type of this change
+   */
+  public Type getType() {
+    return this.type;
+  }
+
+  /**
+   * Gets the name of the calendar this change was made to. Only known when the change was made
+   * through a merged calendar.
+   *
+   * @return the name of the changed calendar, or null if it is not known
+   */
+  public String getCalendarName() {
+    return this.calendarName;
+  }
+
+  /**
+   * Gets the events added by this change. For an update, these are the new versions of the
+   * updated events.
+   *
+   * @return the added events
+   */
+  public List<Event> getAddedEvents() {
+    return this.addedEvents;
+  }
+
+  /**
+   * Gets the events removed by this change. For an update, these are the old versions of the
+   * updated events.
+   *
+   * @return the removed events
+   */
+  public List<Event> getRemovedEvents() {
+    return this.removedEvents;
+  }
+
+  /**
+   * Gets the series added by this change. For an update, these are the new versions of the
+   * updated series.
+   *
+   * @return the added series
+   */
+  public List<EventSeries> getAddedSeries() {
+    return this.addedSeries;
+  }
+
+  /**
+   * Gets the series removed by this change. For an update, these are the old versions of the
+   * updated series.
+   *
+   * @return the removed series
+   */
+  public List<EventSeries> getRemovedSeries() {
+    return this.removedSeries;
+  }
+
+  /**
+   * Gets the dates between the given dates inclusive on which this change added or removed an
+   * event, including the occurrences of series. When a series is updated, only the dates on which
+   * its old and new occurrences differ are affected.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the affected dates within the given range in order
+   */
+  public SortedSet<Date> getAffectedDates(Date start, Date end) {
+    SortedSet<Date> affectedDates = new TreeSet<>();
+    if (start.compareTo(end) > 0) {
+      return affectedDates;
+    }
+
+    for (Event event : this.addedEvents) {
+      this.addIfBetween(affectedDates, event.getDate(), start, end);
+    }
+    for (Event event : this.removedEvents) {
+      this.addIfBetween(affectedDates, event.getDate(), start, end);
+    }
+
+    // Occurrences shared by the old and new versions of a series did not change
+    Set<Event> addedOccurrences = new HashSet<>();
+    for (EventSeries series : this.addedSeries) {
+      addedOccurrences.addAll(series.occurrencesBetween(start, end));
+    }
+    Set<Event> removedOccurrences = new HashSet<>();
+    for (EventSeries series : this.removedSeries) {
+      removedOccurrences.addAll(series.occurrencesBetween(start, end));
+    }
+    for (Event occurrence : addedOccurrences) {
+      if (!removedOccurrences.contains(occurrence)) {
+        affectedDates.add(occurrence.getDate());
+      }
+    }
+    for (Event occurrence : removedOccurrences) {
+      if (!addedOccurrences.contains(occurrence)) {
+        affectedDates.add(occurrence.getDate());
+      }
+    }
+
+    return affectedDates;
+  }
+
+  /**
+   * Determines whether or not this change affected any date between the given dates inclusive.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return whether or not this change affected the given range
+   */
+  public boolean affects(Date start, Date end) {
+    return !this.getAffectedDates(start, end).isEmpty();
+  }
+
+  /**
+   * Adds the given date to the given set if it is between the given dates inclusive.
+   *
+   * @param dates the set of dates to add to
+   * @param date  the date to add
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   */
+  private void addIfBetween(Set<Date> dates, Date date, Date start, Date end) {
+    if (date.compareTo(start) >= 0 && date.compareTo(end) <= 0) {
+      dates.add(date);
+    }
+  }
+}
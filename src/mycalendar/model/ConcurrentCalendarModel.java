@@ -0,0 +1,239 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents a calendar which can be safely used from several threads at once. Every method of the
+ * given calendar is called while holding a read/write lock: any number of threads may read the
+ * calendar at the same time, while a thread changing the calendar waits for the readers to finish
+ * and has the calendar to itself until it is done. Every list given out can still be used after
+ * the lock is released: lists read under the lock are copies, while the events, series, and
+ * snapshot of the calendar, and the events within a range of dates, are unmodifiable views of its
+ * current immutable snapshot, read without taking the lock at all, so reading them never waits for
+ * a change to finish. Listeners are told about a change only once the lock has been released, so
+ * they are free to read the calendar.
+ *
+ * <p>Reads always take the read lock rather than reading optimistically, because the indexes of
+ * the calendar are not safe to walk while they are being changed.
+ */
+public class ConcurrentCalendarModel implements CalendarModel {
+
+  private final CalendarModel calendar;
+  private final StampedLock lock;
+  private final List<CalendarListener> listeners;
+  // The changes made while holding the write lock which listeners have not been told about yet
+  private final List<CalendarUpdate> pendingUpdates;
+
+  /**
+   * Constructs a thread-safe view of the given calendar. The given calendar should not be used
+   * directly once it has been wrapped.
+   *
+   * @param calendar the calendar to guard
+   * @throws IllegalArgumentException if the given calendar is null
+   */
+  public ConcurrentCalendarModel(CalendarModel calendar) throws IllegalArgumentException {
+    if (calendar == null) {
+      throw new IllegalArgumentException("Calendar cannot be null.");
+    }
+
+    this.calendar = calendar;
+    this.lock = new StampedLock();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.pendingUpdates = new ArrayList<>();
+    this.calendar.addListener(this.pendingUpdates::add);
+  }
+
+  @Override
+  public List<Event> getEvents() {
+    return this.calendar.getEvents();
+  }
+
+  @Override
+  public CalendarSnapshot snapshot() {
+    return this.calendar.snapshot();
+  }
+
+  @Override
+  public void addListener(CalendarListener listener) {
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(CalendarListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  @Override
+  public boolean contains(Event event) {
+    return this.read(() -> this.calendar.contains(event));
+  }
+
+  @Override
+  public boolean containsSeries(EventSeries series) {
+    return this.read(() -> this.calendar.containsSeries(series));
+  }
+
+  @Override
+  public void addEvent(Event event) throws IllegalArgumentException {
+    this.write(() -> this.calendar.addEvent(event));
+  }
+
+  @Override
+  public void removeEvent(Event event) throws IllegalArgumentException {
+    this.write(() -> this.calendar.removeEvent(event));
+  }
+
+  @Override
+  public void updateEvent(Event event, Event updatedEvent) throws IllegalArgumentException {
+    this.write(() -> this.calendar.updateEvent(event, updatedEvent));
+  }
+
+  @Override
+  public void addAll(List<Event> events) throws IllegalArgumentException {
+    this.write(() -> this.calendar.addAll(events));
+  }
+
+  @Override
+  public List<Event> removeAll(Predicate<Event> filter) {
+    return this.write(() -> this.calendar.removeAll(filter));
+  }
+
+  @Override
+  public void removeAll(Collection<Event> events) throws IllegalArgumentException {
+    this.write(() -> this.calendar.removeAll(events));
+  }
+
+  @Override
+  public CalendarUpdate removeRange(Date start, Date end) throws IllegalArgumentException {
+    return this.write(() -> this.calendar.removeRange(start, end));
+  }
+
+  @Override
+  public List<String> suggestTitles(String prefix, int maxSuggestions)
+      throws IllegalArgumentException {
+    return this.read(() -> this.calendar.suggestTitles(prefix, maxSuggestions));
+  }
+
+  @Override
+  public Event getLatestEventWithTitle(String title) throws IllegalArgumentException {
+    return this.read(() -> this.calendar.getLatestEventWithTitle(title));
+  }
+
+  @Override
+  public List<EventSeries> getSeries() {
+    return this.calendar.getSeries();
+  }
+
+  @Override
+  public void addSeries(EventSeries series) throws IllegalArgumentException {
+    this.write(() -> this.calendar.addSeries(series));
+  }
+
+  @Override
+  public void removeSeries(EventSeries series) throws IllegalArgumentException {
+    this.write(() -> this.calendar.removeSeries(series));
+  }
+
+  @Override
+  public void updateSeries(EventSeries series, EventSeries updatedSeries)
+      throws IllegalArgumentException {
+    this.write(() -> this.calendar.updateSeries(series, updatedSeries));
+  }
+
+  @Override
+  public List<Event> getOccurrencesInRange(Date start, Date end) {
+    List<Event> occurrences = new ArrayList<>();
+    for (EventSeries eventSeries : this.calendar.snapshot().getSeries()) {
+      occurrences.addAll(eventSeries.occurrencesBetween(start, end));
+    }
+
+    return occurrences;
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end) {
+    return this.getEventsInRange(start, end, EnumSet.allOf(EventColor.class));
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors) {
+    return this.calendar.snapshot().getEventsInRange(start, end, colors);
+  }
+
+  @Override
+  public Map<EventColor, Integer> countEventsInRange(Date start, Date end) {
+    return this.calendar.snapshot().countEventsInRange(start, end);
+  }
+
+  @Override
+  public String calendarInfo() {
+    return this.calendar.snapshot().calendarInfo();
+  }
+
+  /**
+   * Gets the result of the given read from the calendar while holding the read lock.
+   *
+   * @param reader the read to make
+   * @param <T>    the type of the result
+   * @return the result of the read
+   */
+  private <T> T read(Supplier<T> reader) {
+    long stamp = this.lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Gets the result of the given change to the calendar while holding the write lock, and then
+   * tells the listeners about the change.
+   *
+   * @param writer the change to make
+   * @param <T>    the type of the result
+   * @return the result of the change
+   */
+  private <T> T write(Supplier<T> writer) {
+    long stamp = this.lock.writeLock();
+    List<CalendarUpdate> updates;
+    T result;
+    try {
+      result = writer.get();
+    } finally {
+      updates = List.copyOf(this.pendingUpdates);
+      this.pendingUpdates.clear();
+      this.lock.unlockWrite(stamp);
+    }
+
+    for (CalendarUpdate update : updates) {
+      for (CalendarListener listener : this.listeners) {
+        listener.calendarChanged(update);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Makes the given change to the calendar while holding the write lock, and then tells the
+   * listeners about the change.
+   *
+   * @param writer the change to make
+   */
+  private void write(Runnable writer) {
+    this.write(() -> {
+      writer.run();
+      return null;
+    });
+  }
+}
@@ -0,0 +1,171 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents an index of events by date. The events of each date are kept in order of start time,
+ * so the events within a range of dates can be found in chronological order without searching
+ * every event.
+ */
+final class DateIndex {
+
+  static final Comparator<Event> CHRONOLOGICAL = Comparator.comparing(Event::getDate)
+      .thenComparing(Event::getStartTime).thenComparing(Event::getEndTime);
+
+  private final TreeMap<Date, List<Event>> eventsByDate;
+
+  /**
+   * Constructs an empty date index.
+   */
+  DateIndex() {
+    this.eventsByDate = new TreeMap<>();
+  }
+
+  /**
+   * Merges the given lists of events, each already in chronological order, into one list in
+   * chronological order without sorting them again: the earliest next event of any list is taken
+   * until every list is used up, breaking ties by the order of the lists. Takes O(n log k) time for
+   * n events in k lists, and a single list which is not empty is returned as it is.
+   *
+   * @param sortedRuns the unchangeable lists of events, each in chronological order
+   * @return every given event in chronological order, which cannot be changed
+   */
+  static List<Event> merge(List<List<Event>> sortedRuns) {
+    List<List<Event>> runs = new ArrayList<>();
+    int numEvents = 0;
+    for (List<Event> run : sortedRuns) {
+      if (!run.isEmpty()) {
+        runs.add(run);
+        numEvents += run.size();
+      }
+    }
+    if (runs.size() <= 1) {
+      return runs.isEmpty() ? List.of() : runs.get(0);
+    }
+
+    PriorityQueue<int[]> heads = new PriorityQueue<>((first, second) -> {
+      int order = CHRONOLOGICAL.compare(runs.get(first[0]).get(first[1]),
+          runs.get(second[0]).get(second[1]));
+      return order != 0 ? order : Integer.compare(first[0], second[0]);
+    });
+    for (int i = 0; i < runs.size(); i++) {
+      heads.add(new int[]{i, 0});
+    }
+
+    List<Event> events = new ArrayList<>(numEvents);
+    while (!heads.isEmpty()) {
+      int[] head = heads.poll();
+      List<Event> run = runs.get(head[0]);
+      events.add(run.get(head[1]));
+
+      if (head[1] + 1 < run.size()) {
+        head[1]++;
+        heads.add(head);
+      }
+    }
+
+    return Collections.unmodifiableList(events);
+  }
+
+  /**
+   * Adds the given event to this index.
+   *
+   * @param event the event to add
+   */
+  void add(Event event) {
+    List<Event> eventsOnDate = this.eventsByDate
+        .computeIfAbsent(event.getDate(), date -> new ArrayList<>());
+
+    int index = Collections.binarySearch(eventsOnDate, event, CHRONOLOGICAL);
+    eventsOnDate.add(index < 0 ? -index - 1 : index, event);
+  }
+
+  /**
+   * Removes the given event from this index. Nothing happens if the event is not in this index.
+   *
+   * @param event the event to remove
+   */
+  void remove(Event event) {
+    Date date = event.getDate();
+    List<Event> eventsOnDate = this.eventsByDate.get(date);
+    if (eventsOnDate == null) {
+      return;
+    }
+
+    eventsOnDate.remove(event);
+    if (eventsOnDate.isEmpty()) {
+      this.eventsByDate.remove(date);
+    }
+  }
+
+  /**
+   * Removes every event taking place between the given dates inclusive from this index.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   */
+  void removeBetween(Date start, Date end) {
+    if (start.compareTo(end) <= 0) {
+      this.eventsByDate.subMap(start, true, end, true).clear();
+    }
+  }
+
+  /**
+   * Determines whether or not this index contains an event identical to the given event. Only the
+   * events on the date of the given event are checked.
+   *
+   * @param event the event to look for
+   * @return whether or not this index contains an event identical to the given event
+   */
+  boolean contains(Event event) {
+    List<Event> eventsOnDate = this.eventsByDate.get(event.getDate());
+    return eventsOnDate != null && eventsOnDate.contains(event);
+  }
+
+  /**
+   * Counts the events taking place between the given dates inclusive. Only the number of events on
+   * each date is visited, not the events themselves.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the number of events within the given range
+   */
+  int countBetween(Date start, Date end) {
+    if (start.compareTo(end) > 0) {
+      return 0;
+    }
+
+    int count = 0;
+    for (List<Event> eventsOnDate : this.eventsByDate.subMap(start, true, end, true).values()) {
+      count += eventsOnDate.size();
+    }
+
+    return count;
+  }
+
+  /**
+   * Gets the events taking place between the given dates inclusive, in chronological order.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the events within the given range in chronological order
+   */
+  List<Event> eventsBetween(Date start, Date end) {
+    List<Event> events = new ArrayList<>();
+    if (start.compareTo(end) > 0) {
+      return events;
+    }
+
+    for (List<Event> eventsOnDate : this.eventsByDate.subMap(start, true, end, true).values()) {
+      events.addAll(eventsOnDate);
+    }
+
+    return events;
+  }
+}
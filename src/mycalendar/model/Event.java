@@ -7,7 +7,11 @@ import mycalendar.model.dateandtime.Time;
 /**
  * Represents an event in a calendar. A calendar event has a date, a start time, an end time, a
  * title, a description, and a color. The start time is always chronologically before or the same as
- * the end time (this is checked and ensured by the constructors and methods).
+ * the end time (this is checked and ensured by the constructors). An event can also be one
+ * occurrence of an {@link EventSeries}.
+ *
+ * <p>Events are immutable: a changed event is a new event replacing the old one. Calendars hash
+ * their events into several indexes, so an event must never change once it is in a calendar.
  */
 public final class Event {
 
@@ -17,10 +21,13 @@ public final class Event {
   private final Time startTime;
   private final Time endTime;
 
-  private String title;
-  private String description;
+  private final String title;
+  private final String description;
 
-  private EventColor color;
+  private final EventColor color;
+
+  // The series this event is an occurrence of (null if this event is not part of a series)
+  private final EventSeries series;
 
   /**
    * Constructs a new event with the given date, start/end times, title, description, and color.
@@ -31,20 +38,53 @@ public final class Event {
    * @param title       the title of this event
    * @param description the description of this event
    * @param color       the color to mark this event as in the calendar
-   * @throws IllegalArgumentException if the end time is chronologically before the start time
+   * @throws IllegalArgumentException if the end time is chronologically before the start time, or
+   *                                  if the title or the description is, or has a line which is,
+   *                                  the string "-------------------------------------"
    */
   public Event(Date date, Time startTime, Time endTime, String title, String description,
       EventColor color) throws IllegalArgumentException {
     if (startTime.after(endTime)) {
       throw new IllegalArgumentException("Error: start date/time must be before end date/time.");
     }
+    // The section break separates the fields of an event in a calendar file, so neither the title
+    // nor the description can hold one, or the file could not be read back
+    if (hasSectionBreak(title)) {
+      throw new IllegalArgumentException(
+          "Title cannot be \"-------------------------------------\".");
+    }
+    if (hasSectionBreak(description)) {
+      throw new IllegalArgumentException(
+          "Description cannot be \"-------------------------------------\".");
+    }
 
-    this.date = date;
-    this.startTime = startTime;
-    this.endTime = endTime;
+    // The date and times are copied, as the given ones can still be changed by the caller
+    this.date = new Date(date);
+    this.startTime = new Time(startTime);
+    this.endTime = new Time(endTime);
     this.title = title;
     this.description = description;
     this.color = color;
+    this.series = null;
+  }
+
+  /**
+   * Constructs an occurrence of the given series on the given date. The occurrence has the times,
+   * title, description, and color of the first event of the series.
+   *
+   * @param series the series the event is an occurrence of
+   * @param date   the date of the occurrence
+   */
+  Event(EventSeries series, Date date) {
+    Event template = series.getTemplate();
+
+    this.date = new Date(date);
+    this.startTime = template.getStartTime();
+    this.endTime = template.getEndTime();
+    this.title = template.title;
+    this.description = template.description;
+    this.color = template.color;
+    this.series = series;
   }
 
   /**
@@ -141,69 +181,26 @@ public final class Event {
   }
 
   /**
-   * Sets the date of this event to the given date.
+   * Determines whether or not this event is an occurrence of an event series.
    *
-   * @param newDate the new date of this event
+   * @return whether or not this event is an occurrence of an event series
    */
-  public void setDate(Date newDate) {
-    this.date.setDate(newDate);
+  public boolean isRecurring() {
+    return this.series != null;
   }
 
   /**
-   * Sets the start time of this event to the given start time.
+   * Gets the series this event is an occurrence of.
    *
-   * @param newStartTime the new start time
-   * @param newEndTime   the new end time
-   * @throws IllegalArgumentException if the new end time is chronologically before the new start
-   *                                  time
+   * @return the series this event is an occurrence of
+   * @throws IllegalStateException if this event is not an occurrence of an event series
    */
-  public void setStartAndEndTimes(Time newStartTime, Time newEndTime)
-      throws IllegalArgumentException {
-    if (newEndTime.before(newStartTime)) {
-      throw new IllegalArgumentException("Given end time cannot be before given end time");
+  public EventSeries getSeries() throws IllegalStateException {
+    if (this.series == null) {
+      throw new IllegalStateException("This event is not part of a series.");
     }
 
-    this.startTime.setTime(newStartTime);
-    this.endTime.setTime(newEndTime);
-  }
-
-  /**
-   * Sets the title of this event to the given title.
-   *
-   * @param title the new title
-   * @throws IllegalArgumentException if the title is the string "-------------------------------------"
-   */
-  public void setTitle(String title) throws IllegalArgumentException {
-    if (title.equals("-------------------------------------")) {
-      throw new IllegalArgumentException(
-          "Title cannot be \"-------------------------------------\".");
-    }
-
-    this.title = title;
-  }
-
-  /**
-   * Sets the description of this event to the given description.
-   *
-   * @param description the new description
-   * @throws IllegalArgumentException if the description is the string "-------------------------------------"
-   */
-  public void setDescription(String description) throws IllegalArgumentException {
-    if (description.equals("-------------------------------------")) {
-      throw new IllegalArgumentException(
-          "Description cannot be \"-------------------------------------\".");
-    }
-
-    this.description = description;
-  }
-
-  /**
-   * Sets the color of this event to the given color.
-   *
-   * @param color the new color
-   */
-  public void setColor(EventColor color) {
-    this.color = color;
+    return this.series;
   }
 
   @Override
@@ -260,4 +257,15 @@ public final class Event {
     eventStr = eventStr.concat("-------------------------------------\n");
     return eventStr;
   }
+
+  /**
+   * Determines whether or not the given text, or any line of it, is the section break used in
+   * calendar files.
+   *
+   * @param text the text to check
+   * @return whether or not the text holds a section break
+   */
+  private static boolean hasSectionBreak(String text) {
+    return text != null && text.lines().anyMatch("-------------------------------------"::equals);
+  }
 }
@@ -0,0 +1,143 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents a series of repeating events stored as a single record. A series has a first event,
+ * whose date is the start of the series and whose times, title, description, and color are shared
+ * by every event of the series, and a rule describing on which dates the series repeats. The events
+ * of a series are only created for the ranges of dates they are requested for.
+ */
+public final class EventSeries {
+
+  private final Event template;
+  private final RecurrenceRule rule;
+
+  /**
+   * Constructs a series starting with the given event and repeating according to the given rule.
+   *
+   * @param template the first event of the series
+   * @param rule     the rule describing on which dates the series repeats
+   * @throws IllegalArgumentException if the given event is itself an occurrence of a series, or if
+   *                                  the series repeats monthly on a day of the week and the week
+   *                                  of the month does not match the date of the given event
+   */
+  public EventSeries(Event template, RecurrenceRule rule) throws IllegalArgumentException {
+    if (template.isRecurring()) {
+      throw new IllegalArgumentException("A series cannot start with an event of another series.");
+    }
+
+    if (rule.getFrequency() == RecurrenceFrequency.MonthlyOnWeekday) {
+      Date date = template.getDate();
+      boolean lastWeek = date.getDay() + 7
+          > CalendarMath.modelDateToLocalDate(date).lengthOfMonth();
+      boolean matchingWeek = (rule.getWeekOfMonth() == RecurrenceRule.LAST_WEEK)
+          ? lastWeek : rule.getWeekOfMonth() == (date.getDay() - 1) / 7 + 1;
+
+      if (!matchingWeek) {
+        throw new IllegalArgumentException(
+            "The week of the month must match the date of the first event.");
+      }
+    }
+
+    this.template = template;
+    this.rule = rule;
+  }
+
+  /**
+   * Gets the occurrences of this series taking place between the given dates inclusive, in
+   * chronological order.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the occurrences of this series within the given range
+   */
+  public List<Event> occurrencesBetween(Date start, Date end) {
+    List<Event> occurrences = new ArrayList<>();
+    for (Date date : this.rule.datesBetween(this.template.getDate(), start, end)) {
+      occurrences.add(new Event(this, date));
+    }
+
+    return occurrences;
+  }
+
+  /**
+   * Counts the occurrences of this series taking place between the given dates inclusive without
+   * creating them.
+   *
+   * @param start the first date of the range
+   * @param end   the last date of the range
+   * @return the number of occurrences of this series within the given range
+   */
+  public int countBetween(Date start, Date end) {
+    return this.rule.datesBetween(this.template.getDate(), start, end).size();
+  }
+
+  /**
+   * Creates a copy of this series which does not take place on the given date.
+   *
+   * @param date the date to exclude from the series
+   * @return a copy of this series excluding the given date
+   */
+  public EventSeries withException(Date date) {
+    return new EventSeries(this.template, this.rule.withException(date));
+  }
+
+  /**
+   * Creates a copy of this series which does not take place on any of the given dates.
+   *
+   * @param dates the dates to exclude from the series
+   * @return a copy of this series excluding the given dates
+   */
+  public EventSeries withExceptions(Collection<Date> dates) {
+    return new EventSeries(this.template, this.rule.withExceptions(dates));
+  }
+
+  /**
+   * Gets the first event of this series.
+   *
+   * @return the first event of this series
+   */
+  public Event getTemplate() {
+    return this.template;
+  }
+
+  /**
+   * Gets the rule describing on which dates this series repeats.
+   *
+   * @return the rule of this series
+   */
+  public RecurrenceRule getRule() {
+    return this.rule;
+  }
+
+  /**
+   * Outputs a formatted string representation of this series containing the data of its first
+   * event followed by its rule.
+   *
+   * @return a formatted string representation of this series
+   */
+  @Override
+  public String toString() {
+    return this.template.toString() + this.rule.toString()
+        + "-------------------------------------\n";
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof EventSeries)) {
+      return false;
+    }
+
+    return this.toString().equals(obj.toString());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.toString());
+  }
+}
@@ -0,0 +1,506 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents several named calendars shown together as one. Reading from this calendar reads from
+ * every calendar within it: the events within a range of dates are found by merging the events of
+ * each calendar, which are already in chronological order, without sorting them again. New events
+ * and series are added to the chosen target calendar, and existing events and series are changed
+ * within the calendar they belong to.
+ *
+ * <p>This calendar can be used from several threads at once. Each calendar added to it is guarded
+ * by its own read/write lock, and the set of calendars is replaced as a whole rather than changed
+ * in place, so reading never waits on a calendar being shown or hidden. A single call is atomic
+ * within each calendar but not across calendars.
+ *
+ * <p>Listeners of this calendar are told about the changes made to each calendar within it, with
+ * the name of the changed calendar. Showing or hiding a calendar is not sent as a change.
+ */
+public class MergedCalendarModel implements CalendarModel {
+
+  // Replaced rather than changed so that readers never see a calendar being added or removed
+  private volatile Map<String, CalendarModel> calendars;
+  private volatile String targetName;
+  private final List<CalendarListener> listeners;
+  // The listener added to each calendar which passes its changes on to this calendar's listeners
+  private final Map<String, CalendarListener> forwarders;
+  // The last combined snapshot, reused until a calendar's snapshot changes (null until the first)
+  private volatile CombinedSnapshot lastSnapshot;
+
+  /**
+   * Constructs a merged calendar containing no calendars.
+   */
+  public MergedCalendarModel() {
+    this.calendars = new LinkedHashMap<>();
+    this.targetName = null;
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.forwarders = new HashMap<>();
+    this.lastSnapshot = null;
+  }
+
+  /**
+   * Adds the given calendar under the given name. If there is no target calendar, the given
+   * calendar becomes the target calendar. The given calendar is guarded by a lock so that it can be
+   * used from several threads, so it should only be used through this merged calendar afterwards.
+   *
+   * @param name     the name of the calendar
+   * @param calendar the calendar to add
+   * @throws IllegalArgumentException if a calendar with the given name has already been added
+   */
+  public synchronized void addCalendar(String name, CalendarModel calendar)
+      throws IllegalArgumentException {
+    if (this.calendars.containsKey(name)) {
+      throw new IllegalArgumentException("Calendar \"" + name + "\" is already shown.");
+    }
+
+    CalendarModel guardedCalendar = calendar instanceof ConcurrentCalendarModel
+        ? calendar : new ConcurrentCalendarModel(calendar);
+    CalendarListener forwarder = update -> {
+      CalendarUpdate namedUpdate = update.inCalendar(name);
+      for (CalendarListener listener : this.listeners) {
+        listener.calendarChanged(namedUpdate);
+      }
+    };
+    guardedCalendar.addListener(forwarder);
+    this.forwarders.put(name, forwarder);
+
+    Map<String, CalendarModel> calendars = new LinkedHashMap<>(this.calendars);
+    calendars.put(name, guardedCalendar);
+    this.calendars = calendars;
+    if (this.targetName == null) {
+      this.targetName = name;
+    }
+  }
+
+  /**
+   * Removes the calendar with the given name. If it was the target calendar, the first remaining
+   * calendar becomes the target calendar.
+   *
+   * @param name the name of the calendar to remove
+   * @return the removed calendar
+   * @throws IllegalArgumentException if no calendar has the given name
+   */
+  public synchronized CalendarModel removeCalendar(String name) throws IllegalArgumentException {
+    CalendarModel calendar = this.getCalendar(name);
+    calendar.removeListener(this.forwarders.remove(name));
+    Map<String, CalendarModel> calendars = new LinkedHashMap<>(this.calendars);
+    calendars.remove(name);
+    this.calendars = calendars;
+
+    if (name.equals(this.targetName)) {
+      this.targetName = this.calendars.isEmpty()
+          ? null : this.calendars.keySet().iterator().next();
+    }
+
+    return calendar;
+  }
+
+  /**
+   * Gets the calendar with the given name.
+   *
+   * @param name the name of the calendar
+   * @return the calendar with the given name
+   * @throws IllegalArgumentException if no calendar has the given name
+   */
+  public CalendarModel getCalendar(String name) throws IllegalArgumentException {
+    CalendarModel calendar = this.calendars.get(name);
+    if (calendar == null) {
+      throw new IllegalArgumentException("Calendar \"" + name + "\" is not shown.");
+    }
+
+    return calendar;
+  }
+
+  /**
+   * Gets the names of the calendars in this merged calendar in the order they were added.
+   *
+   * @return the names of the calendars
+   */
+  public List<String> getCalendarNames() {
+    return new ArrayList<>(this.calendars.keySet());
+  }
+
+  /**
+   * Gets the name of the calendar new events and series are added to.
+   *
+   * @return the name of the target calendar, or null if this merged calendar contains no calendars
+   */
+  public String getTargetCalendar() {
+    return this.targetName;
+  }
+
+  /**
+   * Sets the calendar new events and series are added to.
+   *
+   * @param name the name of the target calendar
+   * @throws IllegalArgumentException if no calendar has the given name
+   */
+  public synchronized void setTargetCalendar(String name) throws IllegalArgumentException {
+    this.getCalendar(name);
+    this.targetName = name;
+  }
+
+  /**
+   * Gets the name of the calendar containing the given event.
+   *
+   * @param event the event
+   * @return the name of the calendar containing the given event
+   * @throws IllegalArgumentException if no calendar contains the given event
+   */
+  public String calendarOf(Event event) throws IllegalArgumentException {
+    for (Map.Entry<String, CalendarModel> entry : this.calendars.entrySet()) {
+      if (entry.getValue().contains(event)) {
+        return entry.getKey();
+      }
+    }
+
+    throw new IllegalArgumentException("The given event does not exist in any shown calendar.");
+  }
+
+  /**
+   * Gets the name of the calendar containing the given series.
+   *
+   * @param series the series
+   * @return the name of the calendar containing the given series
+   * @throws IllegalArgumentException if no calendar contains the given series
+   */
+  public String calendarOfSeries(EventSeries series) throws IllegalArgumentException {
+    for (Map.Entry<String, CalendarModel> entry : this.calendars.entrySet()) {
+      if (entry.getValue().containsSeries(series)) {
+        return entry.getKey();
+      }
+    }
+
+    throw new IllegalArgumentException("The given series does not exist in any shown calendar.");
+  }
+
+  @Override
+  public List<Event> getEvents() {
+    return this.snapshot().getEvents();
+  }
+
+  /**
+   * Gets a snapshot combining the current snapshot of each calendar. Months with events in only one
+   * calendar are shared with that calendar's snapshot rather than copied. A calendar which has not
+   * changed gives back the same snapshot, so the combined snapshot is only made again once one of
+   * the calendars has changed or a calendar has been shown or hidden.
+   *
+   * @return the current snapshot of every calendar combined
+   */
+  @Override
+  public CalendarSnapshot snapshot() {
+    List<CalendarSnapshot> snapshots = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      snapshots.add(calendar.snapshot());
+    }
+
+    CombinedSnapshot last = this.lastSnapshot;
+    if (last != null && last.isMadeFrom(snapshots)) {
+      return last.snapshot;
+    }
+
+    // Threads racing to combine the same snapshots make equal snapshots
+    CalendarSnapshot snapshot = CalendarSnapshot.merge(snapshots);
+    this.lastSnapshot = new CombinedSnapshot(snapshots, snapshot);
+    return snapshot;
+  }
+
+  @Override
+  public void addListener(CalendarListener listener) {
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(CalendarListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  @Override
+  public boolean contains(Event event) {
+    for (CalendarModel calendar : this.calendars.values()) {
+      if (calendar.contains(event)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public boolean containsSeries(EventSeries series) {
+    for (CalendarModel calendar : this.calendars.values()) {
+      if (calendar.containsSeries(series)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void addEvent(Event event) throws IllegalArgumentException {
+    this.target().addEvent(event);
+  }
+
+  @Override
+  public void removeEvent(Event event) throws IllegalArgumentException {
+    this.getCalendar(this.calendarOf(event)).removeEvent(event);
+  }
+
+  @Override
+  public void updateEvent(Event event, Event updatedEvent) throws IllegalArgumentException {
+    this.getCalendar(this.calendarOf(event)).updateEvent(event, updatedEvent);
+  }
+
+  @Override
+  public void addAll(List<Event> events) throws IllegalArgumentException {
+    this.target().addAll(events);
+  }
+
+  @Override
+  public List<Event> removeAll(Predicate<Event> filter) {
+    List<Event> removedEvents = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      removedEvents.addAll(calendar.removeAll(filter));
+    }
+
+    return removedEvents;
+  }
+
+  @Override
+  public void removeAll(Collection<Event> events) throws IllegalArgumentException {
+    // Every event is found before any calendar is changed
+    Map<String, List<Event>> eventsByCalendar = new LinkedHashMap<>();
+    for (Event event : events) {
+      eventsByCalendar.computeIfAbsent(this.calendarOf(event), name -> new ArrayList<>())
+          .add(event);
+    }
+
+    for (Map.Entry<String, List<Event>> entry : eventsByCalendar.entrySet()) {
+      this.getCalendar(entry.getKey()).removeAll(entry.getValue());
+    }
+  }
+
+  @Override
+  public CalendarUpdate removeRange(Date start, Date end) throws IllegalArgumentException {
+    if (start.compareTo(end) > 0) {
+      throw new IllegalArgumentException("Start date must not be after end date.");
+    }
+
+    List<Event> removedEvents = new ArrayList<>();
+    List<EventSeries> oldSeries = new ArrayList<>();
+    List<EventSeries> newSeries = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      CalendarUpdate update = calendar.removeRange(start, end);
+      removedEvents.addAll(update.getRemovedEvents());
+      oldSeries.addAll(update.getRemovedSeries());
+      newSeries.addAll(update.getAddedSeries());
+    }
+
+    return CalendarUpdate.updated(removedEvents, List.of(), oldSeries, newSeries);
+  }
+
+  @Override
+  public List<String> suggestTitles(String prefix, int maxSuggestions)
+      throws IllegalArgumentException {
+    List<List<String>> suggestionsByCalendar = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      suggestionsByCalendar.add(calendar.suggestTitles(prefix, maxSuggestions));
+    }
+
+    // Take each calendar's best remaining suggestion in turn, skipping titles already suggested
+    Set<String> seenTitles = new LinkedHashSet<>();
+    List<String> suggestions = new ArrayList<>();
+    for (int rank = 0; rank < maxSuggestions && suggestions.size() < maxSuggestions; rank++) {
+      for (List<String> calendarSuggestions : suggestionsByCalendar) {
+        if (rank < calendarSuggestions.size() && suggestions.size() < maxSuggestions) {
+          String title = calendarSuggestions.get(rank);
+          if (seenTitles.add(title.toLowerCase())) {
+            suggestions.add(title);
+          }
+        }
+      }
+    }
+
+    return suggestions;
+  }
+
+  @Override
+  public Event getLatestEventWithTitle(String title) throws IllegalArgumentException {
+    // Prefer the calendar new events are added to
+    if (this.targetName != null) {
+      try {
+        return this.target().getLatestEventWithTitle(title);
+      } catch (IllegalArgumentException ignored) {
+        // Not in the target calendar, so check the others
+      }
+    }
+
+    for (CalendarModel calendar : this.calendars.values()) {
+      try {
+        return calendar.getLatestEventWithTitle(title);
+      } catch (IllegalArgumentException ignored) {
+        // Not in this calendar
+      }
+    }
+
+    throw new IllegalArgumentException("No event has the title \"" + title + "\".");
+  }
+
+  @Override
+  public List<EventSeries> getSeries() {
+    return this.snapshot().getSeries();
+  }
+
+  @Override
+  public void addSeries(EventSeries series) throws IllegalArgumentException {
+    this.target().addSeries(series);
+  }
+
+  @Override
+  public void removeSeries(EventSeries series) throws IllegalArgumentException {
+    this.getCalendar(this.calendarOfSeries(series)).removeSeries(series);
+  }
+
+  @Override
+  public void updateSeries(EventSeries series, EventSeries updatedSeries)
+      throws IllegalArgumentException {
+    this.getCalendar(this.calendarOfSeries(series)).updateSeries(series, updatedSeries);
+  }
+
+  @Override
+  public List<Event> getOccurrencesInRange(Date start, Date end) {
+    List<Event> occurrences = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      occurrences.addAll(calendar.getOccurrencesInRange(start, end));
+    }
+
+    return occurrences;
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end) {
+    return this.getEventsInRange(start, end, EnumSet.allOf(EventColor.class));
+  }
+
+  @Override
+  public List<Event> getEventsInRange(Date start, Date end, Set<EventColor> colors) {
+    List<List<Event>> sortedRuns = new ArrayList<>();
+    for (CalendarModel calendar : this.calendars.values()) {
+      sortedRuns.add(calendar.getEventsInRange(start, end, colors));
+    }
+
+    // Ties are broken by the order of the calendars
+    return DateIndex.merge(sortedRuns);
+  }
+
+  @Override
+  public Map<EventColor, Integer> countEventsInRange(Date start, Date end) {
+    Map<EventColor, Integer> counts = new EnumMap<>(EventColor.class);
+    for (EventColor color : EventColor.values()) {
+      counts.put(color, 0);
+    }
+
+    for (CalendarModel calendar : this.calendars.values()) {
+      for (Map.Entry<EventColor, Integer> entry : calendar.countEventsInRange(start, end)
+          .entrySet()) {
+        counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+      }
+    }
+
+    return counts;
+  }
+
+  /**
+   * Outputs the information of each calendar one after another. The result can be read in using
+   * the {@link CalendarReader} class as a single calendar containing every event and series.
+   *
+   * @return a formatted string representation of every calendar
+   */
+  @Override
+  public String calendarInfo() {
+    StringBuilder builder = new StringBuilder();
+    for (CalendarModel calendar : this.calendars.values()) {
+      String info = calendar.calendarInfo();
+      if (!info.isEmpty()) {
+        if (builder.length() > 0) {
+          builder.append("\n");
+        }
+        builder.append(info);
+      }
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Gets the calendar new events and series are added to.
+   *
+   * @return the target calendar
+   * @throws IllegalArgumentException if this merged calendar contains no calendars
+   */
+  private CalendarModel target() throws IllegalArgumentException {
+    String name = this.targetName;
+    CalendarModel calendar = name == null ? null : this.calendars.get(name);
+    if (calendar == null) {
+      throw new IllegalArgumentException("No calendar is shown to add events to.");
+    }
+
+    return calendar;
+  }
+
+  /**
+   * Represents a snapshot combining the snapshots of several calendars, along with the snapshots it
+   * was made from. Immutable.
+   */
+  private static final class CombinedSnapshot {
+
+    private final List<CalendarSnapshot> parts;
+    private final CalendarSnapshot snapshot;
+
+    /**
+     * Constructs a combined snapshot.
+     *
+     * @param parts    the snapshot of each calendar, in the order of the calendars
+     * @param snapshot the snapshots combined into one
+     */
+    private CombinedSnapshot(List<CalendarSnapshot> parts, CalendarSnapshot snapshot) {
+      this.parts = List.copyOf(parts);
+      this.snapshot = snapshot;
+    }
+
+    /**
+     * Determines whether or not this snapshot was made from exactly the given snapshots. Snapshots
+     * never change, so they are compared by identity.
+     *
+     * @param parts the snapshot of each calendar, in the order of the calendars
+     * @return whether or not this snapshot combines the given snapshots
+     */
+    private boolean isMadeFrom(List<CalendarSnapshot> parts) {
+      if (parts.size() != this.parts.size()) {
+        return false;
+      }
+
+      for (int i = 0; i < parts.size(); i++) {
+        if (parts.get(i) != this.parts.get(i)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an unchangeable map from the months within the calendar's range of dates to values,
+ * kept as a shallow trie of fixed-size nodes. A new version with one month changed copies only the
+ * few nodes on the path to that month and shares every other node with the version it was made
+ * from, so changing a month costs the same however many months have values.
+ *
+ * @param <V> the type of the value of each month
+ */
+final class MonthTrie<V> {
+
+  // Each node splits the months by 5 bits of their index, and 3 levels cover 32,768 months
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final int LEVELS = 3;
+  // The key of the first month which can be held, January 1900
+  private static final int FIRST_MONTH = 1900 * 12;
+
+  private static final MonthTrie<?> EMPTY = new MonthTrie<>(new Object[WIDTH], 0);
+
+  private final Object[] root;
+  private final int size;
+
+  /**
+   * Constructs a trie with the given root node.
+   *
+   * @param root the root node, which may not be changed afterwards
+   * @param size the number of months with a value
+   */
+  private MonthTrie(Object[] root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Gets the trie without any months.
+   *
+   * @param <V> the type of the value of each month
+   * @return an empty trie
+   */
+  @SuppressWarnings("unchecked")
+  static <V> MonthTrie<V> empty() {
+    return (MonthTrie<V>) EMPTY;
+  }
+
+  /**
+   * Gets the number of months with a value.
+   *
+   * @return the number of months in this trie
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the value of the given month.
+   *
+   * @param month the number of months from the start of year 0 to the month
+   * @return the value of the month, or null if it has none
+   * @throws IllegalArgumentException if the month is outside the calendar's range of dates
+   */
+  @SuppressWarnings("unchecked")
+  V get(int month) throws IllegalArgumentException {
+    int index = indexOf(month);
+    Object[] node = this.root;
+    for (int level = LEVELS - 1; level > 0; level--) {
+      node = (Object[]) node[(index >>> (level * BITS)) & MASK];
+      if (node == null) {
+        return null;
+      }
+    }
+
+    return (V) node[index & MASK];
+  }
+
+  /**
+   * Creates a new version of this trie with the given value for the given month. Only the nodes on
+   * the path to the month are copied.
+   *
+   * @param month the number of months from the start of year 0 to the month
+   * @param value the new value of the month, or null to remove the month
+   * @return the new version of this trie
+   * @throws IllegalArgumentException if the month is outside the calendar's range of dates
+   */
+  MonthTrie<V> with(int month, V value) throws IllegalArgumentException {
+    int index = indexOf(month);
+    boolean hadValue = this.get(month) != null;
+    if (!hadValue && value == null) {
+      return this;
+    }
+
+    Object[] newRoot = this.root.clone();
+    Object[] node = newRoot;
+    for (int level = LEVELS - 1; level > 0; level--) {
+      int slot = (index >>> (level * BITS)) & MASK;
+      Object[] child = (Object[]) node[slot];
+      child = child == null ? new Object[WIDTH] : child.clone();
+      node[slot] = child;
+      node = child;
+    }
+    node[index & MASK] = value;
+
+    return new MonthTrie<>(newRoot, this.size + (value != null ? 1 : 0) - (hadValue ? 1 : 0));
+  }
+
+  /**
+   * Gets the values of the months between the given months inclusive, in order. Only the nodes
+   * holding months within the range are visited.
+   *
+   * @param first the first month of the range
+   * @param last  the last month of the range
+   * @return the values of the months within the range in order
+   * @throws IllegalArgumentException if either month is outside the calendar's range of dates
+   */
+  List<V> valuesBetween(int first, int last) throws IllegalArgumentException {
+    List<V> values = new ArrayList<>();
+    int firstIndex = indexOf(first);
+    int lastIndex = indexOf(last);
+    if (firstIndex <= lastIndex) {
+      this.collect(this.root, LEVELS - 1, 0, firstIndex, lastIndex, values);
+    }
+
+    return values;
+  }
+
+  /**
+   * Gets the values of every month, in order.
+   *
+   * @return the values of every month in order
+   */
+  List<V> values() {
+    List<V> values = new ArrayList<>(this.size);
+    this.collect(this.root, LEVELS - 1, 0, 0, (1 << (LEVELS * BITS)) - 1, values);
+    return values;
+  }
+
+  /**
+   * Adds the values of the months under the given node whose indexes are within the given range to
+   * the given list, in order.
+   *
+   * @param node       the node to visit
+   * @param level      the level of the node, 0 for the nodes holding values
+   * @param base       the index of the first month under the node
+   * @param firstIndex the index of the first month of the range
+   * @param lastIndex  the index of the last month of the range
+   * @param values     the list to add the values to
+   */
+  @SuppressWarnings("unchecked")
+  private void collect(Object[] node, int level, int base, int firstIndex, int lastIndex,
+      List<V> values) {
+    int span = 1 << (level * BITS);
+    int firstSlot = Math.max((firstIndex - base) / span, 0);
+    int lastSlot = Math.min((lastIndex - base) / span, MASK);
+    for (int slot = firstSlot; slot <= lastSlot; slot++) {
+      Object child = node[slot];
+      if (child == null) {
+        continue;
+      }
+
+      if (level == 0) {
+        values.add((V) child);
+      } else {
+        this.collect((Object[]) child, level - 1, base + slot * span, firstIndex, lastIndex,
+            values);
+      }
+    }
+  }
+
+  /**
+   * Gets the index within the trie of the given month.
+   *
+   * @param month the number of months from the start of year 0 to the month
+   * @return the index of the month
+   * @throws IllegalArgumentException if the month is outside the calendar's range of dates
+   */
+  private static int indexOf(int month) throws IllegalArgumentException {
+    int index = month - FIRST_MONTH;
+    if (index < 0 || index >= 1 << (LEVELS * BITS)) {
+      throw new IllegalArgumentException("Month is outside the range of the calendar.");
+    }
+
+    return index;
+  }
+}
@@ -0,0 +1,29 @@
+package mycalendar.model;
+
+/**
+ * Represents how often the events in an event series repeat.
+ */
+public enum RecurrenceFrequency {
+  Daily("Daily"), Weekly("Weekly"), MonthlyOnDay("Monthly on day"),
+  MonthlyOnWeekday("Monthly on weekday");
+
+  private final String displayName;
+
+  /**
+   * Constructs a frequency with the given name to show the user.
+   *
+   * @param displayName the name of the frequency to show the user
+   */
+  RecurrenceFrequency(String displayName) {
+    this.displayName = displayName;
+  }
+
+  /**
+   * Gets the name of this frequency to show the user.
+   *
+   * @return the name of this frequency to show the user
+   */
+  public String getDisplayName() {
+    return this.displayName;
+  }
+}
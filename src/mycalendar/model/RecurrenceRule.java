@@ -0,0 +1,400 @@
+package mycalendar.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import mycalendar.model.dateandtime.Date;
+import mycalendar.model.dateandtime.DayOfWeek;
+
+/**
+ * Represents the rule describing on which dates the events of an event series take place. A series
+ * can repeat daily, weekly on chosen days of the week, monthly on the day of the month of its first
+ * event, or monthly on the nth (or last) day of the week of its first event. A series can end on a
+ * date or after a number of events, and individual dates can be excluded from the series.
+ *
+ * <p>Excluded dates still count towards the number of events in a series which ends after a
+ * number of events.
+ */
+public final class RecurrenceRule {
+
+  // Represents the last week of the month for series repeating monthly on a day of the week
+  public static final int LAST_WEEK = -1;
+
+  private final RecurrenceFrequency frequency;
+  private final Set<DayOfWeek> weekdays;
+  private final int weekOfMonth;
+
+  // INVARIANT: At most one of endDate (null if none) and count (0 if none) is set
+  private final Date endDate;
+  private final int count;
+
+  private final Set<Date> exceptions;
+
+  /**
+   * Constructs a recurrence rule.
+   *
+   * @param frequency   how often the series repeats
+   * @param weekdays    the days of the week the series takes place on (only used by weekly
+   *                    series)
+   * @param weekOfMonth the week of the month (1 to 4, or {@link #LAST_WEEK}) the series takes place
+   *                    in (only used by series repeating monthly on a day of the week)
+   * @param endDate     the last date the series can take place on, or null if it does not end on a
+   *                    date
+   * @param count       the number of events in the series, or 0 if it does not end after a number
+   *                    of events
+   * @param exceptions  the dates excluded from the series
+   * @throws IllegalArgumentException if a weekly series has no days of the week, if the week of the
+   *                                  month is invalid for a series repeating monthly on a day of
+   *                                  the week, if the count is negative, or if both an end date and
+   *                                  a count are given
+   */
+  public RecurrenceRule(RecurrenceFrequency frequency, Set<DayOfWeek> weekdays, int weekOfMonth,
+      Date endDate, int count, Set<Date> exceptions) throws IllegalArgumentException {
+    if (frequency == RecurrenceFrequency.Weekly && weekdays.isEmpty()) {
+      throw new IllegalArgumentException("A weekly series must take place on at least one day.");
+    }
+
+    if (frequency == RecurrenceFrequency.MonthlyOnWeekday
+        && (weekOfMonth < 1 || weekOfMonth > 4) && weekOfMonth != LAST_WEEK) {
+      throw new IllegalArgumentException("Week of the month must be between 1 and 4 or the last.");
+    }
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Number of events in a series cannot be negative.");
+    }
+
+    if (endDate != null && count > 0) {
+      throw new IllegalArgumentException("A series can end on a date or after a number of events, "
+          + "but not both.");
+    }
+
+    this.frequency = frequency;
+    this.weekdays = weekdays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekdays);
+    this.weekOfMonth = weekOfMonth;
+    this.endDate = (endDate == null) ? null : new Date(endDate);
+    this.count = count;
+    this.exceptions = new TreeSet<>();
+    for (Date exception : exceptions) {
+      this.exceptions.add(new Date(exception));
+    }
+  }
+
+  /**
+   * Creates a copy of this rule which also excludes the given date.
+   *
+   * @param date the date to exclude
+   * @return a copy of this rule excluding the given date
+   */
+  public RecurrenceRule withException(Date date) {
+    return this.withExceptions(List.of(date));
+  }
+
+  /**
+   * Creates a copy of this rule which also excludes each of the given dates.
+   *
+   * @param dates the dates to exclude
+   * @return a copy of this rule excluding the given dates
+   */
+  public RecurrenceRule withExceptions(Collection<Date> dates) {
+    Set<Date> newExceptions = new TreeSet<>(this.exceptions);
+    newExceptions.addAll(dates);
+
+    return new RecurrenceRule(this.frequency, this.weekdays, this.weekOfMonth, this.endDate,
+        this.count, newExceptions);
+  }
+
+  /**
+   * Gets the dates of every event of a series following this rule which take place between the
+   * given dates inclusive, in chronological order. Only the dates in the given range are visited,
+   * so the cost depends on the size of the range rather than the number of events in the series.
+   *
+   * @param seriesStart the date of the first event of the series
+   * @param rangeStart  the first date of the range
+   * @param rangeEnd    the last date of the range
+   * @return the dates of the events of the series within the given range
+   */
+  public List<Date> datesBetween(Date seriesStart, Date rangeStart, Date rangeEnd) {
+    List<Date> dates = new ArrayList<>();
+
+    LocalDate first = CalendarMath.modelDateToLocalDate(seriesStart);
+    LocalDate from = CalendarMath.modelDateToLocalDate(rangeStart);
+    LocalDate to = CalendarMath.modelDateToLocalDate(rangeEnd);
+
+    if (from.isBefore(first)) {
+      from = first;
+    }
+    if (this.endDate != null && to.isAfter(CalendarMath.modelDateToLocalDate(this.endDate))) {
+      to = CalendarMath.modelDateToLocalDate(this.endDate);
+    }
+    if (from.isAfter(to)) {
+      return dates;
+    }
+
+    long index;
+    LocalDate date = from;
+    switch (this.frequency) {
+      case Daily:
+        index = ChronoUnit.DAYS.between(first, from);
+        while (!date.isAfter(to) && this.withinCount(index)) {
+          this.addUnlessExcluded(dates, date);
+          date = date.plusDays(1);
+          index++;
+        }
+        break;
+      case Weekly:
+        index = this.weeklyEventsBetween(first, from);
+        while (!date.isAfter(to) && this.withinCount(index)) {
+          if (this.weekdays.contains(RecurrenceRule.dayOfWeek(date))) {
+            this.addUnlessExcluded(dates, date);
+            index++;
+          }
+          date = date.plusDays(1);
+        }
+        break;
+      case MonthlyOnDay:
+        int dayOfMonth = first.getDayOfMonth();
+        YearMonth month = YearMonth.from(from);
+        index = RecurrenceRule.monthsWithDay(month, dayOfMonth) - RecurrenceRule
+            .monthsWithDay(YearMonth.from(first), dayOfMonth);
+        for (; this.withinCount(index); month = month.plusMonths(1)) {
+          if (!month.isValidDay(dayOfMonth)) {
+            continue;
+          }
+          LocalDate monthDate = month.atDay(dayOfMonth);
+          if (monthDate.isAfter(to)) {
+            break;
+          }
+          if (!monthDate.isBefore(from)) {
+            this.addUnlessExcluded(dates, monthDate);
+          }
+          index++;
+        }
+        break;
+      case MonthlyOnWeekday:
+        java.time.DayOfWeek weekday = first.getDayOfWeek();
+        month = YearMonth.from(from);
+        index = ChronoUnit.MONTHS.between(YearMonth.from(first), month);
+        for (; this.withinCount(index); month = month.plusMonths(1)) {
+          LocalDate monthDate = (this.weekOfMonth == LAST_WEEK)
+              ? month.atDay(1).with(TemporalAdjusters.lastInMonth(weekday))
+              : month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(this.weekOfMonth, weekday));
+          if (monthDate.isAfter(to)) {
+            break;
+          }
+          if (!monthDate.isBefore(from)) {
+            this.addUnlessExcluded(dates, monthDate);
+          }
+          index++;
+        }
+        break;
+      default:
+    }
+
+    return dates;
+  }
+
+  /**
+   * Gets how often a series following this rule repeats.
+   *
+   * @return how often a series following this rule repeats
+   */
+  public RecurrenceFrequency getFrequency() {
+    return this.frequency;
+  }
+
+  /**
+   * Gets the days of the week a weekly series following this rule takes place on.
+   *
+   * @return the days of the week a weekly series following this rule takes place on
+   */
+  public Set<DayOfWeek> getWeekdays() {
+    return EnumSet.copyOf(this.weekdays);
+  }
+
+  /**
+   * Gets the week of the month (1 to 4, or {@link #LAST_WEEK}) a series following this rule takes
+   * place in if it repeats monthly on a day of the week.
+   *
+   * @return the week of the month a series following this rule takes place in
+   */
+  public int getWeekOfMonth() {
+    return this.weekOfMonth;
+  }
+
+  /**
+   * Outputs the rule section of a series in the calendar file format (the recurrence, ends, and
+   * exceptions fields).
+   *
+   * @return a formatted string representation of this rule
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+
+    builder.append("recurrence: ").append(this.frequency.toString());
+    if (this.frequency == RecurrenceFrequency.Weekly) {
+      for (DayOfWeek weekday : this.weekdays) {
+        builder.append(" ").append(weekday.toString());
+      }
+    } else if (this.frequency == RecurrenceFrequency.MonthlyOnWeekday) {
+      builder.append(" ").append(this.weekOfMonth);
+    }
+    builder.append("\n");
+
+    builder.append("ends: ");
+    if (this.endDate != null) {
+      builder.append("on ").append(this.endDate.toString());
+    } else if (this.count > 0) {
+      builder.append("after ").append(this.count);
+    } else {
+      builder.append("never");
+    }
+    builder.append("\n");
+
+    builder.append("exceptions:");
+    String separator = " ";
+    for (Date exception : this.exceptions) {
+      builder.append(separator).append(exception.toString());
+      separator = ", ";
+    }
+    builder.append("\n");
+
+    return builder.toString();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof RecurrenceRule)) {
+      return false;
+    }
+
+    return this.toString().equals(obj.toString());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.toString());
+  }
+
+  /**
+   * Determines whether or not the event with the given index (counting from 0) is part of a series
+   * following this rule based on the number of events in the series.
+   *
+   * @param index the index of the event in the series
+   * @return whether or not the event with the given index is within the number of events
+   */
+  private boolean withinCount(long index) {
+    return this.count == 0 || index < this.count;
+  }
+
+  /**
+   * Adds the given date to the given list of dates unless it is excluded by this rule.
+   *
+   * @param dates the list of dates
+   * @param date  the date to add
+   */
+  private void addUnlessExcluded(List<Date> dates, LocalDate date) {
+    Date modelDate = CalendarMath.localDateToModelDate(date);
+    if (!this.exceptions.contains(modelDate)) {
+      dates.add(modelDate);
+    }
+  }
+
+  /**
+   * Gets the number of events of a weekly series following this rule starting on the given first
+   * date which take place before the given date, without visiting each week in between.
+   *
+   * @param first the date the series starts
+   * @param date  the date to count events before
+   * @return the number of events in the series before the given date
+   */
+  private long weeklyEventsBetween(LocalDate first, LocalDate date) {
+    LocalDate firstSunday = first.minusDays(RecurrenceRule.dayOfWeek(first).getDayOfWeekNum() - 1);
+    LocalDate dateSunday = date.minusDays(RecurrenceRule.dayOfWeek(date).getDayOfWeekNum() - 1);
+    long weeks = ChronoUnit.DAYS.between(firstSunday, dateSunday) / 7;
+
+    return weeks * this.weekdays.size() + this.weekdaysBefore(date) - this.weekdaysBefore(first);
+  }
+
+  /**
+   * Gets the number of days of the week of this rule which come before the day of the week of the
+   * given date (in a week starting on Sunday).
+   *
+   * @param date the date
+   * @return the number of days of the week of this rule before the day of the week of the date
+   */
+  private int weekdaysBefore(LocalDate date) {
+    int dayNum = RecurrenceRule.dayOfWeek(date).getDayOfWeekNum();
+    int numBefore = 0;
+    for (DayOfWeek weekday : this.weekdays) {
+      if (weekday.getDayOfWeekNum() < dayNum) {
+        numBefore++;
+      }
+    }
+
+    return numBefore;
+  }
+
+  /**
+   * Gets the number of months from January 1900 up to (but not including) the given month which
+   * have at least the given number of days. Whole years are counted using the number of leap years
+   * rather than by visiting each month.
+   *
+   * @param month the month to count up to
+   * @param day   the day of the month
+   * @return the number of months before the given month containing the given day
+   */
+  private static long monthsWithDay(YearMonth month, int day) {
+    long years = month.getYear() - 1900L;
+    long numMonths;
+
+    if (day <= 28) {
+      numMonths = years * 12;
+    } else if (day == 29) {
+      numMonths = years * 11 + RecurrenceRule.leapYearsBefore(month.getYear())
+          - RecurrenceRule.leapYearsBefore(1900);
+    } else if (day == 30) {
+      numMonths = years * 11;
+    } else {
+      numMonths = years * 7;
+    }
+
+    for (int m = 1; m < month.getMonthValue(); m++) {
+      if (YearMonth.of(month.getYear(), m).isValidDay(day)) {
+        numMonths++;
+      }
+    }
+
+    return numMonths;
+  }
+
+  /**
+   * Gets the number of leap years from year 1 up to (but not including) the given year.
+   *
+   * @param year the year
+   * @return the number of leap years before the given year
+   */
+  private static long leapYearsBefore(int year) {
+    long y = year - 1;
+    return y / 4 - y / 100 + y / 400;
+  }
+
+  /**
+   * Gets the day of the week of the given date.
+   *
+   * @param date the date
+   * @return the day of the week of the given date
+   */
+  private static DayOfWeek dayOfWeek(LocalDate date) {
+    // java.time numbers the week from Monday (1) to Sunday (7)
+    return DayOfWeek.getDayOfWeek(date.getDayOfWeek().getValue() % 7 + 1);
+  }
+}
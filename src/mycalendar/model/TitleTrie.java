@@ -0,0 +1,226 @@
+package mycalendar.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents a prefix tree of the titles of the events in a calendar. Each title is weighted by the
+ * number of events using it, and each node of the tree keeps its most used titles so that
+ * suggestions for a prefix can be found without searching the whole tree. Titles are matched
+ * without regard to case, and the most recently added spelling of a title is the one suggested.
+ */
+final class TitleTrie {
+
+  // The number of suggestions each node keeps for its prefix
+  static final int SUGGESTION_CAPACITY = 10;
+
+  private static final Comparator<Node> MOST_USED_FIRST = Comparator
+      .comparingInt((Node node) -> node.count).reversed()
+      .thenComparing(node -> node.title);
+
+  private final Node root;
+  // The number of events inserted so far, used to order the events of each title by when they were
+  // inserted
+  private long insertions;
+
+  /**
+   * Constructs an empty title trie.
+   */
+  TitleTrie() {
+    this.root = new Node(null, '\0');
+    this.insertions = 0;
+  }
+
+  /**
+   * Adds the title of the given event to this trie and remembers the event as the latest event
+   * using that title. Events with an empty title are ignored.
+   *
+   * @param event the event whose title to add
+   */
+  void insert(Event event) {
+    String title = event.getTitle();
+    if (title == null || title.isEmpty()) {
+      return;
+    }
+
+    Node node = this.root;
+    for (char c : title.toLowerCase().toCharArray()) {
+      Node parent = node;
+      node = parent.children.computeIfAbsent(c, key -> new Node(parent, key));
+    }
+
+    long order = this.insertions++;
+    node.orders.computeIfAbsent(event, key -> new ArrayDeque<>()).push(order);
+    node.events.put(order, event);
+    node.count++;
+    node.title = title;
+    this.updateSuggestions(node);
+  }
+
+  /**
+   * Removes the given event, and so one use of its title, from this trie. The latest remaining
+   * event with the title, if there is one, becomes the event remembered for it. Events with an
+   * empty title are ignored, as they are never inserted.
+   *
+   * @param event the event whose title to remove
+   * @throws IllegalArgumentException if the given event was not inserted into this trie
+   */
+  void remove(Event event) throws IllegalArgumentException {
+    String title = event.getTitle();
+    if (title == null || title.isEmpty()) {
+      return;
+    }
+
+    Node node = this.find(title);
+    Deque<Long> orders = node == null ? null : node.orders.get(event);
+    if (orders == null) {
+      throw new IllegalArgumentException("The event is not in the title trie.");
+    }
+
+    // Equal events, such as the first events of two series, are interchangeable, so the latest
+    // inserted of them is removed
+    node.events.remove(orders.pop());
+    if (orders.isEmpty()) {
+      node.orders.remove(event);
+    }
+    node.count--;
+    if (node.count > 0) {
+      node.title = node.events.lastEntry().getValue().getTitle();
+    }
+
+    // Prune nodes which no longer lead to any title
+    while (node != this.root && node.count == 0 && node.children.isEmpty()) {
+      node.parent.children.remove(node.key);
+      node = node.parent;
+    }
+
+    this.updateSuggestions(node);
+  }
+
+  /**
+   * Gets the most used titles starting with the given prefix, most used first.
+   *
+   * @param prefix         the prefix of the titles
+   * @param maxSuggestions the maximum number of titles to return
+   * @return the most used titles starting with the given prefix
+   * @throws IllegalArgumentException if the maximum number of titles is negative or greater than
+   *                                  the number of suggestions kept by this trie
+   */
+  List<String> suggest(String prefix, int maxSuggestions) throws IllegalArgumentException {
+    if (maxSuggestions < 0 || maxSuggestions > SUGGESTION_CAPACITY) {
+      throw new IllegalArgumentException(
+          "Maximum suggestions must be between 0 and " + SUGGESTION_CAPACITY + " inclusive.");
+    }
+
+    List<String> suggestions = new ArrayList<>();
+    Node node = this.find(prefix);
+    if (node == null) {
+      return suggestions;
+    }
+
+    for (int i = 0; i < Math.min(maxSuggestions, node.suggestions.size()); i++) {
+      suggestions.add(node.suggestions.get(i).title);
+    }
+
+    return suggestions;
+  }
+
+  /**
+   * Gets the latest event added with the given title.
+   *
+   * @param title the title
+   * @return the latest event added with the given title
+   * @throws IllegalArgumentException if no event in this trie has the given title
+   */
+  Event latestWithTitle(String title) throws IllegalArgumentException {
+    Node node = this.find(title);
+    if (node == null || node.count == 0) {
+      throw new IllegalArgumentException("No event has the title \"" + title + "\".");
+    }
+
+    return node.events.lastEntry().getValue();
+  }
+
+  /**
+   * Finds the node representing the given title or prefix.
+   *
+   * @param prefix the title or prefix
+   * @return the node for the given prefix, or null if no title starts with the given prefix
+   */
+  private Node find(String prefix) {
+    if (prefix == null) {
+      return null;
+    }
+
+    Node node = this.root;
+    for (char c : prefix.toLowerCase().toCharArray()) {
+      node = node.children.get(c);
+      if (node == null) {
+        return null;
+      }
+    }
+
+    return node;
+  }
+
+  /**
+   * Recomputes the kept suggestions of the given node and each of its ancestors. Each node's
+   * suggestions are built only from its own title and the suggestions of its children, so the cost
+   * depends on the length of the title rather than the size of this trie.
+   *
+   * @param node the deepest node whose suggestions changed
+   */
+  private void updateSuggestions(Node node) {
+    while (node != null) {
+      List<Node> candidates = new ArrayList<>();
+      if (node.count > 0) {
+        candidates.add(node);
+      }
+      for (Node child : node.children.values()) {
+        candidates.addAll(child.suggestions);
+      }
+
+      candidates.sort(MOST_USED_FIRST);
+      node.suggestions = candidates.size() > SUGGESTION_CAPACITY
+          ? new ArrayList<>(candidates.subList(0, SUGGESTION_CAPACITY)) : candidates;
+
+      node = node.parent;
+    }
+  }
+
+  /**
+   * Represents a single character of a title in the trie.
+   */
+  private static final class Node {
+
+    private final Node parent;
+    private final char key;
+    private final Map<Character, Node> children;
+    // The events with the title ending at this node by when each was inserted, and when each was
+    // inserted by the event, the latest first (equal events are all kept under one key)
+    private final NavigableMap<Long, Event> events;
+    private final Map<Event, Deque<Long>> orders;
+
+    // The number of events with the title ending at this node
+    private int count;
+    private String title;
+
+    private List<Node> suggestions;
+
+    private Node(Node parent, char key) {
+      this.parent = parent;
+      this.key = key;
+      this.children = new HashMap<>();
+      this.events = new TreeMap<>();
+      this.orders = new HashMap<>();
+      this.suggestions = new ArrayList<>();
+    }
+  }
+}
@@ -4,9 +4,9 @@ import java.util.Objects;
 import mycalendar.model.CalendarMath;
 
 /**
- * Represents a date. Each date has a year, month, and day.
+ * Represents a date. Each date has a year, month, and day. Dates are ordered chronologically.
  */
-public final class Date {
+public final class Date implements Comparable<Date> {
 
   private int year;
   private int month;
@@ -97,6 +97,19 @@ public final class Date {
     return String.format("%d %02d %02d", this.year, this.month, this.day);
   }
 
+  @Override
+  public int compareTo(Date that) {
+    if (this.year != that.year) {
+      return Integer.compare(this.year, that.year);
+    }
+
+    if (this.month != that.month) {
+      return Integer.compare(this.month, that.month);
+    }
+
+    return Integer.compare(this.day, that.day);
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj instanceof Date)) {
@@ -5,9 +5,9 @@ import mycalendar.model.CalendarMath;
 
 /**
  * Represents a time. Each time has an hour and a minute. Time is represented using the 24-hour
- * clock, so hours range from 0 to 23.
+ * clock, so hours range from 0 to 23. Times are ordered chronologically.
  */
-public final class Time {
+public final class Time implements Comparable<Time> {
 
   private int hour;
   private int minute;
@@ -187,6 +187,15 @@ public final class Time {
     return String.format("%02d %02d", this.hour, this.minute);
   }
 
+  @Override
+  public int compareTo(Time that) {
+    if (this.hour != that.hour) {
+      return Integer.compare(this.hour, that.hour);
+    }
+
+    return Integer.compare(this.minute, that.minute);
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj instanceof Time)) {
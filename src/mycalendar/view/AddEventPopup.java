@@ -2,35 +2,45 @@ package mycalendar.view;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextArea;
-import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import mycalendar.model.CalendarMath;
 import mycalendar.model.Event;
 import mycalendar.model.EventColor;
+import mycalendar.model.EventSeries;
 import mycalendar.model.dateandtime.Date;
 import mycalendar.model.dateandtime.Time;
 
 /**
- * Represents a window containing fields to allow a user to create and add an event to the
- * calendar.
+ * Represents a window containing fields to allow a user to create and add an event (or a series of
+ * repeating events) to the calendar.
  */
 public class AddEventPopup extends VBox {
 
   /**
    * Creates the window to allow the user to add an event to the calendar.
    *
-   * @param addEvent an operation which takes in an event and adds it to the calendar
+   * @param addEvent             an operation which takes in an event and adds it to the calendar
+   * @param addSeries            an operation which takes in a series of repeating events and adds
+   *                             it to the calendar
+   * @param suggestTitles        an operation which takes in the start of a title and gives the most
+   *                             used titles starting with it
+   * @param latestEventWithTitle an operation which takes in a title and gives the latest event
+   *                             with that title
    */
-  public AddEventPopup(Consumer<Event> addEvent) {
-    TextField titleField = new TextField();
-    titleField.setMaxWidth(200);
-    titleField.setPromptText("Event title");
+  public AddEventPopup(Consumer<Event> addEvent, Consumer<EventSeries> addSeries,
+      Function<String, List<String>> suggestTitles,
+      Function<String, Event> latestEventWithTitle) {
+    CheckBox fillFromLastUse = new CheckBox("Fill in details from last use of title");
+    fillFromLastUse.setSelected(true);
 
     DatePicker eventDatePicker = new ValidDatePicker();
     eventDatePicker.setPromptText("Event date");
@@ -51,6 +61,15 @@ public class AddEventPopup extends VBox {
     descriptionArea.setMaxWidth(300);
     descriptionArea.setPromptText("Event description");
 
+    RecurrencePicker recurrencePicker = new RecurrencePicker();
+
+    TitleField titleField = new TitleField(suggestTitles, title -> {
+      if (fillFromLastUse.isSelected()) {
+        LastUseDetails.fill(latestEventWithTitle, title, startTimePicker, endTimePicker,
+            colorPicker, descriptionArea);
+      }
+    });
+
     Button confirmButton = new Button("Add Event");
 
     confirmButton.setOnAction(actionEvent -> {
@@ -65,7 +84,11 @@ public class AddEventPopup extends VBox {
 
         try {
           Event event = new Event(eventDate, startTime, endTime, title, description, color);
-          addEvent.accept(event);
+          if (recurrencePicker.repeats()) {
+            addSeries.accept(new EventSeries(event, recurrencePicker.getRule(eventDate)));
+          } else {
+            addEvent.accept(event);
+          }
 
           Stage stage = (Stage) this.getScene().getWindow();
           stage.close();
@@ -80,7 +103,7 @@ public class AddEventPopup extends VBox {
       }
     });
 
-    this.getChildren().addAll(titleField, eventDatePicker, startTimePicker, endTimePicker,
-        descriptionArea, colorPicker, confirmButton);
+    this.getChildren().addAll(titleField, fillFromLastUse, eventDatePicker, startTimePicker,
+        endTimePicker, recurrencePicker, descriptionArea, colorPicker, confirmButton);
   }
 }
@@ -0,0 +1,157 @@
+package mycalendar.view;
+
+import java.io.File;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextInputDialog;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+
+/**
+ * Represents a bar along the bottom of the calendar for managing the named calendars. Allows the
+ * user to show or hide each calendar, choose the calendar new events are added to, create a new
+ * calendar, and import a calendar file into the calendar new events are added to.
+ */
+public class CalendarBar extends HBox {
+
+  private final Supplier<List<String>> calendarNames;
+  private final Predicate<String> isShown;
+  private final BiConsumer<String, Boolean> setShown;
+  private final Supplier<String> targetCalendar;
+  private final Consumer<String> setTarget;
+
+  private final HBox calendarToggles;
+  private final ComboBox<String> targetPicker;
+
+  /**
+   * Creates an instance of the calendar bar.
+   *
+   * @param calendarNames  an operation which gives the names of every calendar
+   * @param isShown        an operation which takes in the name of a calendar and determines
+   *                       whether or not it is shown
+   * @param setShown       an operation which takes in the name of a calendar and whether or not it
+   *                       should be shown and shows or hides it
+   * @param createCalendar an operation which takes in a name and creates a calendar with that name
+   * @param importCalendar an operation which takes in a calendar file and imports it
+   * @param targetCalendar an operation which gives the name of the calendar new events are added to
+   * @param setTarget      an operation which takes in the name of a calendar and adds new events
+   *                       to it
+   */
+  public CalendarBar(Supplier<List<String>> calendarNames, Predicate<String> isShown,
+      BiConsumer<String, Boolean> setShown, Consumer<String> createCalendar,
+      Consumer<File> importCalendar, Supplier<String> targetCalendar, Consumer<String> setTarget) {
+    super(12);
+    this.calendarNames = calendarNames;
+    this.isShown = isShown;
+    this.setShown = setShown;
+    this.targetCalendar = targetCalendar;
+    this.setTarget = setTarget;
+
+    this.calendarToggles = new HBox(10);
+    this.calendarToggles.setAlignment(Pos.CENTER_LEFT);
+
+    this.targetPicker = new ComboBox<>();
+    this.targetPicker.setPromptText("No calendar shown");
+    this.targetPicker.setOnAction(e -> {
+      String name = this.targetPicker.getValue();
+      if (name != null && !name.equals(this.targetCalendar.get())) {
+        this.setTarget.accept(name);
+      }
+    });
+
+    Button newCalendarButton = new Button("New calendar");
+    newCalendarButton.setOnAction(e -> {
+      TextInputDialog nameDialog = new TextInputDialog();
+      nameDialog.initOwner(this.getScene().getWindow());
+      nameDialog.setTitle("New Calendar");
+      nameDialog.setHeaderText(null);
+      nameDialog.setContentText("Calendar name:");
+
+      nameDialog.showAndWait().ifPresent(name -> {
+        try {
+          createCalendar.accept(name.trim());
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+          new ErrorMessage(this.getScene().getWindow(), ex.getMessage()).show();
+        }
+      });
+    });
+
+    Button importButton = new Button("Import");
+    importButton.setOnAction(e -> {
+      FileChooser fileChooser = new FileChooser();
+      fileChooser.setTitle("Import Calendar");
+      fileChooser.getExtensionFilters().add(
+          new FileChooser.ExtensionFilter("MyCalendar files", "*.mycal"));
+
+      File file = fileChooser.showOpenDialog(this.getScene().getWindow());
+      if (file != null) {
+        try {
+          importCalendar.accept(file);
+        } catch (IllegalArgumentException ex) {
+          new ErrorMessage(this.getScene().getWindow(), ex.getMessage()).show();
+        }
+      }
+    });
+
+    this.getChildren().addAll(this.styledLabel("Calendars:"), this.calendarToggles,
+        this.styledLabel("Add events to:"), this.targetPicker, newCalendarButton, importButton);
+    this.setAlignment(Pos.CENTER_LEFT);
+    this.setPadding(new Insets(4, 10, 4, 46));
+    this.setStyle("-fx-background-color: #2c202f");
+  }
+
+  /**
+   * Updates the toggles and the target calendar to match the current calendars.
+   */
+  public void update() {
+    this.calendarToggles.getChildren().clear();
+    this.targetPicker.getItems().clear();
+
+    for (String name : this.calendarNames.get()) {
+      boolean shown = this.isShown.test(name);
+
+      CheckBox toggle = new CheckBox(name);
+      toggle.setSelected(shown);
+      toggle.setFont(Font.font("Century Gothic", 12));
+      toggle.setStyle("-fx-text-fill: #c2c2c2");
+      toggle.setOnAction(e -> {
+        try {
+          this.setShown.accept(name, toggle.isSelected());
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+          toggle.setSelected(!toggle.isSelected());
+          new ErrorMessage(this.getScene().getWindow(), ex.getMessage()).show();
+        }
+      });
+      this.calendarToggles.getChildren().add(toggle);
+
+      if (shown) {
+        this.targetPicker.getItems().add(name);
+      }
+    }
+
+    this.targetPicker.setValue(this.targetCalendar.get());
+  }
+
+  /**
+   * Creates a label with the given text styled to match the rest of the bar.
+   *
+   * @param text the text of the label
+   * @return a styled label
+   */
+  private Label styledLabel(String text) {
+    Label label = new Label(text);
+    label.setFont(Font.font("Century Gothic", 12));
+    label.setStyle("-fx-text-fill: #9e9e9e");
+    return label;
+  }
+}
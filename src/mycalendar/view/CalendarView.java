@@ -1,8 +1,11 @@
 package mycalendar.view;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import javafx.scene.Scene;
 import mycalendar.controller.Features;
+import mycalendar.model.CalendarUpdate;
 import mycalendar.model.Event;
 
 /**
@@ -15,13 +18,6 @@ public interface CalendarView {
    */
   void maximize();
 
-  /**
-   * Supplies the GUI with the events from the calendar.
-   *
-   * @param events the events to display
-   */
-  void setEvents(List<Event> events);
-
   /**
    * Supplies the GUI with the given set of features in order to add more functionality to the
    * program.
@@ -42,4 +38,34 @@ public interface CalendarView {
    * Refreshes the GUI.
    */
   void refresh();
+
+  /**
+   * Shows the given changes made to the calendar. Only the parts of the GUI showing a date
+   * affected by the changes are refreshed.
+   *
+   * @param updates the changes made to the calendar, in the order they were made
+   */
+  void showChanges(List<CalendarUpdate> updates);
+
+  /**
+   * Reminds the user that the given event is about to start.
+   *
+   * @param event the upcoming event
+   */
+  void showReminder(Event event);
+
+  /**
+   * Tells the user that something they asked for could not be done.
+   *
+   * @param message the error message to show
+   */
+  void showError(String message);
+
+  /**
+   * Adds an operation which is run with the current date and time on each whole second of the
+   * clock the GUI shows the current time with.
+   *
+   * @param listener the operation to run each second
+   */
+  void onSecond(Consumer<LocalDateTime> listener);
 }
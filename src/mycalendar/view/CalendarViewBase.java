@@ -1,74 +1,140 @@
 package mycalendar.view;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import javafx.geometry.Insets;
-import javafx.geometry.Pos;
+import java.util.Set;
+import java.util.function.Consumer;
 import javafx.scene.Scene;
-import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.ScrollPane.ScrollBarPolicy;
-import javafx.scene.control.Tooltip;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.RowConstraints;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.scene.text.TextAlignment;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 import mycalendar.controller.Features;
 import mycalendar.model.CalendarMath;
+import mycalendar.model.CalendarUpdate;
 import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+import mycalendar.model.EventSeries;
 import mycalendar.model.dateandtime.Date;
-import mycalendar.model.dateandtime.DayOfWeek;
-import mycalendar.model.dateandtime.Time;
+import mycalendar.view.RefreshScheduler.Region;
 
 /**
  * Represents an interactive view for the calendar allowing the user to interact with the calendar
- * and add, edit, and delete events.
+ * and add, edit, and delete events. Several events can be selected by holding the shortcut key
+ * (control or command) while clicking them and then copied to the next week or deleted together.
+ * Every event of a color can be deleted at once from the color's toggle.
  */
 public class CalendarViewBase extends BorderPane implements CalendarView {
 
-  private List<Event> events;
+  private final EventWindow eventWindow;
   private Features features;
   private final Date currentViewDate;
   private final WindowControls windowControls;
+  private final WeekControls weekControls;
+  private final ColorFilterBar colorFilterBar;
+  private final CalendarBar calendarBar;
+  private final TaskStatusArea taskStatusArea;
+  private final Set<Event> selectedEvents;
 
   private final ScrollPane weekScrollPane;
+  private final DayTimeline dayTimeline;
+  private final RefreshScheduler refreshScheduler;
+  private final ClockService clock;
 
   /**
-   * Creates an instance of the calendar view.
+   * Creates an instance of the calendar view whose day columns are built from nodes.
    */
   public CalendarViewBase() {
+    this(false);
+  }
+
+  /**
+   * Creates an instance of the calendar view whose day columns are either drawn on canvases or
+   * built from nodes.
+   *
+   * @param drawOnCanvas whether or not the day columns are drawn on canvases
+   */
+  public CalendarViewBase(boolean drawOnCanvas) {
     super();
-    this.events = new ArrayList<>();
-    this.windowControls = new WindowControls(0, 0, this.getWidth(), this.getHeight(), false);
+    this.refreshScheduler = new RefreshScheduler(this::render);
+    this.eventWindow = new EventWindow(
+        (start, end, colors) -> this.features.getEventsInRange(start, end, colors),
+        this.refreshScheduler::requestRender, this::showError);
     this.currentViewDate = CalendarMath.getCurrentDate();
+    this.selectedEvents = new LinkedHashSet<>();
+    this.windowControls = new WindowControls(0, 0, this.getWidth(), this.getHeight(), false);
 
     this.weekScrollPane = new ScrollPane();
     this.weekScrollPane.setHbarPolicy(ScrollBarPolicy.NEVER);
     this.weekScrollPane.setVbarPolicy(ScrollBarPolicy.ALWAYS);
-
-    WeekControls weekControls = new WeekControls(this.currentViewDate,
-        event -> this.features.addEvent(event), this::refresh);
-
-    LiveClock liveClock = new LiveClock(this::refresh, this.currentViewDate);
-
-    StackPane topBar = new TopBar(weekControls, liveClock, this.windowControls);
+    this.dayTimeline = new DayTimeline(this.widthProperty(), () -> drawOnCanvas
+        ? new CanvasDayView(this.widthProperty(), this.heightProperty(),
+            this.selectedEvents::contains, this::eventClicked)
+        : new DayView(this.widthProperty(), this.heightProperty(),
+            this.selectedEvents::contains, this::eventClicked),
+        this.refreshScheduler::markDaysDirty,
+        CalendarMath.getSundayOfWeek(this.currentViewDate));
+    this.createWeekScreen();
+    // The row height is read into each render's context, so the columns and the current time line
+    // are rendered again at their new size
+    this.dayTimeline.columnHeightProperty().addListener(
+        (observable, oldHeight, newHeight) -> this.refreshScheduler.markDirty(Region.WEEK));
+
+    this.colorFilterBar = new ColorFilterBar(colors -> {
+      this.eventWindow.showColors(colors);
+      this.refreshScheduler.markDirty(Region.WEEK);
+    }, this::deleteEventsOfColor);
+
+    this.weekControls = new WeekControls(this.currentViewDate, this::showAddEventPopup,
+        this::copySelectedEvents, this::deleteSelectedEvents, this::showDeleteRangePopup,
+        this::showViewedWeek);
+
+    // One clock drives the clock in the top bar, the line marking the current time, and the
+    // reminders, and today's highlight moves on to the next day at midnight
+    this.clock = new ClockService();
+    LiveClock liveClock = new LiveClock(this::showViewedWeek, this.currentViewDate, this.clock);
+    this.clock.onMinute(now -> this.dayTimeline.showNow(RenderContext.at(
+        this.dayTimeline.getFirstDate(), DayTimeline.COLUMNS, this.dayTimeline.getColumnHeight(),
+        now)));
+    this.clock.onDay(now -> this.refreshScheduler.markDaysDirty(List.of(
+        CalendarMath.localDateToModelDate(now.toLocalDate().minusDays(1)),
+        CalendarMath.localDateToModelDate(now.toLocalDate()))));
+
+    this.taskStatusArea = new TaskStatusArea();
+
+    StackPane topBar = new TopBar(this.weekControls, liveClock, this.colorFilterBar,
+        this.taskStatusArea, this.windowControls);
     topBar.setOnMouseClicked(e -> {
       if (e.getClickCount() == 2) {
         this.windowControls.toggleMaximize();
       }
     });
 
+    this.calendarBar = new CalendarBar(() -> this.features.getCalendarNames(),
+        name -> this.features.isCalendarShown(name),
+        (name, shown) -> this.features.setCalendarShown(name, shown),
+        name -> this.features.createCalendar(name),
+        file -> this.features.importCalendar(file),
+        () -> this.features.getTargetCalendar(),
+        name -> this.features.setTargetCalendar(name));
+
     this.setTop(topBar);
-    this.updateWeekView();
+    this.setBottom(this.calendarBar);
+    this.showViewedWeek();
+    this.clock.start();
   }
 
   @Override
@@ -76,302 +142,374 @@ public class CalendarViewBase extends BorderPane implements CalendarView {
     this.windowControls.maximizeWindow();
   }
 
-  @Override
-  public void setEvents(List<Event> events) {
-    this.events = events;
-  }
-
   @Override
   public void setFeatures(Features features) {
     this.features = features;
+    this.taskStatusArea.setTasks(features.getRunningTasks());
   }
 
   @Override
   public void setScene(Scene scene) {
     this.windowControls.setScene(scene);
+
+    scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+      if (e.getCode() == KeyCode.DELETE && !this.selectedEvents.isEmpty()) {
+        this.deleteSelectedEvents();
+      } else if (e.getCode() == KeyCode.ESCAPE && !this.selectedEvents.isEmpty()) {
+        this.selectedEvents.clear();
+        this.weekControls.setSelectionSize(0);
+        this.refreshScheduler.markDirty(Region.SELECTION);
+      }
+    });
   }
 
   @Override
   public void refresh() {
-    this.updateWeekView();
+    this.refreshScheduler.markDirty(Region.CALENDAR_BAR, Region.EVENT_WINDOW, Region.WEEK);
   }
 
-  /**
-   * Gets all the events on the given date.
-   *
-   * @param date the date to check for events
-   * @return a list of every event that takes place on the given date
-   */
-  private List<Event> getEventsOnDate(Date date) {
-    List<Event> eventsOnDate = new ArrayList<>();
-    for (Event event : this.events) {
-      if (event.getDate().equals(date)) {
-        eventsOnDate.add(event);
+  @Override
+  public void showChanges(List<CalendarUpdate> updates) {
+    Date firstDate = this.dayTimeline.getFirstDate();
+    Date lastDate = this.dayTimeline.getLastDate();
+
+    Set<Date> changedDates = new HashSet<>();
+    for (CalendarUpdate update : updates) {
+      this.selectedEvents.removeAll(update.getRemovedEvents());
+      this.remapSelectedOccurrences(update);
+      if (this.eventWindow.invalidate(update)) {
+        changedDates.addAll(update.getAffectedDates(firstDate, lastDate));
       }
     }
+    this.weekControls.setSelectionSize(this.selectedEvents.size());
 
-    return eventsOnDate;
+    // Only the columns of the changed days are re-rendered; changes to the weeks around the shown
+    // days are fetched again when the user moves to them
+    this.refreshScheduler.markDaysDirty(changedDates);
   }
 
-  /**
-   * Updates the overall week view (the scrollable content of the calendar).
-   */
-  private void updateWeekView() {
-    // Store the scroll value
-    double scrollValue = this.weekScrollPane.getVvalue();
-
-    // Pair time markers with the week columns and set that as the scroll content
-    HBox weekView = new HBox();
-    weekView.getChildren().addAll(new TimeMarks(), this.updateDayCols());
-    this.weekScrollPane.setContent(weekView);
-
-    // Wrap the scroll pane in a border pane and add the day labels to the top
-    BorderPane weekScreen = new BorderPane();
-    weekScreen.setCenter(this.weekScrollPane);
-    weekScreen.setTop(this.updateDayLabels());
+  @Override
+  public void showReminder(Event event) {
+    new ReminderMessage(this.getScene().getWindow(), event).show();
+  }
 
-    // Set the scroll value to the previous scroll value
-    this.weekScrollPane.setVvalue(scrollValue);
+  @Override
+  public void showError(String message) {
+    new ErrorMessage(this.getScene().getWindow(), message).show();
+  }
 
-    // Set the border pane as the center of this calendar view
-    this.setCenter(weekScreen);
+  @Override
+  public void onSecond(Consumer<LocalDateTime> listener) {
+    this.clock.onSecond(listener);
   }
 
   /**
-   * Updates each of the seven day labels (the labels showing the day of the week and date of the
-   * days in the currently displayed week).
-   *
-   * @return a box containing the updated day labels
+   * Shows a popup allowing the user to add an event or a series of repeating events.
    */
-  private HBox updateDayLabels() {
-    HBox dayOfWeekCols = new HBox();
-    dayOfWeekCols.setPrefHeight(50);
-    dayOfWeekCols.setStyle("-fx-background-color: #2f2f2f;-fx-padding: 0 0 0 36");
-
-    for (int i = 0; i < 7; i++) {
-      Date sundayOfWeek = CalendarMath.getSundayOfWeek(this.currentViewDate);
-      Date dateOfColumn = CalendarMath.goForwardDays(sundayOfWeek, i);
+  private void showAddEventPopup() {
+    Stage addEventStage = new Stage();
+    VBox eventAdder = new AddEventPopup(event -> this.features.addEvent(event),
+        series -> this.features.addSeries(series),
+        prefix -> this.features.suggestTitles(prefix),
+        title -> this.features.getLatestEventWithTitle(title));
+    Scene addEventScene = new Scene(eventAdder, 350, 450);
+    addEventStage.setScene(addEventScene);
+    addEventStage.initOwner(this.getScene().getWindow());
+    addEventStage.initModality(Modality.WINDOW_MODAL);
+    addEventStage.setTitle("Add Event");
+    addEventStage.show();
+    eventAdder.requestFocus();
+  }
 
-      // Code for setting up the label row on top of the day column
-      BorderPane dayLabelBox = new BorderPane();
-      dayLabelBox.prefWidthProperty().bind(this.widthProperty().divide(7.3));
+  /**
+   * Shows a popup allowing the user to delete every event within a range of dates.
+   */
+  private void showDeleteRangePopup() {
+    Stage deleteRangeStage = new Stage();
+    VBox rangeDeleter = new DeleteRangePopup(this.dayTimeline.getFirstDate(),
+        (start, end) -> this.features.removeRange(start, end));
+    Scene deleteRangeScene = new Scene(rangeDeleter, 300, 130);
+    deleteRangeStage.setScene(deleteRangeScene);
+    deleteRangeStage.initOwner(this.getScene().getWindow());
+    deleteRangeStage.initModality(Modality.WINDOW_MODAL);
+    deleteRangeStage.setTitle("Delete Range");
+    deleteRangeStage.show();
+    rangeDeleter.requestFocus();
+  }
 
-      if (dateOfColumn.equals(CalendarMath.getCurrentDate())) {
-        dayLabelBox.setStyle(
-            "-fx-background-color: #3b3b3b; -fx-border-width: 0 1 0 1; -fx-border-color: #1b1b1b");
-      } else {
-        dayLabelBox.setStyle("-fx-border-width: 0 1 0 1; -fx-border-color: #1b1b1b");
+  /**
+   * Adds a copy of every selected event one week after it, all at once. An occurrence of a series
+   * is copied as an event on its own. The selection is kept.
+   */
+  private void copySelectedEvents() {
+    try {
+      List<Event> copies = new ArrayList<>();
+      for (Event event : this.selectedEvents) {
+        copies.add(new Event(CalendarMath.goForwardOneWeek(event.getDate()),
+            event.getStartTime(), event.getEndTime(), event.getTitle(), event.getDescription(),
+            event.getColor()));
       }
-
-      Label dayLabel = new Label(
-          DayOfWeek.getDayOfWeek(i + 1).toString() + "\n" + dateOfColumn.getDay());
-      dayLabel.setFont(Font.font("Century Gothic", 18));
-      dayLabel.setAlignment(Pos.CENTER);
-      dayLabel.setTextAlignment(TextAlignment.CENTER);
-      dayLabel.setStyle("-fx-text-fill: #c2c2c2");
-
-      dayLabelBox.setCenter(dayLabel);
-
-      dayOfWeekCols.getChildren().add(dayLabelBox);
+      this.features.addAll(copies);
+    } catch (IllegalArgumentException iae) {
+      new ErrorMessage(this.getScene().getWindow(), iae.getMessage()).show();
     }
-
-    return dayOfWeekCols;
   }
 
   /**
-   * Updates the seven day columns to represent the currently displayed date and to show all the
-   * events taking place in the displayed week.
+   * Deletes every event of the given color at once. The occurrences of series are kept.
    *
-   * @return a box containing the updated day columns
+   * @param color the color of the events to delete
    */
-  private HBox updateDayCols() {
-    HBox dayCols = new HBox();
-
-    for (int i = 0; i < 7; i++) {
-      // Code for setting up the day column
-      GridPane dayColumn = new DayColumn();
-      dayColumn.prefWidthProperty().bind(this.widthProperty().divide(7.3));
-      dayColumn.prefHeightProperty().bind(this.heightProperty().multiply(1.6));
-
-      Date sundayOfWeek = CalendarMath.getSundayOfWeek(this.currentViewDate);
-      Date dateOfColumn = CalendarMath.goForwardDays(sundayOfWeek, i);
-
-      if (dateOfColumn.equals(CalendarMath.getCurrentDate())) {
-        dayColumn.setStyle(
-            "-fx-background-color: #4a4a4a;-fx-border-color: #4d4259;-fx-border-width: 1.4;");
-      }
+  private void deleteEventsOfColor(EventColor color) {
+    this.features.removeAll(event -> event.getColor() == color);
+  }
 
-      StackPane eventOverlay = this.eventOverlay(dateOfColumn, dayColumn);
-      dayCols.getChildren().add(eventOverlay);
+  /**
+   * Deletes every selected event at once and clears the selection.
+   */
+  private void deleteSelectedEvents() {
+    List<Event> eventsToDelete = new ArrayList<>(this.selectedEvents);
+    this.selectedEvents.clear();
+    this.weekControls.setSelectionSize(0);
+
+    try {
+      this.features.deleteEvents(eventsToDelete);
+    } catch (IllegalArgumentException iae) {
+      new ErrorMessage(this.getScene().getWindow(), iae.getMessage()).show();
+      this.refresh();
     }
-
-    return dayCols;
   }
 
   /**
-   * Creates an overlay for the day columns containing all the events on the given date.
+   * Responds to a click on the given event: clicking while holding the shortcut key adds the event
+   * to the selection or removes it, and clicking otherwise shows a popup for editing the event.
    *
-   * @param dateOfColumn the date of the column to overlay
-   * @param dayColumn    the day column itself to receive the event overlay
-   * @return a column to be put on top of the given date column to show the events taking place on
-   * that date
+   * @param event the clicked event
+   * @param e     the mouse click
    */
-  private StackPane eventOverlay(Date dateOfColumn, GridPane dayColumn) {
-    GridPane minuteGridPane = new GridPane();
-    minuteGridPane.prefWidthProperty().bind(this.widthProperty().divide(7.3));
-    minuteGridPane.prefHeightProperty().bind(dayColumn.heightProperty());
-    minuteGridPane.setStyle("-fx-background-color: transparent;");
-
-    GridPane currentTimeGridPane = new GridPane();
-    currentTimeGridPane.prefWidthProperty().bind(this.widthProperty().divide(7.3));
-    currentTimeGridPane.prefHeightProperty().bind(this.heightProperty().multiply(1.6));
-    currentTimeGridPane.setStyle("-fx-background-color: transparent;");
-
-    Date today = CalendarMath.getCurrentDate();
-
-    for (int j = 0; j < 288; j++) {
-      RowConstraints rowConstraints = new RowConstraints();
-      rowConstraints.setPercentHeight(100.0 / 288);
-
-      minuteGridPane.getRowConstraints().add(rowConstraints);
-      currentTimeGridPane.getRowConstraints().add(rowConstraints);
+  private void eventClicked(Event event, MouseEvent e) {
+    if (e.getButton() == MouseButton.PRIMARY && e.isShortcutDown()) {
+      this.toggleSelected(event);
+    } else if (e.getButton() == MouseButton.PRIMARY) {
+      this.showEditEventPopup(event);
     }
+  }
 
-    StackPane dayColWithEvents = new StackPane();
-
-    for (int j = 0; j < 288; j++) {
-      HBox currentTimePane = new HBox();
-      currentTimePane.prefWidthProperty().bind(dayColumn.widthProperty());
-
-      int currentTimeIncrements = CalendarMath
-          .num5MinIncrementsFromMidnight(CalendarMath.getCurrentTime());
-
-      if (dateOfColumn.equals(today) && currentTimeIncrements == j) {
-        currentTimePane
-            .setStyle("-fx-border-color: rgba(224,224,224,0.6);-fx-border-width: 2 0 0 0;");
-      } else {
-        currentTimePane.setStyle("-fx-border-width: 0;");
-      }
-
-      currentTimeGridPane.add(currentTimePane, 0, j);
-
-      if (j % 3 == 0) {
-        HBox pane = new HBox();
-        pane.prefWidthProperty().bind(dayColumn.widthProperty());
-
-        if (j % 4 != 1) {
-          pane.setStyle("-fx-border-color: dimgray;-fx-border-width: 0 0 0.8 0;");
-        } else {
-          pane.setStyle("-fx-border-width: 0;");
-        }
+  /**
+   * Keeps the selection pointing at series which are still in the calendar after the given change.
+   * A selected occurrence of a series the change updated is replaced by the new series' occurrence
+   * on the same date, or deselected if the new series has none there. A selected occurrence of a
+   * series the change removed is deselected.
+   *
+   * @param update the change made to the calendar
+   */
+  private void remapSelectedOccurrences(CalendarUpdate update) {
+    List<EventSeries> removedSeries = update.getRemovedSeries();
+    if (removedSeries.isEmpty() || this.selectedEvents.isEmpty()) {
+      return;
+    }
 
-        GridPane.setRowSpan(pane, 3);
-        minuteGridPane.add(pane, 0, j);
+    // Updated series are given in the same order as their new versions
+    List<EventSeries> addedSeries = update.getAddedSeries();
+    boolean paired = update.getType() == CalendarUpdate.Type.UPDATED
+        && addedSeries.size() == removedSeries.size();
+    List<Event> selection = new ArrayList<>(this.selectedEvents);
+    this.selectedEvents.clear();
+    for (Event event : selection) {
+      int index = event.isRecurring() ? removedSeries.indexOf(event.getSeries()) : -1;
+      if (index < 0) {
+        this.selectedEvents.add(event);
+      } else if (paired) {
+        Date date = event.getDate();
+        this.selectedEvents.addAll(addedSeries.get(index).occurrencesBetween(date, date));
       }
     }
+  }
 
-    for (Event event : this.getEventsOnDate(dateOfColumn)) {
-      int startMinuteOfDay = CalendarMath.num5MinIncrementsFromMidnight(event.getStartTime());
-
-      HBox eventPane = this.eventPane(dayColumn, event);
-      minuteGridPane.add(eventPane, 0, startMinuteOfDay);
-
+  /**
+   * Adds the given event to the selection if it is not selected and removes it otherwise.
+   *
+   * @param event the event to select or deselect
+   */
+  private void toggleSelected(Event event) {
+    if (!this.selectedEvents.remove(event)) {
+      this.selectedEvents.add(event);
     }
-    dayColWithEvents.getChildren().add(dayColumn);
-    dayColWithEvents.getChildren().add(minuteGridPane);
 
-    if (dateOfColumn.equals(today)) {
-      currentTimeGridPane.setMouseTransparent(true);
-      dayColWithEvents.getChildren().add(currentTimeGridPane);
+    this.refreshScheduler.markDirty(Region.SELECTION);
+    this.weekControls.setSelectionSize(this.selectedEvents.size());
+  }
+
+  /**
+   * Redraws the events of each day column to match which of them are selected.
+   */
+  private void updateSelection() {
+    for (DayRenderer dayRenderer : this.dayTimeline.getRenderers()) {
+      dayRenderer.updateSelection();
     }
+  }
 
-    return dayColWithEvents;
+  /**
+   * Shows a popup allowing the user to edit or delete the given event, or delete its series.
+   *
+   * @param event the event to edit
+   */
+  private void showEditEventPopup(Event event) {
+    Stage editEventStage = new Stage();
+    VBox eventEditor = new EditEventPopup(event,
+        (eventToUpdate, updatedEvent) -> this.features.updateEvent(eventToUpdate, updatedEvent),
+        eventToDelete -> this.features.deleteEvent(eventToDelete),
+        series -> this.features.deleteSeries(series),
+        prefix -> this.features.suggestTitles(prefix),
+        title -> this.features.getLatestEventWithTitle(title));
+    Scene editEventScene = new Scene(eventEditor, 350, 410);
+    editEventStage.setScene(editEventScene);
+    editEventStage.initOwner(this.getScene().getWindow());
+    editEventStage.initModality(Modality.WINDOW_MODAL);
+    editEventStage.setTitle("Edit Event");
+    editEventStage.show();
+    eventEditor.requestFocus();
   }
 
   /**
-   * Creates a box representing an event which contains the event title, start time, and end time.
-   * The box is sized to proportionally match the duration of the event, and if there is room, the
-   * event description is shown as well. If the box is moused over, a tooltip will appear showing
-   * the event's name, start time, end time, and description. The box background color is set to the
-   * color of the event.
+   * Moves the window of weeks to the days of the given context and counts the events of each color
+   * on the shown days. Only the window of weeks around the shown days is asked of the calendar, and
+   * nothing is shown until the features have been supplied. The counts are read from the number of
+   * events the calendar keeps for each color, so they are shown at once, even before the shown
+   * days have been laid out.
    *
-   * @param dayColumn the day column this event pane will be put on top of
-   * @param event     the event to be represented and displayed
-   * @return a box representing the given event
+   * @param context the context of the render
+   * @return whether or not the shown days have been laid out and can be rendered
    */
-  private HBox eventPane(GridPane dayColumn, Event event) {
-    Time startTime = event.getStartTime();
-    Time endTime = event.getEndTime();
+  private boolean layOutShownDays(RenderContext context) {
+    if (this.features == null) {
+      return true;
+    }
 
-    int duration = CalendarMath.num5MinuteIncrementsBetween(startTime, endTime);
+    this.eventWindow.moveTo(context.getFirstDate(), context.getLastDate());
 
-    HBox eventPane = new HBox();
+    // The column partly shown while the timeline is between days is not counted
+    this.colorFilterBar.setCounts(this.features.countEventsInRange(context.getFirstDate(),
+        context.getDate(DayTimeline.SHOWN_DAYS - 1)));
 
-    eventPane.maxHeightProperty().bind(dayColumn.heightProperty());
-    eventPane.prefWidthProperty().bind(dayColumn.widthProperty());
+    return this.eventWindow.isShownReady();
+  }
 
-    String colorString = event.getColor().rgbString();
+  /**
+   * Creates the day view (the scrollable content of the calendar) and the day labels on top of it.
+   * Their nodes are created once and kept as the shown days change. Scrolling sideways, or with the
+   * shift key held, scrolls the days; scrolling otherwise scrolls through the hours of the day.
+   */
+  private void createWeekScreen() {
+    HBox dayOfWeekCols = new HBox();
+    dayOfWeekCols.setPrefHeight(50);
+    dayOfWeekCols.setStyle("-fx-background-color: #2f2f2f;-fx-padding: 0 0 0 36");
+    dayOfWeekCols.getChildren().add(this.dayTimeline.getLabels());
 
-    eventPane.setStyle("-fx-background-color: " + colorString
-        + ";-fx-border-color: floralwhite;-fx-border-width: 2");
+    // Pair time markers with the day columns and set that as the scroll content
+    HBox weekView = new HBox();
+    weekView.getChildren().addAll(new TimeMarks(), this.dayTimeline.getColumns());
+    this.weekScrollPane.setContent(weekView);
 
-    String startTimeString = event.getStartTime().simpleFormat();
-    String endTimeString = event.getEndTime().simpleFormat();
-    String timeString = String.format("%s - %s", startTimeString, endTimeString);
-    String eventInfo;
+    // Wrap the scroll pane in a border pane and add the day labels to the top
+    BorderPane weekScreen = new BorderPane();
+    weekScreen.setCenter(this.weekScrollPane);
+    weekScreen.setTop(dayOfWeekCols);
 
-    Label eventLabel = new Label();
-    eventLabel.setFont(Font.font("Century Gothic", 10));
-    eventLabel.setPadding(new Insets(0, 0, 0, 6));
+    weekScreen.addEventFilter(ScrollEvent.SCROLL, e -> {
+      double deltaX = e.getDeltaX();
+      if (deltaX == 0 && e.isShiftDown()) {
+        deltaX = e.getDeltaY();
+      }
+      if (deltaX != 0 && Math.abs(deltaX) >= Math.abs(e.getDeltaY())) {
+        this.scrollDays(-deltaX);
+        e.consume();
+      }
+    });
 
-    Label titleLabel = new Label(event.getTitle());
-    titleLabel.setPadding(new Insets(0, 0, 0, 6));
-    titleLabel.setFont(Font.font("Century Gothic", FontWeight.BOLD, 10));
+    // Set the border pane as the center of this calendar view
+    this.setCenter(weekScreen);
+  }
 
-    if (duration > 9) {
-      VBox eventLabelBox = new VBox();
-      eventInfo = timeString + "\n" + event.getDescription();
-      eventLabel.setText(eventInfo);
+  /**
+   * Scrolls the shown days by the given number of pixels, forward in time if positive and back if
+   * negative, and keeps the currently viewed date at the first shown day.
+   *
+   * @param pixels the distance to scroll
+   */
+  private void scrollDays(double pixels) {
+    this.dayTimeline.scrollBy(pixels);
+    this.currentViewDate.setDate(this.dayTimeline.getFirstDate());
+    this.weekControls.updateWeekViewLabel();
+  }
 
-      eventLabelBox.getChildren().addAll(titleLabel, eventLabel);
-      eventPane.getChildren().add(eventLabelBox);
-    } else {
-      HBox eventLabelBox = new HBox();
-      eventInfo = "\t" + timeString;
-      eventLabel.setText(eventInfo);
+  /**
+   * Shows the week of the currently viewed date from its Sunday on the next pulse.
+   */
+  private void showViewedWeek() {
+    this.dayTimeline.showFrom(CalendarMath.getSundayOfWeek(this.currentViewDate));
+    this.refreshScheduler.markDirty(Region.WEEK);
+  }
 
-      eventLabelBox.getChildren().addAll(titleLabel, eventLabel);
-      eventPane.getChildren().add(eventLabelBox);
+  /**
+   * Renders the given dirty parts of the view. Called by the refresh scheduler at most once per
+   * pulse. The clock and the dates of the shown days are read once into a context which every part
+   * rendered reads from, so the parts agree with each other.
+   *
+   * @param regions the dirty parts of the view
+   * @param days    the dirty days, which are only rendered if they are shown
+   */
+  private void render(Set<Region> regions, Set<Date> days) {
+    if (regions.contains(Region.EVENT_WINDOW)) {
+      this.eventWindow.clear();
+    }
+    if (regions.contains(Region.CALENDAR_BAR) && this.features != null) {
+      this.calendarBar.update();
     }
 
-    eventPane.setOnMouseClicked(e -> {
-      if (e.getButton() == MouseButton.PRIMARY) {
-        Stage editEventStage = new Stage();
-        VBox eventEditor = new EditEventPopup(event, () -> this.features.updateCalendar(),
-            eventToDelete -> this.features.deleteEvent(eventToDelete));
-        Scene editEventScene = new Scene(eventEditor, 350, 350);
-        editEventStage.setScene(editEventScene);
-        editEventStage.initOwner(this.getScene().getWindow());
-        editEventStage.initModality(Modality.WINDOW_MODAL);
-        editEventStage.setTitle("Edit Event");
-        editEventStage.show();
-        eventEditor.requestFocus();
-      }
-    });
+    RenderContext context = RenderContext.of(this.dayTimeline.getFirstDate(),
+        DayTimeline.COLUMNS, this.dayTimeline.getColumnHeight());
+    this.dayTimeline.showNow(context);
 
-    String toolTipString = String.format("%s\n%s\n%s\n%s", event.getTitle(),
-        event.getDate().formattedDate(), timeString, event.getDescription());
+    // The days are only rendered once their weeks have been laid out, which asks for a render
+    // again
+    if ((regions.contains(Region.WEEK) || !days.isEmpty()) && !this.layOutShownDays(context)) {
+      regions.retainAll(EnumSet.of(Region.WEEK, Region.SELECTION));
+      this.refreshScheduler.defer(regions, days);
+      return;
+    }
 
-    Tooltip eventToolTip = new Tooltip(toolTipString);
-    eventToolTip.setShowDelay(new Duration(200));
-    Tooltip.install(eventPane, eventToolTip);
+    // Rendering every shown day covers the dirty days and the selection
+    if (regions.contains(Region.WEEK)) {
+      for (int i = 0; i < context.getDayCount(); i++) {
+        this.updateDay(context, i);
+      }
+      return;
+    }
 
-    if (duration < 2) {
-      duration = 2;
+    for (int i = 0; i < context.getDayCount(); i++) {
+      if (days.contains(context.getDate(i))) {
+        this.updateDay(context, i);
+      }
+    }
+    if (regions.contains(Region.SELECTION)) {
+      this.updateSelection();
     }
+  }
 
-    GridPane.setRowSpan(eventPane, duration);
+  /**
+   * Updates the label and the column of the given shown day to show the day's date and the shown
+   * events taking place on it, as laid out in the window of weeks.
+   *
+   * @param context  the context of the render
+   * @param dayIndex the index of the day among the shown days, starting with 0 for the first
+   */
+  private void updateDay(RenderContext context, int dayIndex) {
+    this.dayTimeline.getLabel(dayIndex).showDay(context, dayIndex);
 
-    return eventPane;
+    DayRenderer dayRenderer = this.dayTimeline.getRenderer(dayIndex);
+    dayRenderer.showDay(context, dayIndex);
+    dayRenderer.showEvents(this.features == null ? List.of()
+        : this.eventWindow.getDay(context.getDate(dayIndex)));
   }
 }
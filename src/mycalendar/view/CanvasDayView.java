@@ -0,0 +1,244 @@
+package mycalendar.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import mycalendar.model.Event;
+
+/**
+ * Represents the column of a single shown day drawn on a canvas rather than built from nodes, so
+ * the column is made of two nodes however busy the day is. The day's events are drawn on the canvas
+ * whenever they change, over a highlight shown if the day is today. The column is transparent
+ * otherwise, and the dividers drawn once for every column by the timeline show through it. The
+ * area each event was drawn in is kept so that clicks and the tooltip can find the event under the
+ * mouse.
+ */
+public class CanvasDayView extends Pane implements DayRenderer {
+
+  // Lightens the shared background of the column to about #4a4a4a
+  private static final Background TODAY_BACKGROUND =
+      new Background(new BackgroundFill(Color.rgb(255, 255, 255, 0.14), null, null));
+  private static final Color EVENT_BORDER = Color.FLORALWHITE;
+  private static final Color SELECTED_BORDER = Color.web("#1b1b1b");
+  private static final Color EVENT_TEXT = Color.web("#333333");
+  private static final Font TITLE_FONT = Font.font("Century Gothic", FontWeight.BOLD, 10);
+  private static final Font DETAILS_FONT = Font.font("Century Gothic", 10);
+  private static final double TEXT_PADDING = 6;
+
+  private final Canvas eventCanvas;
+  private final Predicate<Event> isSelected;
+  private final BiConsumer<Event, MouseEvent> onEventClicked;
+  // Used to measure the width of event titles
+  private final Text measuredText;
+
+  private final List<EventLayout> events;
+  // The area each event was last drawn in, in the order the events were drawn
+  private final List<Rectangle2D> eventAreas;
+  private boolean today;
+  // The height of a row as of the last render
+  private double rowHeight;
+  private EventLayout hoveredEvent;
+
+  /**
+   * Creates an empty day column sized to the given width and height of the calendar view.
+   *
+   * @param viewWidth      the width of the calendar view
+   * @param viewHeight     the height of the calendar view
+   * @param isSelected     a condition which takes in an event and determines whether or not it is
+   *                       selected
+   * @param onEventClicked an operation which takes in an event and the mouse click on it and
+   *                       responds to the click
+   */
+  public CanvasDayView(ReadOnlyDoubleProperty viewWidth, ReadOnlyDoubleProperty viewHeight,
+      Predicate<Event> isSelected, BiConsumer<Event, MouseEvent> onEventClicked) {
+    super();
+    this.isSelected = isSelected;
+    this.onEventClicked = onEventClicked;
+    this.events = new ArrayList<>();
+    this.eventAreas = new ArrayList<>();
+    this.today = false;
+    this.rowHeight = 0;
+    this.hoveredEvent = null;
+    this.measuredText = new Text();
+    this.measuredText.setFont(TITLE_FONT);
+
+    // The canvas follows the size of the column, which must not be held up by the canvas
+    this.setMinSize(0, 0);
+    this.prefWidthProperty().bind(viewWidth.divide(7.3));
+    this.prefHeightProperty().bind(viewHeight.multiply(1.6));
+
+    this.eventCanvas = new Canvas();
+    this.eventCanvas.widthProperty().bind(this.widthProperty());
+    this.eventCanvas.heightProperty().bind(this.heightProperty());
+    // A change of height changes the row height, which the next render brings with it
+    this.eventCanvas.widthProperty().addListener(
+        (observable, oldSize, newSize) -> this.drawEvents());
+
+    this.eventCanvas.setOnMouseClicked(e -> {
+      EventLayout event = this.eventAt(e.getX(), e.getY());
+      if (event != null) {
+        this.onEventClicked.accept(event.getEvent(), e);
+      }
+    });
+    this.eventCanvas.setOnMouseMoved(e -> this.hover(this.eventAt(e.getX(), e.getY())));
+    this.eventCanvas.setOnMouseExited(e -> this.hover(null));
+
+    this.getChildren().add(this.eventCanvas);
+  }
+
+  @Override
+  public Node getNode() {
+    return this;
+  }
+
+  @Override
+  public void showDay(RenderContext context, int dayIndex) {
+    this.rowHeight = context.getRowHeight();
+    boolean today = context.isToday(dayIndex);
+    if (today != this.today) {
+      this.today = today;
+      this.setBackground(today ? TODAY_BACKGROUND : null);
+    }
+  }
+
+  @Override
+  public void showEvents(List<EventLayout> events) {
+    this.events.clear();
+    this.events.addAll(events);
+    this.hover(null);
+    this.drawEvents();
+  }
+
+  @Override
+  public void updateSelection() {
+    this.drawEvents();
+  }
+
+  /**
+   * Draws the events of the column on the canvas at the row height of the last render, and
+   * remembers the area of each event.
+   */
+  private void drawEvents() {
+    double width = this.eventCanvas.getWidth();
+    double height = this.eventCanvas.getHeight();
+    double rowHeight = this.rowHeight;
+    GraphicsContext gc = this.eventCanvas.getGraphicsContext2D();
+    gc.clearRect(0, 0, width, height);
+
+    this.eventAreas.clear();
+    for (EventLayout event : this.events) {
+      double laneWidth = width / event.getLaneCount();
+      double y = event.getStartRow() * rowHeight;
+      Rectangle2D area = new Rectangle2D(event.getLane() * laneWidth, y, laneWidth,
+          Math.max(Math.min(event.getRowSpan() * rowHeight, height - y), 0));
+      this.drawEvent(gc, event, area);
+      this.eventAreas.add(area);
+    }
+  }
+
+  /**
+   * Draws the given laid out event in the given area: a box of the event's color, outlined in a
+   * dashed border if the event is selected, showing its title and details.
+   *
+   * @param gc     the graphics context of the canvas
+   * @param layout the laid out event to draw
+   * @param area   the area to draw the event in
+   */
+  private void drawEvent(GraphicsContext gc, EventLayout layout, Rectangle2D area) {
+    Event event = layout.getEvent();
+    double x = area.getMinX();
+    double y = area.getMinY();
+    double width = area.getWidth();
+    double height = area.getHeight();
+
+    gc.setFill(Color.rgb(event.getColor().getRed(), event.getColor().getGreen(),
+        event.getColor().getBlue()));
+    gc.fillRect(x, y, width, height);
+
+    if (this.isSelected.test(event)) {
+      gc.setStroke(SELECTED_BORDER);
+      gc.setLineWidth(3);
+      gc.setLineDashes(6);
+      gc.strokeRect(x + 1.5, y + 1.5, Math.max(width - 3, 0), Math.max(height - 3, 0));
+      gc.setLineDashes(null);
+    } else {
+      gc.setStroke(EVENT_BORDER);
+      gc.setLineWidth(2);
+      gc.strokeRect(x + 1, y + 1, Math.max(width - 2, 0), Math.max(height - 2, 0));
+    }
+
+    // Keep the text within the event's box
+    gc.save();
+    gc.beginPath();
+    gc.rect(x, y, width, height);
+    gc.clip();
+
+    gc.setFill(EVENT_TEXT);
+    gc.setTextBaseline(VPos.TOP);
+    gc.setFont(TITLE_FONT);
+    gc.fillText(layout.getTitle(), x + TEXT_PADDING, y + 2);
+
+    gc.setFont(DETAILS_FONT);
+    if (layout.isStacked()) {
+      gc.fillText(layout.getDetails(), x + TEXT_PADDING, y + 2 + TITLE_FONT.getSize() * 1.3);
+    } else {
+      this.measuredText.setText(layout.getTitle());
+      double titleWidth = this.measuredText.getLayoutBounds().getWidth();
+      gc.fillText(layout.getTimeRange(), x + 3 * TEXT_PADDING + titleWidth, y + 2);
+    }
+
+    gc.restore();
+  }
+
+  /**
+   * Gets the event drawn at the given point of the canvas. Where events overlap, the one drawn last
+   * (and so on top) is found.
+   *
+   * @param x the x coordinate of the point
+   * @param y the y coordinate of the point
+   * @return the event drawn at the given point, or null if there is none
+   */
+  private EventLayout eventAt(double x, double y) {
+    for (int i = this.eventAreas.size() - 1; i >= 0; i--) {
+      if (this.eventAreas.get(i).contains(x, y)) {
+        return this.events.get(i);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Shows the tooltip of the given event now under the mouse, or removes the tooltip if no event
+   * is under the mouse.
+   *
+   * @param event the event under the mouse, or null if there is none
+   */
+  private void hover(EventLayout event) {
+    if (event == this.hoveredEvent) {
+      return;
+    }
+
+    this.hoveredEvent = event;
+    if (event == null) {
+      EventTooltip.hide(this.eventCanvas);
+    } else {
+      EventTooltip.show(this.eventCanvas, event.getEvent());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package mycalendar.view;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+/**
+ * Represents the one clock every part of the view showing the current time is driven by. The clock
+ * ticks on each whole second, rather than every second from whenever it was started, and tells its
+ * listeners when the second, the minute, or the day has changed, so that each part only does work
+ * as often as what it shows changes. The next tick is always timed from the real time, so the clock
+ * does not drift. Only used on the JavaFX thread.
+ */
+public final class ClockService {
+
+  private final List<Consumer<LocalDateTime>> secondListeners;
+  private final List<Consumer<LocalDateTime>> minuteListeners;
+  private final List<Consumer<LocalDateTime>> dayListeners;
+  private final PauseTransition nextTick;
+  private LocalDateTime lastTick;
+
+  /**
+   * Creates a clock which is not ticking yet.
+   */
+  public ClockService() {
+    this.secondListeners = new ArrayList<>();
+    this.minuteListeners = new ArrayList<>();
+    this.dayListeners = new ArrayList<>();
+    this.nextTick = new PauseTransition();
+    this.nextTick.setOnFinished(e -> this.tick());
+    this.lastTick = LocalDateTime.now();
+  }
+
+  /**
+   * Adds an operation which is run with the current date and time on each whole second.
+   *
+   * @param listener the operation to run each second
+   */
+  public void onSecond(Consumer<LocalDateTime> listener) {
+    this.secondListeners.add(listener);
+  }
+
+  /**
+   * Adds an operation which is run with the current date and time on each whole minute.
+   *
+   * @param listener the operation to run each minute
+   */
+  public void onMinute(Consumer<LocalDateTime> listener) {
+    this.minuteListeners.add(listener);
+  }
+
+  /**
+   * Adds an operation which is run with the current date and time at each midnight.
+   *
+   * @param listener the operation to run each day
+   */
+  public void onDay(Consumer<LocalDateTime> listener) {
+    this.dayListeners.add(listener);
+  }
+
+  /**
+   * Starts the clock, telling every listener the current time at once and then ticking on each
+   * whole second.
+   */
+  public void start() {
+    LocalDateTime now = LocalDateTime.now();
+    this.lastTick = now;
+    this.tell(this.secondListeners, now);
+    this.tell(this.minuteListeners, now);
+    this.scheduleNextTick(now);
+  }
+
+  /**
+   * Tells the listeners of each boundary passed since the last tick the current time, and waits for
+   * the next whole second.
+   */
+  private void tick() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime lastTick = this.lastTick;
+    this.lastTick = now;
+
+    this.tell(this.secondListeners, now);
+    if (!now.truncatedTo(ChronoUnit.MINUTES).equals(lastTick.truncatedTo(ChronoUnit.MINUTES))) {
+      this.tell(this.minuteListeners, now);
+    }
+    if (!now.toLocalDate().equals(lastTick.toLocalDate())) {
+      this.tell(this.dayListeners, now);
+    }
+
+    this.scheduleNextTick(now);
+  }
+
+  /**
+   * Waits until the whole second after the given time before ticking again.
+   *
+   * @param now the current date and time
+   */
+  private void scheduleNextTick(LocalDateTime now) {
+    long untilNextSecond = ChronoUnit.MILLIS.between(now,
+        now.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+    // Wake just after the boundary so that the time read then is past it
+    this.nextTick.setDuration(Duration.millis(untilNextSecond + 1));
+    this.nextTick.playFromStart();
+  }
+
+  /**
+   * Runs each of the given listeners with the given time.
+   *
+   * @param listeners the listeners to run
+   * @param now       the current date and time
+   */
+  private void tell(List<Consumer<LocalDateTime>> listeners, LocalDateTime now) {
+    for (Consumer<LocalDateTime> listener : listeners) {
+      listener.accept(now);
+    }
+  }
+}
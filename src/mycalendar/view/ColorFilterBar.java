@@ -0,0 +1,106 @@
+package mycalendar.view;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+import mycalendar.model.EventColor;
+
+/**
+ * Represents a bar of toggles, one for each event color, used for choosing which colors of events
+ * are shown in the calendar. Each toggle also shows the number of events of its color on the shown
+ * days, and right-clicking a toggle allows the user to delete every event of its color.
+ */
+public class ColorFilterBar extends HBox {
+
+  private final Map<EventColor, ToggleButton> toggles;
+  private final Set<EventColor> shownColors;
+
+  /**
+   * Creates an instance of the color filter bar with every color shown.
+   *
+   * @param showColors  an operation which takes in the colors of events to show and shows only the
+   *                    events with those colors
+   * @param deleteColor an operation which takes in a color and deletes every event of that color
+   */
+  public ColorFilterBar(Consumer<Set<EventColor>> showColors, Consumer<EventColor> deleteColor) {
+    super(6);
+    this.toggles = new EnumMap<>(EventColor.class);
+    this.shownColors = EnumSet.allOf(EventColor.class);
+
+    for (EventColor color : EventColor.values()) {
+      ToggleButton toggle = new ToggleButton();
+      toggle.setSelected(true);
+      toggle.setFont(Font.font("Century Gothic", 11));
+      this.styleToggle(toggle, color);
+
+      toggle.setOnAction(e -> {
+        if (toggle.isSelected()) {
+          this.shownColors.add(color);
+        } else {
+          this.shownColors.remove(color);
+        }
+        this.styleToggle(toggle, color);
+        showColors.accept(EnumSet.copyOf(this.shownColors));
+      });
+
+      MenuItem deleteItem = new MenuItem("Delete all " + color.name() + " events");
+      deleteItem.setOnAction(e -> deleteColor.accept(color));
+      toggle.setContextMenu(new ContextMenu(deleteItem));
+
+      this.toggles.put(color, toggle);
+      this.getChildren().add(toggle);
+    }
+
+    this.setCounts(new EnumMap<>(EventColor.class));
+    this.setAlignment(Pos.CENTER_RIGHT);
+    this.setPadding(new Insets(0, 10, 0, 0));
+  }
+
+  /**
+   * Gets the colors of the events currently chosen to be shown.
+   *
+   * @return the colors of the events to show
+   */
+  public Set<EventColor> getShownColors() {
+    return EnumSet.copyOf(this.shownColors);
+  }
+
+  /**
+   * Shows the given number of events of each color on the toggles. Colors missing from the given
+   * counts are shown as having no events.
+   *
+   * @param counts the number of events of each color
+   */
+  public void setCounts(Map<EventColor, Integer> counts) {
+    for (Map.Entry<EventColor, ToggleButton> entry : this.toggles.entrySet()) {
+      int count = counts.getOrDefault(entry.getKey(), 0);
+      entry.getValue().setText(entry.getKey().name() + " " + count);
+    }
+  }
+
+  /**
+   * Styles the given toggle filled with its color if its events are shown and outlined with its
+   * color otherwise.
+   *
+   * @param toggle the toggle to style
+   * @param color  the color of the toggle
+   */
+  private void styleToggle(ToggleButton toggle, EventColor color) {
+    if (toggle.isSelected()) {
+      toggle.setStyle("-fx-background-color: " + color.rgbString()
+          + ";-fx-text-fill: #1b1b1b;-fx-background-radius: 10");
+    } else {
+      toggle.setStyle("-fx-background-color: transparent;-fx-border-color: " + color.rgbString()
+          + ";-fx-text-fill: #9e9e9e;-fx-border-radius: 10");
+    }
+  }
+}
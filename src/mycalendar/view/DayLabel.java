@@ -0,0 +1,55 @@
+package mycalendar.view;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.dateandtime.Date;
+import mycalendar.model.dateandtime.DayOfWeek;
+
+/**
+ * Represents the label on top of a day column showing the day of the week and the day of the month
+ * of the column. The label is kept as the shown days change and only its text is updated.
+ */
+public class DayLabel extends BorderPane {
+
+  private final Label dayLabel;
+
+  /**
+   * Creates an instance of the label showing no day yet.
+   */
+  public DayLabel() {
+    super();
+
+    this.dayLabel = new Label();
+    this.dayLabel.setFont(Font.font("Century Gothic", 18));
+    this.dayLabel.setAlignment(Pos.CENTER);
+    this.dayLabel.setTextAlignment(TextAlignment.CENTER);
+    this.dayLabel.setStyle("-fx-text-fill: #c2c2c2");
+
+    this.setCenter(this.dayLabel);
+  }
+
+  /**
+   * Shows the date of the given shown day being rendered, highlighting the label if the date is
+   * today.
+   *
+   * @param context  the context of the render
+   * @param dayIndex the index of the column's day among the shown days, starting with 0 for the
+   *                 first
+   */
+  public void showDay(RenderContext context, int dayIndex) {
+    Date date = context.getDate(dayIndex);
+    DayOfWeek dayOfWeek = CalendarMath.getDayOfWeek(date.getYear(), date.getMonth(), date.getDay());
+    this.dayLabel.setText(dayOfWeek.toString() + "\n" + date.getDay());
+
+    if (context.isToday(dayIndex)) {
+      this.setStyle(
+          "-fx-background-color: #3b3b3b; -fx-border-width: 0 1 0 1; -fx-border-color: #1b1b1b");
+    } else {
+      this.setStyle("-fx-border-width: 0 1 0 1; -fx-border-color: #1b1b1b");
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package mycalendar.view;
+
+import java.util.List;
+import javafx.scene.Node;
+
+/**
+ * Represents a renderer of the column of a single shown day, showing the day's events and whether
+ * it is today. The dividers behind the column are drawn by the timeline for every column at once.
+ * The column is kept as the shown days change and is given another day to show, so only its events
+ * are redrawn.
+ */
+public interface DayRenderer {
+
+  /**
+   * Gets the node showing the column.
+   *
+   * @return the node showing the column
+   */
+  Node getNode();
+
+  /**
+   * Shows the column as the given shown day being rendered: highlighted if the day is today, and
+   * plain otherwise. The line marking the current time is not part of the column.
+   *
+   * @param context  the context of the render
+   * @param dayIndex the index of the column's day among the shown days, starting with 0 for the
+   *                 first
+   */
+  void showDay(RenderContext context, int dayIndex);
+
+  /**
+   * Shows the given laid out events in place of the events the column was showing.
+   *
+   * @param events the laid out events taking place on the column's day
+   */
+  void showEvents(List<EventLayout> events);
+
+  /**
+   * Redraws the shown events to match which of them are selected.
+   */
+  void updateSelection();
+}
@@ -0,0 +1,401 @@
+package mycalendar.view;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents the days shown side by side in the calendar as a timeline which scrolls smoothly
+ * through the days rather than only jumping a week at a time. Only enough day columns and labels
+ * to fill the view, and one more of each, are ever created: as the timeline is scrolled, the
+ * columns slide along, and a column which scrolls out of one side of the view is moved to the other
+ * side to show the day entering it. The number of nodes therefore stays the same however far the
+ * timeline is scrolled. The background, border, and dividers of a column are the same for every
+ * day, so they are drawn once into a single image the size of one column, which fills the row of
+ * columns as a repeating pattern behind them; each column only draws its events and today's
+ * highlight. A single line marking the current time lies over the columns and is moved onto today's
+ * column whenever the time or the shown days change. Only used on the JavaFX thread.
+ */
+final class DayTimeline {
+
+  // The number of days which fit in the view
+  static final int SHOWN_DAYS = 7;
+  // The columns kept, including the one partly shown while the timeline is between days
+  static final int COLUMNS = SHOWN_DAYS + 1;
+  private static final int ROWS = EventText.ROWS_PER_DAY;
+
+  private static final Color BACKGROUND = Color.web("#2a2a2a");
+  private static final Color BORDER = Color.web("#4d4259");
+  private static final Color HOUR_DIVIDER = Color.web("#726b80");
+  private static final Color FINE_DIVIDER = Color.DIMGRAY;
+
+  private final DoubleBinding columnWidth;
+  private final HBox labelRow;
+  private final HBox columnRow;
+  private final Pane labelViewport;
+  private final Pane columnViewport;
+  // The labels and columns in the order they are shown, starting with the first shown day
+  private final List<DayLabel> dayLabels;
+  private final List<DayRenderer> dayRenderers;
+  private final Consumer<List<Date>> daysEntered;
+  private final Line nowLine;
+  // The column the current time line is on
+  private final IntegerProperty nowColumn;
+  private LocalDate today;
+  private Date firstDate;
+  // How far the timeline is scrolled past the start of the first shown day, in pixels
+  private double offset;
+
+  /**
+   * Creates a timeline showing the days from the given date.
+   *
+   * @param viewWidth      the width of the calendar view
+   * @param createRenderer an operation which creates an empty day column
+   * @param daysEntered    an operation which takes in the dates of the days which scrolled into
+   *                       view and renders them
+   * @param firstDate      the date of the first shown day
+   */
+  DayTimeline(ReadOnlyDoubleProperty viewWidth, Supplier<DayRenderer> createRenderer,
+      Consumer<List<Date>> daysEntered, Date firstDate) {
+    this.columnWidth = viewWidth.divide(7.3);
+    this.daysEntered = daysEntered;
+    this.firstDate = new Date(firstDate);
+    this.offset = 0;
+
+    this.dayLabels = new ArrayList<>();
+    this.dayRenderers = new ArrayList<>();
+    this.labelRow = new HBox();
+    this.columnRow = new HBox();
+    for (int i = 0; i < COLUMNS; i++) {
+      DayLabel dayLabel = new DayLabel();
+      dayLabel.prefWidthProperty().bind(this.columnWidth);
+      dayLabel.setMinWidth(0);
+      dayLabel.setPrefHeight(50);
+      this.dayLabels.add(dayLabel);
+      this.labelRow.getChildren().add(dayLabel);
+
+      DayRenderer dayRenderer = createRenderer.get();
+      this.dayRenderers.add(dayRenderer);
+      this.columnRow.getChildren().add(dayRenderer.getNode());
+    }
+
+    // The line is left out of the row's layout and placed over the columns by translating it
+    this.nowColumn = new SimpleIntegerProperty(0);
+    this.nowLine = new Line();
+    this.nowLine.endXProperty().bind(this.columnWidth);
+    this.nowLine.setStroke(Color.rgb(224, 224, 224, 0.6));
+    this.nowLine.setStrokeWidth(2);
+    this.nowLine.setManaged(false);
+    this.nowLine.setMouseTransparent(true);
+    this.nowLine.setVisible(false);
+    this.nowLine.translateXProperty().bind(this.columnWidth.multiply(this.nowColumn));
+    this.columnRow.getChildren().add(this.nowLine);
+    this.today = null;
+
+    this.labelViewport = this.viewport(this.labelRow);
+    this.columnViewport = this.viewport(this.columnRow);
+
+    this.columnWidth.addListener((observable, oldWidth, newWidth) -> this.drawDividers());
+    this.columnRow.heightProperty().addListener(
+        (observable, oldHeight, newHeight) -> this.drawDividers());
+  }
+
+  /**
+   * Gets the node showing the labels of the shown days.
+   *
+   * @return the node showing the day labels
+   */
+  Node getLabels() {
+    return this.labelViewport;
+  }
+
+  /**
+   * Gets the node showing the columns of the shown days.
+   *
+   * @return the node showing the day columns
+   */
+  Node getColumns() {
+    return this.columnViewport;
+  }
+
+  /**
+   * Gets the height of the day columns, which is the height of the whole day.
+   *
+   * @return the height of the day columns
+   */
+  double getColumnHeight() {
+    return this.columnRow.getHeight();
+  }
+
+  /**
+   * Gets the property holding the height of the day columns, so that the columns can be rendered
+   * again when it changes.
+   *
+   * @return the height of the day columns
+   */
+  ReadOnlyDoubleProperty columnHeightProperty() {
+    return this.columnRow.heightProperty();
+  }
+
+  /**
+   * Gets the date of the first shown day.
+   *
+   * @return the first shown date
+   */
+  Date getFirstDate() {
+    return new Date(this.firstDate);
+  }
+
+  /**
+   * Gets the date of the last day with a column, which is partly shown while the timeline is
+   * between days.
+   *
+   * @return the last shown date
+   */
+  Date getLastDate() {
+    return CalendarMath.goForwardDays(this.firstDate, COLUMNS - 1);
+  }
+
+  /**
+   * Gets the label of the given shown day.
+   *
+   * @param dayIndex the index of the day among the shown days, starting with 0 for the first
+   * @return the label of the given day
+   */
+  DayLabel getLabel(int dayIndex) {
+    return this.dayLabels.get(dayIndex);
+  }
+
+  /**
+   * Gets the column of the given shown day.
+   *
+   * @param dayIndex the index of the day among the shown days, starting with 0 for the first
+   * @return the column of the given day
+   */
+  DayRenderer getRenderer(int dayIndex) {
+    return this.dayRenderers.get(dayIndex);
+  }
+
+  /**
+   * Gets the columns of the shown days, in the order they are shown.
+   *
+   * @return the day columns
+   */
+  List<DayRenderer> getRenderers() {
+    return Collections.unmodifiableList(this.dayRenderers);
+  }
+
+  /**
+   * Moves the line marking the current time to the current time of the given context, on today's
+   * column if today is shown, using the context's row height.
+   *
+   * @param context the context of the render
+   */
+  void showNow(RenderContext context) {
+    this.today = context.getNow().toLocalDate();
+    this.nowLine.setTranslateY(context.getNowRow() * context.getRowHeight());
+    this.placeNowLine();
+  }
+
+  /**
+   * Shows the days from the given date, lined up with the edge of the view. The columns are not
+   * rendered for the new days here.
+   *
+   * @param firstDate the date of the first shown day
+   */
+  void showFrom(Date firstDate) {
+    this.firstDate = new Date(firstDate);
+    this.offset = 0;
+    this.slide();
+  }
+
+  /**
+   * Scrolls the timeline by the given number of pixels, forward in time if positive and back if
+   * negative. Each column scrolled out of view is moved to the other side to show the day entering
+   * the view, and the days which entered are passed on to be rendered. The timeline stops at the
+   * ends of the calendar's range of dates.
+   *
+   * @param pixels the distance to scroll
+   */
+  void scrollBy(double pixels) {
+    double width = this.columnWidth.get();
+    if (width <= 0) {
+      return;
+    }
+
+    List<Date> entered = new ArrayList<>();
+    this.offset += pixels;
+    while (this.offset >= width) {
+      // Dates past the end of the range are not moved to
+      Date enteringDate = CalendarMath.goForwardDays(this.firstDate, COLUMNS);
+      if (enteringDate.equals(this.firstDate)) {
+        this.offset = 0;
+        break;
+      }
+
+      this.firstDate = CalendarMath.goForwardDays(this.firstDate, 1);
+      this.offset -= width;
+      this.moveColumn(0, COLUMNS - 1);
+      entered.add(enteringDate);
+    }
+    while (this.offset < 0) {
+      Date enteringDate = CalendarMath.goForwardDays(this.firstDate, -1);
+      if (enteringDate.equals(this.firstDate)) {
+        this.offset = 0;
+        break;
+      }
+
+      this.firstDate = enteringDate;
+      this.offset += width;
+      this.moveColumn(COLUMNS - 1, 0);
+      entered.add(enteringDate);
+    }
+
+    this.slide();
+    if (!entered.isEmpty()) {
+      this.daysEntered.accept(entered);
+    }
+  }
+
+  /**
+   * Moves the label and column at the given position to the other given position.
+   *
+   * @param from the position of the label and column to move
+   * @param to   the position to move them to
+   */
+  private void moveColumn(int from, int to) {
+    DayLabel dayLabel = this.dayLabels.remove(from);
+    this.dayLabels.add(to, dayLabel);
+    this.labelRow.getChildren().remove(dayLabel);
+    this.labelRow.getChildren().add(to, dayLabel);
+
+    DayRenderer dayRenderer = this.dayRenderers.remove(from);
+    this.dayRenderers.add(to, dayRenderer);
+    // The current time line stays the row's last child, so it is drawn over every column
+    this.columnRow.getChildren().remove(dayRenderer.getNode());
+    this.columnRow.getChildren().add(to, dayRenderer.getNode());
+  }
+
+  /**
+   * Slides the labels and columns to show how far the timeline is scrolled past the first shown
+   * day.
+   */
+  private void slide() {
+    this.labelRow.setTranslateX(-this.offset);
+    this.columnRow.setTranslateX(-this.offset);
+    this.placeNowLine();
+  }
+
+  /**
+   * Places the line marking the current time on today's column, or hides it if today is not
+   * shown.
+   */
+  private void placeNowLine() {
+    if (this.today == null) {
+      return;
+    }
+
+    long column = ChronoUnit.DAYS.between(CalendarMath.modelDateToLocalDate(this.firstDate),
+        this.today);
+    boolean todayShown = column >= 0 && column < COLUMNS;
+    this.nowLine.setVisible(todayShown);
+    if (todayShown) {
+      this.nowColumn.set((int) column);
+    }
+  }
+
+  /**
+   * Draws the background, dividers, and border of one column into an image at the current size of
+   * the columns, and fills the row of columns with it repeated once for each column. The row slides
+   * with its columns, so the pattern stays lined up with them as the timeline is scrolled.
+   */
+  private void drawDividers() {
+    double width = this.columnWidth.get();
+    double height = this.columnRow.getHeight();
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+
+    Canvas canvas = new Canvas(width, height);
+    GraphicsContext gc = canvas.getGraphicsContext2D();
+    double rowHeight = height / ROWS;
+
+    gc.setFill(BACKGROUND);
+    gc.fillRect(0, 0, width, height);
+
+    // One fine divider every 15 minutes, except where the pattern skips
+    gc.setStroke(FINE_DIVIDER);
+    gc.setLineWidth(0.8);
+    for (int j = 0; j < ROWS; j += 3) {
+      if (j % 4 != 1) {
+        double y = (j + 3) * rowHeight - 0.4;
+        gc.strokeLine(0, y, width, y);
+      }
+    }
+
+    gc.setStroke(HOUR_DIVIDER);
+    gc.setLineWidth(2);
+    for (int i = 1; i <= 24; i++) {
+      double y = i * height / 24 - 1;
+      gc.strokeLine(0, y, width, y);
+    }
+
+    gc.setStroke(BORDER);
+    gc.setLineWidth(1.4);
+    gc.strokeRect(0.7, 0.7, Math.max(width - 1.4, 0), Math.max(height - 1.4, 0));
+
+    // Drawn at the screen's scale so the dividers stay sharp on high density screens
+    double scale = Screen.getPrimary().getOutputScaleX();
+    SnapshotParameters parameters = new SnapshotParameters();
+    parameters.setTransform(Transform.scale(scale, scale));
+    Image column = canvas.snapshot(parameters, null);
+
+    this.columnRow.setBackground(new Background(new BackgroundFill(
+        new ImagePattern(column, 0, 0, width, height, false), null, null)));
+  }
+
+  /**
+   * Creates a pane as wide as the shown days which shows only the part of the given row within it.
+   *
+   * @param row the row of labels or columns
+   * @return the pane showing the given row
+   */
+  private Pane viewport(HBox row) {
+    Pane viewport = new Pane(row);
+    viewport.setMinSize(0, 0);
+    viewport.prefWidthProperty().bind(this.columnWidth.multiply(SHOWN_DAYS));
+    viewport.maxWidthProperty().bind(this.columnWidth.multiply(SHOWN_DAYS));
+
+    Rectangle clip = new Rectangle();
+    clip.widthProperty().bind(viewport.widthProperty());
+    clip.heightProperty().bind(viewport.heightProperty());
+    viewport.setClip(clip);
+
+    return viewport;
+  }
+}
@@ -0,0 +1,121 @@
+package mycalendar.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.StackPane;
+import mycalendar.model.Event;
+
+/**
+ * Represents the column of a single shown day built from nodes: a box for each of the day's events
+ * over a highlight shown if the day is today. The column is transparent otherwise, and the dividers
+ * drawn once for every column by the timeline show through it. The column keeps its nodes as the
+ * shown days change and only its event boxes are given new events, so showing a change to a day or
+ * scrolling to another day does not rebuild the column. Event boxes are kept once created and
+ * reused for the events shown later; boxes not needed for the shown events are hidden.
+ */
+public class DayView extends StackPane implements DayRenderer {
+
+  private static final int ROWS = EventText.ROWS_PER_DAY;
+
+  // Lightens the shared background of the column to about #4a4a4a
+  private static final String TODAY_STYLE = "-fx-background-color: rgba(255, 255, 255, 0.14);";
+
+  private final Predicate<Event> isSelected;
+  private final BiConsumer<Event, MouseEvent> onEventClicked;
+  private final GridPane minuteGridPane;
+  // Every event box created so far; only the first shownEventPanes of them show an event
+  private final List<EventPane> eventPanes;
+  private int shownEventPanes;
+
+  /**
+   * Creates an empty day column sized to the given width and height of the calendar view.
+   *
+   * @param viewWidth      the width of the calendar view
+   * @param viewHeight     the height of the calendar view
+   * @param isSelected     a condition which takes in an event and determines whether or not it is
+   *                       selected
+   * @param onEventClicked an operation which takes in an event and the mouse click on its box and
+   *                       responds to the click
+   */
+  public DayView(ReadOnlyDoubleProperty viewWidth, ReadOnlyDoubleProperty viewHeight,
+      Predicate<Event> isSelected, BiConsumer<Event, MouseEvent> onEventClicked) {
+    super();
+    this.isSelected = isSelected;
+    this.onEventClicked = onEventClicked;
+    this.eventPanes = new ArrayList<>();
+    this.shownEventPanes = 0;
+
+    this.setMinSize(0, 0);
+    this.prefWidthProperty().bind(viewWidth.divide(7.3));
+    this.prefHeightProperty().bind(viewHeight.multiply(1.6));
+
+    this.minuteGridPane = new GridPane();
+    this.minuteGridPane.prefWidthProperty().bind(viewWidth.divide(7.3));
+    this.minuteGridPane.prefHeightProperty().bind(this.heightProperty());
+    this.minuteGridPane.setStyle("-fx-background-color: transparent;");
+
+    for (int j = 0; j < ROWS; j++) {
+      RowConstraints rowConstraints = new RowConstraints();
+      rowConstraints.setPercentHeight(100.0 / ROWS);
+      this.minuteGridPane.getRowConstraints().add(rowConstraints);
+    }
+
+    this.getChildren().add(this.minuteGridPane);
+  }
+
+  @Override
+  public Node getNode() {
+    return this;
+  }
+
+  @Override
+  public void showDay(RenderContext context, int dayIndex) {
+    this.setStyle(context.isToday(dayIndex) ? TODAY_STYLE : "");
+  }
+
+  /**
+   * Shows the given events in the column's event boxes, reusing the boxes it already has and only
+   * creating boxes when the day has more events than the column has ever shown. The rest of the
+   * column is kept.
+   *
+   * @param events the laid out events taking place on the column's day
+   */
+  @Override
+  public void showEvents(List<EventLayout> events) {
+    while (this.eventPanes.size() < events.size()) {
+      EventPane eventPane = new EventPane(this.widthProperty(), this.onEventClicked);
+      eventPane.maxHeightProperty().bind(this.heightProperty());
+      this.eventPanes.add(eventPane);
+      this.minuteGridPane.getChildren().add(eventPane);
+    }
+
+    for (int i = 0; i < this.eventPanes.size(); i++) {
+      EventPane eventPane = this.eventPanes.get(i);
+      boolean shown = i < events.size();
+      if (shown) {
+        EventLayout event = events.get(i);
+        eventPane.setEvent(event, this.isSelected.test(event.getEvent()));
+      }
+
+      // Hidden boxes are left out of the grid's layout as well
+      eventPane.setVisible(shown);
+      eventPane.setManaged(shown);
+    }
+    this.shownEventPanes = events.size();
+  }
+
+  @Override
+  public void updateSelection() {
+    for (int i = 0; i < this.shownEventPanes; i++) {
+      EventPane eventPane = this.eventPanes.get(i);
+      eventPane.setSelected(this.isSelected.test(eventPane.getEvent()));
+    }
+  }
+}
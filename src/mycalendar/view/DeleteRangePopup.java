@@ -0,0 +1,64 @@
+package mycalendar.view;
+
+import java.util.function.BiConsumer;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents a window containing fields to allow a user to delete every event taking place within
+ * a range of dates.
+ */
+public class DeleteRangePopup extends VBox {
+
+  /**
+   * Creates the window to allow the user to delete the events within a range of dates. The range
+   * starts out as the given week.
+   *
+   * @param sundayOfWeek the first date of the week to start the range with
+   * @param removeRange  an operation which takes in the first and last dates of a range and
+   *                     removes every event within that range from the calendar
+   */
+  public DeleteRangePopup(Date sundayOfWeek, BiConsumer<Date, Date> removeRange) {
+    DatePicker startDatePicker = new ValidDatePicker();
+    startDatePicker.setPromptText("First date");
+    startDatePicker.setValue(CalendarMath.modelDateToLocalDate(sundayOfWeek));
+
+    DatePicker endDatePicker = new ValidDatePicker();
+    endDatePicker.setPromptText("Last date");
+    endDatePicker
+        .setValue(CalendarMath.modelDateToLocalDate(CalendarMath.goForwardDays(sundayOfWeek, 6)));
+
+    Label warningLabel = new Label("Every event from the first date through the last date,\n"
+        + "including repeating events, will be deleted.");
+
+    Button confirmButton = new Button("Delete Events");
+
+    confirmButton.setOnAction(actionEvent -> {
+      try {
+        Date startDate = CalendarMath.localDateToModelDate(startDatePicker.getValue());
+        Date endDate = CalendarMath.localDateToModelDate(endDatePicker.getValue());
+
+        try {
+          removeRange.accept(startDate, endDate);
+
+          Stage stage = (Stage) this.getScene().getWindow();
+          stage.close();
+        } catch (IllegalArgumentException iae) {
+          ErrorMessage message = new ErrorMessage(this.getScene().getWindow(), iae.getMessage());
+          message.show();
+        }
+      } catch (NullPointerException npe) {
+        ErrorMessage message = new ErrorMessage(this.getScene().getWindow(),
+            "All items must be filled in.");
+        message.show();
+      }
+    });
+
+    this.getChildren().addAll(startDatePicker, endDatePicker, warningLabel, confirmButton);
+  }
+}
@@ -1,37 +1,51 @@
 package mycalendar.view;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextArea;
-import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import mycalendar.model.CalendarMath;
 import mycalendar.model.Event;
 import mycalendar.model.EventColor;
+import mycalendar.model.EventSeries;
 import mycalendar.model.dateandtime.Date;
 import mycalendar.model.dateandtime.Time;
 
 /**
- * Represents a window containing fields to allow a user edit an existing event in the calendar.
+ * Represents a window containing fields to allow a user edit an existing event in the calendar. If
+ * the event is an occurrence of a series of repeating events, only that occurrence is edited, but
+ * the whole series can be deleted.
  */
 public class EditEventPopup extends VBox {
 
   /**
    * Creates the window to allow the user to edit the given event.
    *
-   * @param event        the event to edit
-   * @param eventUpdater an operation which updates the calendar
-   * @param deleteEvent  an operation which takes in an event and deletes it from the calendar
+   * @param event                the event to edit
+   * @param updateEvent          an operation which takes in an event and its updated version and
+   *                             replaces the event in the calendar
+   * @param deleteEvent          an operation which takes in an event and deletes it from the
+   *                             calendar
+   * @param deleteSeries         an operation which takes in a series of repeating events and
+   *                             deletes it from the calendar
+   * @param suggestTitles        an operation which takes in the start of a title and gives the most
+   *                             used titles starting with it
+   * @param latestEventWithTitle an operation which takes in a title and gives the latest event
+   *                             with that title
    */
-  public EditEventPopup(Event event, Runnable eventUpdater, Consumer<Event> deleteEvent) {
-    TextField titleField = new TextField();
-    titleField.setMaxWidth(200);
-    titleField.setPromptText("Event title");
-    titleField.setText(event.getTitle());
+  public EditEventPopup(Event event, BiConsumer<Event, Event> updateEvent,
+      Consumer<Event> deleteEvent, Consumer<EventSeries> deleteSeries,
+      Function<String, List<String>> suggestTitles,
+      Function<String, Event> latestEventWithTitle) {
+    CheckBox fillFromLastUse = new CheckBox("Fill in details from last use of title");
 
     DatePicker eventDatePicker = new ValidDatePicker();
     eventDatePicker.setPromptText("Event date");
@@ -53,8 +67,16 @@ public class EditEventPopup extends VBox {
     descriptionArea.setPromptText("Event description");
     descriptionArea.setText(event.getDescription());
 
-    Button confirmButton = new Button("Update Event");
-    Button deleteButton = new Button("Delete Event");
+    TitleField titleField = new TitleField(suggestTitles, title -> {
+      if (fillFromLastUse.isSelected()) {
+        LastUseDetails.fill(latestEventWithTitle, title, startTimePicker, endTimePicker,
+            colorPicker, descriptionArea);
+      }
+    });
+    titleField.setText(event.getTitle());
+
+    Button confirmButton = new Button(event.isRecurring() ? "Update This Event" : "Update Event");
+    Button deleteButton = new Button(event.isRecurring() ? "Delete This Event" : "Delete Event");
     deleteButton.setStyle("-fx-background-color: rgba(224,70,60,0.83)");
 
     confirmButton.setOnAction(actionEvent -> {
@@ -68,13 +90,9 @@ public class EditEventPopup extends VBox {
         EventColor color = colorPicker.getValue();
 
         try {
-          event.setTitle(title);
-          event.setDate(eventDate);
-          event.setStartAndEndTimes(newStartTime, newEndTime);
-          event.setDescription(description);
-          event.setColor(color);
-
-          eventUpdater.run();
+          Event updatedEvent = new Event(eventDate, newStartTime, newEndTime, title, description,
+              color);
+          updateEvent.accept(event, updatedEvent);
 
           Stage stage = (Stage) this.getScene().getWindow();
           stage.close();
@@ -100,7 +118,25 @@ public class EditEventPopup extends VBox {
       }
     });
 
-    this.getChildren().addAll(titleField, eventDatePicker, startTimePicker, endTimePicker,
-        descriptionArea, colorPicker, confirmButton, deleteButton);
+    this.getChildren().addAll(titleField, fillFromLastUse, eventDatePicker, startTimePicker,
+        endTimePicker, descriptionArea, colorPicker, confirmButton, deleteButton);
+
+    if (event.isRecurring()) {
+      Button deleteSeriesButton = new Button("Delete Series");
+      deleteSeriesButton.setStyle("-fx-background-color: rgba(224,70,60,0.83)");
+
+      deleteSeriesButton.setOnAction(actionEvent -> {
+        try {
+          deleteSeries.accept(event.getSeries());
+          Stage stage = (Stage) this.getScene().getWindow();
+          stage.close();
+        } catch (IllegalArgumentException iae) {
+          ErrorMessage message = new ErrorMessage(this.getScene().getWindow(), iae.getMessage());
+          message.show();
+        }
+      });
+
+      this.getChildren().add(deleteSeriesButton);
+    }
   }
 }
@@ -0,0 +1,123 @@
+package mycalendar.view;
+
+import mycalendar.model.Event;
+
+/**
+ * Represents an event laid out for a day column: the rows it is drawn across, the lane it takes
+ * beside the events it overlaps, and the text shown with it. The text of its tooltip is left to be
+ * made when the event is moused over. Laying an event out does not touch any node, so it can be
+ * done off the JavaFX thread, leaving the renderers only to apply it. Immutable.
+ */
+public final class EventLayout {
+
+  private final Event event;
+  private final int startRow;
+  private final int rowSpan;
+  private final int lane;
+  private final int laneCount;
+  private final boolean stacked;
+  private final String title;
+  private final String details;
+  private final String timeRange;
+
+  /**
+   * Lays out the given event in the given lane.
+   *
+   * @param event     the event to lay out
+   * @param lane      the lane the event takes, starting with 0 for the leftmost
+   * @param laneCount the number of lanes the column is split into where the event is
+   */
+  EventLayout(Event event, int lane, int laneCount) {
+    this.event = event;
+    this.startRow = EventText.startRow(event);
+    this.rowSpan = EventText.rowSpan(event);
+    this.lane = lane;
+    this.laneCount = laneCount;
+    this.stacked = EventText.showsDescription(event);
+    this.title = event.getTitle();
+    this.details = EventText.details(event);
+    this.timeRange = EventText.timeRange(event);
+  }
+
+  /**
+   * Gets the laid out event.
+   *
+   * @return the event
+   */
+  public Event getEvent() {
+    return this.event;
+  }
+
+  /**
+   * Gets the row of the day column on which the event starts.
+   *
+   * @return the index of the 5-minute row the event starts on
+   */
+  public int getStartRow() {
+    return this.startRow;
+  }
+
+  /**
+   * Gets the number of rows the event is drawn across.
+   *
+   * @return the number of rows the event spans
+   */
+  public int getRowSpan() {
+    return this.rowSpan;
+  }
+
+  /**
+   * Gets the lane the event takes beside the events it overlaps.
+   *
+   * @return the index of the event's lane, starting with 0 for the leftmost
+   */
+  public int getLane() {
+    return this.lane;
+  }
+
+  /**
+   * Gets the number of lanes the column is split into where the event is, which is the same for
+   * every event it overlaps. An event which overlaps no other event has the whole column.
+   *
+   * @return the number of lanes beside the event
+   */
+  public int getLaneCount() {
+    return this.laneCount;
+  }
+
+  /**
+   * Determines whether or not the event's details are shown below its title rather than beside it.
+   *
+   * @return whether or not the event's description is shown
+   */
+  public boolean isStacked() {
+    return this.stacked;
+  }
+
+  /**
+   * Gets the title of the event.
+   *
+   * @return the title of the event
+   */
+  public String getTitle() {
+    return this.title;
+  }
+
+  /**
+   * Gets the text shown with the title of the event.
+   *
+   * @return the details of the event shown with its title
+   */
+  public String getDetails() {
+    return this.details;
+  }
+
+  /**
+   * Gets the start and end times of the event in the form "start - end".
+   *
+   * @return the formatted times of the event
+   */
+  public String getTimeRange() {
+    return this.timeRange;
+  }
+}
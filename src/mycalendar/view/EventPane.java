@@ -0,0 +1,148 @@
+package mycalendar.view;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+
+/**
+ * Represents a box showing an event in a day column: the event's title, its start and end times,
+ * and, if there is room, its description. Moused over, the box shows the event's full details in
+ * the tooltip shared by every box. The box is sized to span the rows of the event's duration and
+ * the width of its lane, and colored with the event's color.
+ *
+ * <p>Boxes are recycled as the shown events change, the same way list cells are: a box is created
+ * once with its labels and mouse handlers, and is then given a new event to show, so showing
+ * another week does not create new nodes.
+ */
+public class EventPane extends HBox {
+
+  private static final Map<EventColor, String> STYLES = new EnumMap<>(EventColor.class);
+  private static final Map<EventColor, String> SELECTED_STYLES = new EnumMap<>(EventColor.class);
+
+  static {
+    for (EventColor color : EventColor.values()) {
+      STYLES.put(color, "-fx-background-color: " + color.rgbString()
+          + ";-fx-border-color: floralwhite;-fx-border-width: 2");
+      SELECTED_STYLES.put(color, "-fx-background-color: " + color.rgbString()
+          + ";-fx-border-color: #1b1b1b;-fx-border-width: 3;-fx-border-style: dashed");
+    }
+  }
+
+  private final Label titleLabel;
+  private final Label detailsLabel;
+  // The title is above the details when the description is shown and beside them otherwise
+  private final VBox stackedLabels;
+  private final HBox inlineLabels;
+
+  private final IntegerProperty lane;
+  private final IntegerProperty laneCount;
+
+  private Event event;
+  private boolean stacked;
+
+  /**
+   * Creates a box showing no event yet.
+   *
+   * @param columnWidth the width of the day column the box is in
+   * @param onClicked   an operation which takes in the shown event and the mouse click on the box
+   *                    and responds to the click
+   */
+  public EventPane(ReadOnlyDoubleProperty columnWidth, BiConsumer<Event, MouseEvent> onClicked) {
+    super();
+    this.event = null;
+
+    // The box takes its lane's share of the column, beside the events it overlaps
+    this.lane = new SimpleIntegerProperty(0);
+    this.laneCount = new SimpleIntegerProperty(1);
+    this.prefWidthProperty().bind(columnWidth.divide(this.laneCount));
+    this.setMaxWidth(Region.USE_PREF_SIZE);
+    this.translateXProperty().bind(this.prefWidthProperty().multiply(this.lane));
+
+    this.titleLabel = new Label();
+    this.titleLabel.setPadding(new Insets(0, 0, 0, 6));
+    this.titleLabel.setFont(Font.font("Century Gothic", FontWeight.BOLD, 10));
+
+    this.detailsLabel = new Label();
+    this.detailsLabel.setFont(Font.font("Century Gothic", 10));
+    this.detailsLabel.setPadding(new Insets(0, 0, 0, 6));
+
+    this.stackedLabels = new VBox();
+    this.inlineLabels = new HBox(this.titleLabel, this.detailsLabel);
+    this.stacked = false;
+    this.getChildren().add(this.inlineLabels);
+
+    // The tooltip's text is only made for the event the mouse is over
+    this.setOnMouseEntered(e -> EventTooltip.show(this, this.event));
+    this.setOnMouseExited(e -> EventTooltip.hide(this));
+    this.setOnMouseClicked(e -> onClicked.accept(this.event, e));
+  }
+
+  /**
+   * Shows the given laid out event in this box, replacing the event it showed before.
+   *
+   * @param layout   the laid out event to show
+   * @param selected whether or not the event is selected
+   */
+  public void setEvent(EventLayout layout, boolean selected) {
+    this.event = layout.getEvent();
+
+    this.titleLabel.setText(layout.getTitle());
+    this.detailsLabel.setText(layout.getDetails());
+
+    // Only move the labels when the box switches between the two layouts
+    boolean stacked = layout.isStacked();
+    if (stacked != this.stacked) {
+      this.stacked = stacked;
+      if (stacked) {
+        this.inlineLabels.getChildren().clear();
+        this.stackedLabels.getChildren().setAll(this.titleLabel, this.detailsLabel);
+        this.getChildren().setAll(this.stackedLabels);
+      } else {
+        this.stackedLabels.getChildren().clear();
+        this.inlineLabels.getChildren().setAll(this.titleLabel, this.detailsLabel);
+        this.getChildren().setAll(this.inlineLabels);
+      }
+    }
+
+    this.setSelected(selected);
+
+    this.lane.set(layout.getLane());
+    this.laneCount.set(layout.getLaneCount());
+
+    GridPane.setRowIndex(this, layout.getStartRow());
+    GridPane.setRowSpan(this, layout.getRowSpan());
+  }
+
+  /**
+   * Gets the event shown in this box.
+   *
+   * @return the shown event, or null if no event has been shown yet
+   */
+  public Event getEvent() {
+    return this.event;
+  }
+
+  /**
+   * Styles this box with the color of its event, outlined in a dashed border if the event is
+   * selected.
+   *
+   * @param selected whether or not the event is selected
+   */
+  public void setSelected(boolean selected) {
+    this.setStyle((selected ? SELECTED_STYLES : STYLES).get(this.event.getColor()));
+  }
+}
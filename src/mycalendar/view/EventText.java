@@ -0,0 +1,88 @@
+package mycalendar.view;
+
+import mycalendar.model.CalendarMath;
+import mycalendar.model.Event;
+
+/**
+ * Represents the text and sizes shared by every renderer of the events in the week view.
+ */
+final class EventText {
+
+  // The number of 5-minute rows in a day
+  static final int ROWS_PER_DAY = 288;
+
+  // The fewest rows an event is drawn across, so that very short events stay visible
+  private static final int MIN_ROWS = 2;
+  // Events spanning more rows than this show their description below their title
+  private static final int MAX_SINGLE_LINE_ROWS = 9;
+
+  private EventText() {
+  }
+
+  /**
+   * Gets the row of the day column on which the given event starts.
+   *
+   * @param event the event
+   * @return the index of the 5-minute row the event starts on
+   */
+  static int startRow(Event event) {
+    return CalendarMath.num5MinIncrementsFromMidnight(event.getStartTime());
+  }
+
+  /**
+   * Gets the number of 5-minute rows the given event is drawn across.
+   *
+   * @param event the event
+   * @return the number of rows the event spans
+   */
+  static int rowSpan(Event event) {
+    return Math.max(CalendarMath.num5MinuteIncrementsBetween(event.getStartTime(),
+        event.getEndTime()), MIN_ROWS);
+  }
+
+  /**
+   * Determines whether or not the given event is long enough to show its description below its
+   * title rather than only its times beside it.
+   *
+   * @param event the event
+   * @return whether or not the event's description is shown
+   */
+  static boolean showsDescription(Event event) {
+    return CalendarMath.num5MinuteIncrementsBetween(event.getStartTime(), event.getEndTime())
+        > MAX_SINGLE_LINE_ROWS;
+  }
+
+  /**
+   * Gets the start and end times of the given event in the form "start - end".
+   *
+   * @param event the event
+   * @return the formatted times of the event
+   */
+  static String timeRange(Event event) {
+    return String.format("%s - %s", event.getStartTime().simpleFormat(),
+        event.getEndTime().simpleFormat());
+  }
+
+  /**
+   * Gets the text shown under the title of the given event: its times and its description if there
+   * is room, or only its times beside the title otherwise.
+   *
+   * @param event the event
+   * @return the details of the event shown with its title
+   */
+  static String details(Event event) {
+    return showsDescription(event) ? timeRange(event) + "\n" + event.getDescription()
+        : "\t" + timeRange(event);
+  }
+
+  /**
+   * Gets the full details of the given event shown when it is moused over.
+   *
+   * @param event the event
+   * @return the title, date, times, and description of the event
+   */
+  static String tooltip(Event event) {
+    return String.format("%s\n%s\n%s\n%s", event.getTitle(), event.getDate().formattedDate(),
+        timeRange(event), event.getDescription());
+  }
+}
@@ -0,0 +1,49 @@
+package mycalendar.view;
+
+import javafx.scene.Node;
+import javafx.scene.control.Tooltip;
+import javafx.util.Duration;
+import mycalendar.model.Event;
+
+/**
+ * Represents the one tooltip every day column shows the full details of an event in. Only one
+ * event is ever moused over at a time, so rather than each event having a tooltip of its own, the
+ * tooltip is created the first time an event is moused over and is filled in with the details of
+ * whichever event is under the mouse. Showing more events therefore creates no tooltips and
+ * formats no text. Only used on the JavaFX thread.
+ */
+final class EventTooltip {
+
+  private static Tooltip tooltip = null;
+
+  private EventTooltip() {
+  }
+
+  /**
+   * Shows the details of the given event in the tooltip of the given node, which the mouse is now
+   * over.
+   *
+   * @param node  the node showing the event
+   * @param event the event under the mouse
+   */
+  static void show(Node node, Event event) {
+    if (tooltip == null) {
+      tooltip = new Tooltip();
+      tooltip.setShowDelay(new Duration(200));
+    }
+
+    tooltip.setText(EventText.tooltip(event));
+    Tooltip.install(node, tooltip);
+  }
+
+  /**
+   * Removes the tooltip from the given node, which the mouse has left.
+   *
+   * @param node the node which showed an event
+   */
+  static void hide(Node node) {
+    if (tooltip != null) {
+      Tooltip.uninstall(node, tooltip);
+    }
+  }
+}
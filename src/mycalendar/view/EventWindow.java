@@ -0,0 +1,331 @@
+package mycalendar.view;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.CalendarUpdate;
+import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents the laid out events of the window of weeks the view holds on to: the weeks of the
+ * shown days and the weeks just before and after them, so that scrolling or moving a week forward
+ * or back can be shown without waiting for the calendar. Each week is fetched from the calendar
+ * with only the shown colors, which the calendar reads from its index of each color rather than by
+ * checking every event, and laid out on a background thread, so that neither fetching nor laying
+ * out a week ever holds up a frame. Changing the shown colors drops every kept week.
+ *
+ * <p>Weeks which leave the window are not dropped right away: the layouts of the most recently
+ * used weeks are kept, up to a fixed number, so that paging back through weeks just seen is shown
+ * at once as well. A change to the calendar drops the layouts of the weeks it affects. The memory
+ * used depends only on how many events these weeks have, not on the size of the calendar. Only
+ * used on the JavaFX thread.
+ */
+final class EventWindow {
+
+  /**
+   * Represents an operation which gets the events of the given colors from the calendar.
+   */
+  @FunctionalInterface
+  interface Fetch {
+
+    /**
+     * Gets every event of the given colors between the given dates inclusive, in order of date
+     * and start time.
+     *
+     * @param start  the first date of the range
+     * @param end    the last date of the range
+     * @param colors the colors of the events to get
+     * @return the events of the given colors within the given range
+     */
+    List<Event> apply(Date start, Date end, Set<EventColor> colors);
+  }
+
+  // The number of weeks before and after the shown weeks which are fetched ahead of time
+  private static final int PREFETCHED_WEEKS = 1;
+  // The most weeks whose layouts are kept, which must be more than the weeks within the window
+  private static final int CACHED_WEEKS = 12;
+
+  private final Fetch fetch;
+  private final Runnable shownWeekReady;
+  private final Consumer<String> showError;
+  private final Executor executor;
+  // The layout of each kept week which is ready, by the Sunday of the week, least recently used
+  // first
+  private final Map<Date, WeekLayout> weeks;
+  // The weeks being laid out in the background
+  private final Set<Date> pendingWeeks;
+  // The weeks being laid out which changed since they were fetched, and must be fetched again
+  private final Set<Date> stalePendingWeeks;
+  // The layouts dropped after a change to weeks within the window, whose unchanged days are kept
+  // when the weeks are laid out again
+  private final Map<Date, WeekLayout> outdatedWeeks;
+  // The kept weeks which could not be laid out and are only shown in place of their layouts until
+  // they leave the window, so that they are fetched again once the window moves back to them
+  private final Set<Date> failedWeeks;
+  // The Sundays of the weeks the shown days fall in
+  private List<Date> shownSundays;
+  // The colors of the events fetched
+  private Set<EventColor> shownColors;
+
+  /**
+   * Constructs an empty window showing every color.
+   *
+   * @param fetch          an operation which takes in a first and last date and a set of colors and
+   *                       gets every event of those colors between the dates inclusive; called off
+   *                       the JavaFX thread
+   * @param shownWeekReady an operation run once a week of the shown days has been laid out after
+   *                       the window moved to it or it changed
+   * @param showError      an operation which shows the given error message, used when a week
+   *                       cannot be laid out
+   */
+  EventWindow(Fetch fetch, Runnable shownWeekReady, Consumer<String> showError) {
+    this.fetch = fetch;
+    this.shownWeekReady = shownWeekReady;
+    this.showError = showError;
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("week-layout-", 0).factory());
+    this.weeks = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Date, WeekLayout> eldest) {
+        // The weeks within the window are used on every move, so they are never the eldest
+        return this.size() > CACHED_WEEKS;
+      }
+    };
+    this.pendingWeeks = new HashSet<>();
+    this.stalePendingWeeks = new HashSet<>();
+    this.outdatedWeeks = new HashMap<>();
+    this.failedWeeks = new HashSet<>();
+    this.shownSundays = List.of();
+    this.shownColors = EnumSet.allOf(EventColor.class);
+  }
+
+  /**
+   * Moves the window to the weeks of the days between the given dates inclusive. Weeks within the
+   * window which are kept are marked as the most recently used, and the rest are laid out in the
+   * background.
+   *
+   * @param firstDate the first shown date
+   * @param lastDate  the last shown date
+   */
+  void moveTo(Date firstDate, Date lastDate) {
+    List<Date> shownSundays = new ArrayList<>();
+    Date lastSunday = CalendarMath.getSundayOfWeek(lastDate);
+    Date shownSunday = CalendarMath.getSundayOfWeek(firstDate);
+    shownSundays.add(shownSunday);
+    while (!shownSunday.equals(lastSunday)) {
+      Date nextSunday = CalendarMath.goForwardDays(shownSunday, 7);
+      if (nextSunday.equals(shownSunday)) {
+        break;
+      }
+      shownSunday = nextSunday;
+      shownSundays.add(shownSunday);
+    }
+    this.shownSundays = shownSundays;
+
+    // The shown weeks are used last, so they are the last to be dropped
+    List<Date> windowSundays = this.windowSundays();
+    this.outdatedWeeks.keySet().retainAll(windowSundays);
+    for (Date sunday : new ArrayList<>(this.failedWeeks)) {
+      if (!windowSundays.contains(sunday)) {
+        this.weeks.remove(sunday);
+        this.failedWeeks.remove(sunday);
+      }
+    }
+    for (Date sunday : windowSundays.reversed()) {
+      if (this.weeks.get(sunday) == null && !this.pendingWeeks.contains(sunday)) {
+        this.layOut(sunday);
+      }
+    }
+  }
+
+  /**
+   * Drops every kept week, so that each is laid out again the next time the window is moved to
+   * it. Used when the calendar changed in a way not sent as an update, such as a calendar being
+   * shown or hidden.
+   */
+  void clear() {
+    this.outdatedWeeks.putAll(this.weeks);
+    this.weeks.clear();
+    this.failedWeeks.clear();
+    this.stalePendingWeeks.addAll(this.pendingWeeks);
+  }
+
+  /**
+   * Shows only the events of the given colors from now on, dropping every kept week so that each is
+   * fetched again with the given colors the next time the window is moved to it.
+   *
+   * @param colors the colors of the events to show
+   */
+  void showColors(Set<EventColor> colors) {
+    this.shownColors = colors.isEmpty()
+        ? EnumSet.noneOf(EventColor.class) : EnumSet.copyOf(colors);
+    this.clear();
+  }
+
+  /**
+   * Drops every kept week affected by the given change, so that it is laid out again the next time
+   * the window is moved to it.
+   *
+   * @param update the change made to the calendar
+   * @return whether or not the change affected a week of the shown days
+   */
+  boolean invalidate(CalendarUpdate update) {
+    boolean shownWeekChanged = false;
+    Set<Date> sundays = new HashSet<>(this.weeks.keySet());
+    sundays.addAll(this.pendingWeeks);
+    for (Date sunday : sundays) {
+      if (update.affects(sunday, CalendarMath.goForwardDays(sunday, 6))) {
+        WeekLayout outdated = this.weeks.remove(sunday);
+        this.failedWeeks.remove(sunday);
+        if (outdated != null) {
+          this.outdatedWeeks.put(sunday, outdated);
+        }
+        if (this.pendingWeeks.contains(sunday)) {
+          this.stalePendingWeeks.add(sunday);
+        }
+        shownWeekChanged = shownWeekChanged || this.shownSundays.contains(sunday);
+      }
+    }
+
+    return shownWeekChanged;
+  }
+
+  /**
+   * Determines whether or not every week of the shown days has been laid out.
+   *
+   * @return whether or not the shown days are ready to be rendered
+   */
+  boolean isShownReady() {
+    for (Date sunday : this.shownSundays) {
+      if (!this.weeks.containsKey(sunday)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets the laid out events of the given shown day with the shown colors, in order of start time.
+   *
+   * @param date the date of the day
+   * @return the day's laid out events, or an empty list if the day's week has not been laid out
+   */
+  List<EventLayout> getDay(Date date) {
+    WeekLayout layout = this.weeks.get(CalendarMath.getSundayOfWeek(date));
+    return layout == null ? List.of() : layout.getDay(date);
+  }
+
+  /**
+   * Fetches the events of the shown colors of the week starting on the given Sunday and lays them
+   * out on a background thread, and keeps the layout once it is ready. The days unchanged since the
+   * week's outdated layout, if it has one, are not laid out again. If laying out fails, the
+   * failure is shown and the outdated layout, or an empty one, is shown in its place until the week
+   * changes or leaves the window, after which it is fetched again.
+   *
+   * @param sundayOfWeek the first date of the week
+   */
+  private void layOut(Date sundayOfWeek) {
+    this.pendingWeeks.add(sundayOfWeek);
+    WeekLayout previous = this.outdatedWeeks.remove(sundayOfWeek);
+    Set<EventColor> colors = this.shownColors;
+    this.executor.execute(() -> {
+      WeekLayout layout;
+      String error = null;
+      try {
+        layout = WeekLayout.of(sundayOfWeek, this.fetch.apply(sundayOfWeek,
+            CalendarMath.goForwardDays(sundayOfWeek, 6), colors), previous);
+      } catch (RuntimeException e) {
+        // Whatever the failure, the week must still stop being pending, or the shown days would
+        // wait for it forever
+        layout = previous != null ? previous : WeekLayout.of(sundayOfWeek, List.of());
+        error = "Could not load the events of the week of " + sundayOfWeek.formattedDate() + ": "
+            + (e.getMessage() != null ? e.getMessage() : e.toString());
+      }
+
+      WeekLayout readyLayout = layout;
+      String readyError = error;
+      Platform.runLater(() -> this.laidOut(readyLayout, readyError));
+    });
+  }
+
+  /**
+   * Keeps the given layout if its week is still within the window, or lays the week out again if it
+   * changed while it was being laid out. Weeks the window passed by while they were being laid out
+   * are not kept, so that they do not push out the weeks around the shown days. A week which could
+   * not be laid out has its failure shown and is marked as failed, so that it is fetched again.
+   *
+   * @param layout the layout which is ready, or the layout shown in its place if laying out failed
+   * @param error  the reason laying out failed, or null if it succeeded
+   */
+  private void laidOut(WeekLayout layout, String error) {
+    Date sunday = layout.getSunday();
+    this.pendingWeeks.remove(sunday);
+    boolean stale = this.stalePendingWeeks.remove(sunday);
+    if (!this.windowSundays().contains(sunday)) {
+      return;
+    }
+    if (stale) {
+      this.outdatedWeeks.put(sunday, layout);
+      this.layOut(sunday);
+      return;
+    }
+
+    this.weeks.put(sunday, layout);
+    if (error == null) {
+      this.failedWeeks.remove(sunday);
+    } else {
+      this.failedWeeks.add(sunday);
+      this.showError.accept(error);
+    }
+    if (this.shownSundays.contains(sunday)) {
+      this.shownWeekReady.run();
+    }
+  }
+
+  /**
+   * Gets the Sunday of each week within the window, the shown weeks first. Weeks outside the
+   * calendar's range of dates are left out.
+   *
+   * @return the first date of each week within the window
+   */
+  private List<Date> windowSundays() {
+    List<Date> sundays = new ArrayList<>(this.shownSundays);
+    if (sundays.isEmpty()) {
+      return sundays;
+    }
+
+    Date before = sundays.getFirst();
+    Date after = sundays.getLast();
+    try {
+      for (int i = 0; i < PREFETCHED_WEEKS; i++) {
+        before = CalendarMath.goBackOneWeek(before);
+        sundays.add(before);
+      }
+    } catch (IllegalArgumentException ignored) {
+      // The window stops at the first week of the calendar's range of dates
+    }
+    try {
+      for (int i = 0; i < PREFETCHED_WEEKS; i++) {
+        after = CalendarMath.goForwardOneWeek(after);
+        sundays.add(after);
+      }
+    } catch (IllegalArgumentException ignored) {
+      // The window stops at the last week of the calendar's range of dates
+    }
+
+    return sundays;
+  }
+}
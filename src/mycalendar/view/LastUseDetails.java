@@ -0,0 +1,51 @@
+package mycalendar.view;
+
+import java.util.function.Function;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.TextArea;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.Event;
+import mycalendar.model.EventColor;
+import mycalendar.model.dateandtime.Time;
+
+/**
+ * Fills in the fields of an event popup using the details of the last event with a chosen title.
+ */
+final class LastUseDetails {
+
+  /**
+   * Fills in the color, duration, and description of the latest event with the given title. The
+   * end time is set to keep the start time chosen by the user and use the duration of the latest
+   * event. If no event has the given title, nothing is filled in.
+   *
+   * @param latestEventWithTitle an operation which takes in a title and gives the latest event
+   *                             with that title
+   * @param title                the chosen title
+   * @param startTimePicker      the start time picker of the popup
+   * @param endTimePicker        the end time picker of the popup
+   * @param colorPicker          the color picker of the popup
+   * @param descriptionArea      the description area of the popup
+   */
+  static void fill(Function<String, Event> latestEventWithTitle, String title,
+      TimePicker startTimePicker, TimePicker endTimePicker, ComboBox<EventColor> colorPicker,
+      TextArea descriptionArea) {
+    Event latestEvent;
+    try {
+      latestEvent = latestEventWithTitle.apply(title);
+    } catch (IllegalArgumentException iae) {
+      return;
+    }
+
+    colorPicker.setValue(latestEvent.getColor());
+    descriptionArea.setText(latestEvent.getDescription());
+
+    try {
+      Time startTime = startTimePicker.getTime();
+      int duration = CalendarMath
+          .minutesBetween(latestEvent.getStartTime(), latestEvent.getEndTime());
+      endTimePicker.setTime(CalendarMath.goForwardMinutes(startTime, duration));
+    } catch (NullPointerException ignored) {
+      // No start time chosen yet, so the duration cannot be applied
+    }
+  }
+}
@@ -1,14 +1,7 @@
 package mycalendar.view;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.event.ActionEvent;
-import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -18,27 +11,27 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
-import javafx.util.Duration;
 import mycalendar.model.CalendarMath;
 import mycalendar.model.dateandtime.Date;
 
 /**
- * Represents a clock showing the date and time which updates every second.
+ * Represents a clock showing the date and time which updates on each tick of the view's clock.
  */
 public class LiveClock extends VBox {
 
-  private final Runnable refresh;
+  private final Runnable showWeek;
   private final Date currentViewDate;
 
   /**
    * Creates an instance of the live clock.
    *
-   * @param refresh         an operation which refreshes the GUI
+   * @param showWeek        an operation which shows the week of the currently viewed date
    * @param currentViewDate the date currently being viewed in the calendar
+   * @param clock           the clock which drives the view
    */
-  public LiveClock(Runnable refresh, Date currentViewDate) {
+  public LiveClock(Runnable showWeek, Date currentViewDate, ClockService clock) {
     super();
-    this.refresh = refresh;
+    this.showWeek = showWeek;
     this.currentViewDate = currentViewDate;
 
     this.resetDateToToday();
@@ -49,13 +42,9 @@ public class LiveClock extends VBox {
     DateTimeFormatter dateFormatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.LONG);
     DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm:ss a");
 
-    Timeline dateTimeLine = this
-        .updateEachSecond(event -> dateLabel.setText(LocalDate.now().format(dateFormatter)));
-    Timeline timeTimeLine = this.updateEachSecond(event -> timeLabel
-        .setText(LocalTime.now().format(timeFormatter).replace("AM", "am").replace("PM", "pm")));
-
-    dateTimeLine.play();
-    timeTimeLine.play();
+    clock.onSecond(now -> timeLabel
+        .setText(now.format(timeFormatter).replace("AM", "am").replace("PM", "pm")));
+    clock.onMinute(now -> dateLabel.setText(now.format(dateFormatter)));
 
     dateLabel.setFont(Font.font("Century Gothic", 26));
     dateLabel.setUnderline(true);
@@ -78,11 +67,11 @@ public class LiveClock extends VBox {
   }
 
   /**
-   * Resets the currently viewed date to today and refreshes the GUI.
+   * Resets the currently viewed date to today and shows its week.
    */
   public void resetDateToToday() {
     this.currentViewDate.setDate(CalendarMath.getCurrentDate());
-    this.refresh.run();
+    this.showWeek.run();
   }
 
   /**
@@ -115,20 +104,4 @@ public class LiveClock extends VBox {
 
     return viewTodayButton;
   }
-
-  /**
-   * Creates a timeline which updates every second repeatedly.
-   *
-   * @param updateEvent the event to call every second
-   * @return a timeline which updates every second repeatedly
-   */
-  private Timeline updateEachSecond(EventHandler<ActionEvent> updateEvent) {
-    Timeline timeline = new Timeline();
-    timeline.setCycleCount(Animation.INDEFINITE);
-
-    timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(0), updateEvent));
-    timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(1)));
-
-    return timeline;
-  }
 }
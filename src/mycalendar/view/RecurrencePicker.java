@@ -0,0 +1,158 @@
+package mycalendar.view;
+
+import java.util.EnumSet;
+import java.util.Set;
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.RecurrenceFrequency;
+import mycalendar.model.RecurrenceRule;
+import mycalendar.model.dateandtime.Date;
+import mycalendar.model.dateandtime.DayOfWeek;
+
+/**
+ * Represents a picker allowing the user to choose whether and how an event repeats: how often it
+ * repeats, which days of the week a weekly event repeats on, and when the repetition ends.
+ */
+public class RecurrencePicker extends VBox {
+
+  private static final String NO_REPEAT = "Does not repeat";
+  private static final String ENDS_NEVER = "Never ends";
+  private static final String ENDS_ON = "Ends on date";
+  private static final String ENDS_AFTER = "Ends after";
+
+  private final ComboBox<String> repeatPicker;
+  private final CheckBox[] weekdayBoxes;
+  private final ComboBox<String> endPicker;
+  private final DatePicker endDatePicker;
+  private final TextField countField;
+
+  /**
+   * Creates an instance of the recurrence picker. By default, the event does not repeat.
+   */
+  public RecurrencePicker() {
+    this.repeatPicker = new ComboBox<>();
+    this.repeatPicker.getItems().add(NO_REPEAT);
+    for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+      this.repeatPicker.getItems().add(frequency.getDisplayName());
+    }
+    this.repeatPicker.setValue(NO_REPEAT);
+
+    HBox weekdayBox = new HBox();
+    this.weekdayBoxes = new CheckBox[7];
+    for (int i = 0; i < 7; i++) {
+      this.weekdayBoxes[i] = new CheckBox(DayOfWeek.getDayOfWeek(i + 1).toString().substring(0, 2));
+      weekdayBox.getChildren().add(this.weekdayBoxes[i]);
+    }
+
+    this.endPicker = new ComboBox<>();
+    this.endPicker.getItems().addAll(ENDS_NEVER, ENDS_ON, ENDS_AFTER);
+    this.endPicker.setValue(ENDS_NEVER);
+
+    this.endDatePicker = new ValidDatePicker();
+    this.endDatePicker.setPromptText("End date");
+
+    this.countField = new TextField();
+    this.countField.setMaxWidth(200);
+    this.countField.setPromptText("Number of events");
+
+    HBox endBox = new HBox();
+    endBox.getChildren().addAll(this.endPicker, this.endDatePicker, this.countField);
+
+    // Only show the fields which apply to the chosen options
+    Runnable updateShownFields = () -> {
+      String weekly = RecurrenceFrequency.Weekly.getDisplayName();
+      RecurrencePicker.show(weekdayBox, weekly.equals(this.repeatPicker.getValue()));
+      RecurrencePicker.show(endBox, this.repeats());
+      RecurrencePicker.show(this.endDatePicker, ENDS_ON.equals(this.endPicker.getValue()));
+      RecurrencePicker.show(this.countField, ENDS_AFTER.equals(this.endPicker.getValue()));
+    };
+    this.repeatPicker.setOnAction(e -> updateShownFields.run());
+    this.endPicker.setOnAction(e -> updateShownFields.run());
+    updateShownFields.run();
+
+    this.getChildren().addAll(this.repeatPicker, weekdayBox, endBox);
+  }
+
+  /**
+   * Determines whether or not the user chose for the event to repeat.
+   *
+   * @return whether or not the event repeats
+   */
+  public boolean repeats() {
+    return !NO_REPEAT.equals(this.repeatPicker.getValue());
+  }
+
+  /**
+   * Gets the rule chosen by the user for a series starting on the given date. If a weekly series
+   * has no days of the week chosen, it repeats on the day of the week of the given date. A series
+   * repeating monthly on a day of the week repeats in the same week of the month as the given date.
+   *
+   * @param startDate the date of the first event of the series
+   * @return the rule chosen by the user
+   * @throws IllegalArgumentException if the event does not repeat or if the chosen end of the
+   *                                  series is invalid
+   * @throws NullPointerException     if an end date is chosen but not filled in
+   */
+  public RecurrenceRule getRule(Date startDate)
+      throws IllegalArgumentException, NullPointerException {
+    if (!this.repeats()) {
+      throw new IllegalArgumentException("The event does not repeat.");
+    }
+
+    RecurrenceFrequency frequency =
+        RecurrenceFrequency.values()[this.repeatPicker.getItems().indexOf(
+            this.repeatPicker.getValue()) - 1];
+
+    DayOfWeek startDay = CalendarMath
+        .getDayOfWeek(startDate.getYear(), startDate.getMonth(), startDate.getDay());
+
+    Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    for (int i = 0; i < 7; i++) {
+      if (this.weekdayBoxes[i].isSelected()) {
+        weekdays.add(DayOfWeek.getDayOfWeek(i + 1));
+      }
+    }
+    if (weekdays.isEmpty()) {
+      weekdays.add(startDay);
+    }
+
+    int weekOfMonth = (startDate.getDay() - 1) / 7 + 1;
+    if (weekOfMonth > 4) {
+      weekOfMonth = RecurrenceRule.LAST_WEEK;
+    }
+
+    Date endDate = null;
+    int count = 0;
+    if (ENDS_ON.equals(this.endPicker.getValue())) {
+      endDate = CalendarMath.localDateToModelDate(this.endDatePicker.getValue());
+    } else if (ENDS_AFTER.equals(this.endPicker.getValue())) {
+      try {
+        count = Integer.parseInt(this.countField.getText().trim());
+      } catch (NumberFormatException nfe) {
+        throw new IllegalArgumentException("Number of events must be a whole number.");
+      }
+      if (count < 1) {
+        throw new IllegalArgumentException("A series must have at least one event.");
+      }
+    }
+
+    return new RecurrenceRule(frequency, weekdays, weekOfMonth, endDate, count, Set.of());
+  }
+
+  /**
+   * Shows or hides the given box, leaving no space for it while it is hidden.
+   *
+   * @param box  the box to show or hide
+   * @param show true if the box should be shown, false if it should be hidden
+   */
+  private static void show(Node box, boolean show) {
+    box.setVisible(show);
+    box.setManaged(show);
+  }
+}
@@ -0,0 +1,132 @@
+package mycalendar.view;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javafx.animation.AnimationTimer;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents a scheduler which collects the requests to refresh parts of the view and renders them
+ * together at most once per JavaFX pulse. Requests only mark the parts they need as dirty, so
+ * several requests made one after another (such as moving the week and refreshing the calendar) are
+ * rendered once, and only the dirty parts are rendered. Only used on the JavaFX thread.
+ */
+final class RefreshScheduler {
+
+  /**
+   * Represents the parts of the view which can be marked as dirty.
+   */
+  enum Region {
+    // The list of calendars along the bottom of the view
+    CALENDAR_BAR,
+    // The events held for the weeks around the shown days, which must be fetched again
+    EVENT_WINDOW,
+    // Every shown day
+    WEEK,
+    // Which of the shown events are selected
+    SELECTION
+  }
+
+  private final BiConsumer<Set<Region>, Set<Date>> render;
+  private final AnimationTimer timer;
+  private final Set<Region> dirtyRegions;
+  private final Set<Date> dirtyDays;
+  private boolean scheduled;
+
+  /**
+   * Constructs a scheduler with nothing dirty.
+   *
+   * @param render an operation which takes in the dirty parts of the view and the dirty shown days
+   *               and renders them
+   */
+  RefreshScheduler(BiConsumer<Set<Region>, Set<Date>> render) {
+    this.render = render;
+    this.dirtyRegions = EnumSet.noneOf(Region.class);
+    this.dirtyDays = new HashSet<>();
+    this.scheduled = false;
+    this.timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        RefreshScheduler.this.flush();
+      }
+    };
+  }
+
+  /**
+   * Marks the given parts of the view as dirty, to be rendered on the next pulse.
+   *
+   * @param regions the dirty parts of the view
+   */
+  void markDirty(Region... regions) {
+    for (Region region : regions) {
+      this.dirtyRegions.add(region);
+    }
+    this.schedule();
+  }
+
+  /**
+   * Marks the given days as dirty, to be rendered on the next pulse if they are still displayed.
+   *
+   * @param dates the dates of the dirty days
+   */
+  void markDaysDirty(Collection<Date> dates) {
+    if (dates.isEmpty()) {
+      return;
+    }
+
+    for (Date date : dates) {
+      this.dirtyDays.add(new Date(date));
+    }
+    this.schedule();
+  }
+
+  /**
+   * Keeps the given parts of the view dirty without asking for a pulse, for parts which cannot be
+   * rendered until something they need is ready. They are rendered on the next pulse asked for.
+   *
+   * @param regions the dirty parts of the view which were not rendered
+   * @param days    the dirty days which were not rendered
+   */
+  void defer(Collection<Region> regions, Collection<Date> days) {
+    this.dirtyRegions.addAll(regions);
+    this.dirtyDays.addAll(days);
+  }
+
+  /**
+   * Asks for whatever is dirty to be rendered on the next pulse, such as once the parts which were
+   * deferred can be rendered.
+   */
+  void requestRender() {
+    this.schedule();
+  }
+
+  /**
+   * Asks for the next pulse if it has not been asked for yet.
+   */
+  private void schedule() {
+    if (!this.scheduled) {
+      this.scheduled = true;
+      this.timer.start();
+    }
+  }
+
+  /**
+   * Renders everything marked as dirty since the last pulse and stops until something is marked
+   * again.
+   */
+  private void flush() {
+    this.timer.stop();
+    this.scheduled = false;
+
+    // Copy first, since rendering may mark more as dirty for the next pulse
+    Set<Region> regions = EnumSet.copyOf(this.dirtyRegions);
+    Set<Date> days = new HashSet<>(this.dirtyDays);
+    this.dirtyRegions.clear();
+    this.dirtyDays.clear();
+
+    this.render.accept(regions, days);
+  }
+}
@@ -0,0 +1,113 @@
+package mycalendar.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import mycalendar.model.Event;
+
+/**
+ * Represents a reminder of an upcoming event. The reminder is shown in the bottom right corner of
+ * the screen above other windows and closes itself after a minute if not dismissed. Reminders shown
+ * at the same time are stacked upwards from the corner, then in further stacks to the left, and a
+ * reminder takes the lowest place left free by a closed one.
+ */
+public class ReminderMessage extends Stage {
+
+  private static final double WIDTH = 260;
+  private static final double HEIGHT = 110;
+  private static final double MARGIN = 10;
+
+  // The place each shown reminder takes, counting up from the corner; places left free by closed
+  // reminders are null. Only used on the JavaFX thread
+  private static final List<ReminderMessage> PLACES = new ArrayList<>();
+
+  /**
+   * Constructs a reminder popup for the given event.
+   *
+   * @param stageOwner the window which owns this reminder popup
+   * @param event      the event to remind the user of
+   */
+  public ReminderMessage(Window stageOwner, Event event) {
+    VBox reminderBox = new VBox(6);
+    reminderBox.setPadding(new Insets(10));
+
+    Label titleLabel = new Label(event.getTitle());
+    titleLabel.setFont(Font.font("Century Gothic", FontWeight.BOLD, 14));
+
+    String timeString = String.format("%s - %s", event.getStartTime().simpleFormat(),
+        event.getEndTime().simpleFormat());
+    Label timeLabel = new Label(timeString);
+    timeLabel.setFont(Font.font("Century Gothic", 12));
+
+    Button dismissButton = new Button("Dismiss");
+    dismissButton.setOnAction(e -> this.close());
+
+    reminderBox.getChildren().addAll(titleLabel, timeLabel, dismissButton);
+
+    PauseTransition autoClose = new PauseTransition(Duration.minutes(1));
+    autoClose.setOnFinished(e -> this.close());
+    this.setOnShown(e -> {
+      this.place();
+      autoClose.play();
+    });
+    this.setOnHidden(e -> this.leavePlace());
+
+    // Start in the corner, which is where the first reminder stays once placed
+    Rectangle2D bounds = Screen.getPrimary().getVisualBounds();
+    this.setX(bounds.getMaxX() - WIDTH - MARGIN);
+    this.setY(bounds.getMaxY() - HEIGHT - MARGIN);
+
+    this.setTitle("Reminder");
+    this.setScene(new Scene(reminderBox, WIDTH, HEIGHT));
+    this.initOwner(stageOwner);
+    this.initStyle(StageStyle.UTILITY);
+    this.setAlwaysOnTop(true);
+  }
+
+  /**
+   * Takes the lowest free place among the shown reminders and moves this reminder there. Its size
+   * is only known with the window's decorations once shown.
+   */
+  private void place() {
+    int place = PLACES.indexOf(null);
+    if (place == -1) {
+      place = PLACES.size();
+      PLACES.add(this);
+    } else {
+      PLACES.set(place, this);
+    }
+
+    Rectangle2D bounds = Screen.getPrimary().getVisualBounds();
+    double width = this.getWidth();
+    double height = this.getHeight();
+    int perStack = Math.max((int) ((bounds.getHeight() - MARGIN) / (height + MARGIN)), 1);
+    this.setX(bounds.getMaxX() - (width + MARGIN) * (place / perStack + 1));
+    this.setY(bounds.getMaxY() - (height + MARGIN) * (place % perStack + 1));
+  }
+
+  /**
+   * Frees the place this reminder took for the next reminder shown.
+   */
+  private void leavePlace() {
+    int place = PLACES.indexOf(this);
+    if (place != -1) {
+      PLACES.set(place, null);
+    }
+    while (!PLACES.isEmpty() && PLACES.getLast() == null) {
+      PLACES.removeLast();
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package mycalendar.view;
+
+import java.time.LocalDateTime;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents what every part of the day view reads while rendering one frame: the current date and
+ * time, the dates of the shown days, and the rows a day is divided into along with their height.
+ * The context is built once per render from a single reading of the clock and of the size of the
+ * columns, so every column agrees on which day is today, where the current time is, and how tall a
+ * row is even if the clock ticks during the render. Immutable.
+ */
+public final class RenderContext {
+
+  private static final int MINUTES_PER_ROW = 5;
+
+  private final LocalDateTime now;
+  private final Date today;
+  private final Date[] dates;
+  private final double rowHeight;
+
+  /**
+   * Constructs a context for rendering the given number of days from the given date at the given
+   * time, with columns of the given height.
+   *
+   * @param firstDate    the date of the first shown day
+   * @param dayCount     the number of shown days
+   * @param columnHeight the height of a day column
+   * @param now          the current date and time
+   */
+  private RenderContext(Date firstDate, int dayCount, double columnHeight, LocalDateTime now) {
+    this.now = now;
+    this.today = CalendarMath.localDateToModelDate(now.toLocalDate());
+    this.rowHeight = columnHeight / EventText.ROWS_PER_DAY;
+
+    this.dates = new Date[dayCount];
+    for (int i = 0; i < dayCount; i++) {
+      this.dates[i] = CalendarMath.goForwardDays(firstDate, i);
+    }
+  }
+
+  /**
+   * Creates a context for rendering the given number of days from the given date with columns of
+   * the given height, reading the clock once.
+   *
+   * @param firstDate    the date of the first shown day
+   * @param dayCount     the number of shown days
+   * @param columnHeight the height of a day column
+   * @return a context for rendering the shown days now
+   */
+  static RenderContext of(Date firstDate, int dayCount, double columnHeight) {
+    return at(firstDate, dayCount, columnHeight, LocalDateTime.now());
+  }
+
+  /**
+   * Creates a context for rendering the given number of days from the given date with columns of
+   * the given height at the given time, such as a time read by the clock service.
+   *
+   * @param firstDate    the date of the first shown day
+   * @param dayCount     the number of shown days
+   * @param columnHeight the height of a day column
+   * @param now          the current date and time
+   * @return a context for rendering the shown days at the given time
+   */
+  static RenderContext at(Date firstDate, int dayCount, double columnHeight, LocalDateTime now) {
+    return new RenderContext(firstDate, dayCount, columnHeight, now);
+  }
+
+  /**
+   * Gets the current date and time as of when this context was built.
+   *
+   * @return the current date and time
+   */
+  public LocalDateTime getNow() {
+    return this.now;
+  }
+
+  /**
+   * Gets today's date as of when this context was built.
+   *
+   * @return today's date
+   */
+  public Date getToday() {
+    return new Date(this.today);
+  }
+
+  /**
+   * Gets the number of rows a day column is divided into.
+   *
+   * @return the number of rows in a day
+   */
+  public int getRowsPerDay() {
+    return EventText.ROWS_PER_DAY;
+  }
+
+  /**
+   * Gets the number of minutes each row of a day column spans.
+   *
+   * @return the number of minutes in a row
+   */
+  public int getMinutesPerRow() {
+    return MINUTES_PER_ROW;
+  }
+
+  /**
+   * Gets the height of each row of a day column, in pixels.
+   *
+   * @return the height of a row
+   */
+  public double getRowHeight() {
+    return this.rowHeight;
+  }
+
+  /**
+   * Gets how far through the day the current time is, in rows from the top of a day column. The
+   * result is not rounded to a whole row.
+   *
+   * @return the row the current time falls on
+   */
+  public double getNowRow() {
+    return (this.now.getHour() * 60 + this.now.getMinute()) / (double) MINUTES_PER_ROW;
+  }
+
+  /**
+   * Gets the number of shown days.
+   *
+   * @return the number of shown days
+   */
+  public int getDayCount() {
+    return this.dates.length;
+  }
+
+  /**
+   * Gets the date of the given shown day.
+   *
+   * @param dayIndex the index of the day among the shown days, starting with 0 for the first
+   * @return the date of the given day
+   */
+  public Date getDate(int dayIndex) {
+    return new Date(this.dates[dayIndex]);
+  }
+
+  /**
+   * Gets the date of the first shown day.
+   *
+   * @return the first shown date
+   */
+  public Date getFirstDate() {
+    return this.getDate(0);
+  }
+
+  /**
+   * Gets the date of the last shown day.
+   *
+   * @return the last shown date
+   */
+  public Date getLastDate() {
+    return this.getDate(this.dates.length - 1);
+  }
+
+  /**
+   * Determines whether or not the given shown day is today.
+   *
+   * @param dayIndex the index of the day among the shown days, starting with 0 for the first
+   * @return whether or not the given day is today
+   */
+  public boolean isToday(int dayIndex) {
+    return this.dates[dayIndex].equals(this.today);
+  }
+}
@@ -0,0 +1,67 @@
+package mycalendar.view;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+
+/**
+ * Represents an area showing the background tasks which are running, such as opening or importing
+ * a calendar. Each task is shown with its title, a bar showing its progress, and a button to cancel
+ * it. The area is empty while no tasks are running.
+ */
+public class TaskStatusArea extends HBox {
+
+  private ObservableList<Task<?>> tasks;
+
+  /**
+   * Creates an instance of the task status area showing no tasks.
+   */
+  public TaskStatusArea() {
+    super(14);
+    this.tasks = null;
+    this.setAlignment(Pos.CENTER);
+  }
+
+  /**
+   * Shows the given list of running tasks, updating the area whenever a task starts or finishes.
+   *
+   * @param tasks the running tasks
+   */
+  public void setTasks(ObservableList<Task<?>> tasks) {
+    this.tasks = tasks;
+    this.tasks.addListener((ListChangeListener<Task<?>>) change -> this.update());
+    this.update();
+  }
+
+  /**
+   * Shows each running task.
+   */
+  private void update() {
+    this.getChildren().clear();
+
+    for (Task<?> task : this.tasks) {
+      Label title = new Label();
+      title.textProperty().bind(task.titleProperty());
+      title.setFont(Font.font("Century Gothic", 11));
+      title.setStyle("-fx-text-fill: #c2c2c2");
+
+      ProgressBar progress = new ProgressBar();
+      progress.progressProperty().bind(task.progressProperty());
+      progress.setPrefWidth(90);
+
+      Button cancel = new Button("Cancel");
+      cancel.setFont(Font.font("Century Gothic", 10));
+      cancel.setOnAction(e -> task.cancel());
+
+      HBox taskStatus = new HBox(6, title, progress, cancel);
+      taskStatus.setAlignment(Pos.CENTER);
+      this.getChildren().add(taskStatus);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package mycalendar.view;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
@@ -10,7 +11,8 @@ import javafx.scene.layout.RowConstraints;
 import javafx.scene.layout.StackPane;
 
 /**
- * Represents the marks on the left side of the calendar which keep track of the time of day.
+ * Represents the marks on the left side of the calendar which keep track of the time of day. The
+ * marks are the same for every week and are cached as a bitmap.
  */
 public class TimeMarks extends StackPane {
 
@@ -46,6 +48,10 @@ public class TimeMarks extends StackPane {
     this.getChildren().add(timeColumn);
     this.setPadding(new Insets(10, 0, 0, 0));
     this.setStyle("-fx-background-color: #454545");
+
+    // The marks never change, so they are drawn once into a bitmap which is reused until resized
+    this.setCache(true);
+    this.setCacheHint(CacheHint.QUALITY);
   }
 
 }
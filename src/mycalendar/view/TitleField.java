@@ -0,0 +1,81 @@
+package mycalendar.view;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * Represents a text field for an event title which shows a dropdown of suggested titles as the user
+ * types. The suggestions are the most used titles in the calendar starting with the typed text.
+ */
+public class TitleField extends TextField {
+
+  private final Function<String, List<String>> suggestTitles;
+  private final Consumer<String> chooseTitle;
+  private final ContextMenu suggestionMenu;
+
+  private boolean choosingSuggestion;
+
+  /**
+   * Creates an instance of the title field.
+   *
+   * @param suggestTitles an operation which takes in the typed text and gives the titles to suggest
+   * @param chooseTitle   an operation which takes in a title the user chose from the suggestions
+   */
+  public TitleField(Function<String, List<String>> suggestTitles, Consumer<String> chooseTitle) {
+    super();
+    this.suggestTitles = suggestTitles;
+    this.chooseTitle = chooseTitle;
+    this.suggestionMenu = new ContextMenu();
+
+    this.setMaxWidth(200);
+    this.setPromptText("Event title");
+
+    // Only suggest for text the user typed (not text set by choosing a suggestion)
+    this.textProperty().addListener((observable, oldText, newText) -> {
+      if (this.isFocused() && !this.choosingSuggestion) {
+        this.showSuggestions();
+      }
+    });
+    this.focusedProperty().addListener((observable, wasFocused, isFocused) -> {
+      if (!isFocused) {
+        this.suggestionMenu.hide();
+      }
+    });
+  }
+
+  /**
+   * Shows the suggested titles for the text currently in this field below this field. If there are
+   * no suggestions, the dropdown is hidden.
+   */
+  private void showSuggestions() {
+    String typed = this.getText();
+    List<String> suggestions = typed.isEmpty() ? List.of() : this.suggestTitles.apply(typed);
+
+    if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equals(typed))) {
+      this.suggestionMenu.hide();
+      return;
+    }
+
+    this.suggestionMenu.getItems().clear();
+    for (String title : suggestions) {
+      MenuItem item = new MenuItem(title);
+      item.setOnAction(e -> {
+        this.choosingSuggestion = true;
+        this.setText(title);
+        this.choosingSuggestion = false;
+        this.positionCaret(title.length());
+        this.chooseTitle.accept(title);
+      });
+      this.suggestionMenu.getItems().add(item);
+    }
+
+    if (!this.suggestionMenu.isShowing()) {
+      this.suggestionMenu.show(this, Side.BOTTOM, 0, 0);
+    }
+  }
+}
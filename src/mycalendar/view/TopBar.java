@@ -6,7 +6,8 @@ import javafx.scene.layout.StackPane;
 
 /**
  * Creates the top bar for the calendar application containing a live clock, controls for what date
- * is shown, and window controls (minimize, maximize, close).
+ * is shown, toggles for which colors of events are shown, the status of running background tasks,
+ * and window controls (minimize, maximize, close).
  */
 public class TopBar extends StackPane {
 
@@ -15,14 +16,19 @@ public class TopBar extends StackPane {
    *
    * @param weekControls   controls for what date is shown
    * @param liveClock      a continuously updating clock showing the current date and time
+   * @param colorFilterBar toggles for which colors of events are shown
+   * @param taskStatus     the status of each running background task
    * @param windowControls controls for managing the window (minimize, maximize, close)
    */
-  public TopBar(HBox weekControls, LiveClock liveClock, WindowControls windowControls) {
+  public TopBar(HBox weekControls, LiveClock liveClock, ColorFilterBar colorFilterBar,
+      TaskStatusArea taskStatus, WindowControls windowControls) {
     BorderPane lowerBar = new BorderPane();
     BorderPane upperBar = new BorderPane();
 
     lowerBar.setCenter(weekControls);
+    lowerBar.setRight(colorFilterBar);
     upperBar.setLeft(liveClock);
+    upperBar.setCenter(taskStatus);
     upperBar.setRight(windowControls);
 
     upperBar.setPickOnBounds(false);
@@ -1,6 +1,5 @@
 package mycalendar.view;
 
-import java.util.function.Consumer;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -10,7 +9,6 @@ import javafx.scene.control.skin.DatePickerSkin;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
@@ -18,30 +16,38 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import mycalendar.model.CalendarMath;
-import mycalendar.model.Event;
 import mycalendar.model.dateandtime.Date;
 import mycalendar.model.dateandtime.MonthName;
 
 /**
  * Represents controls for managing which week is shown in the calendar. Allows the user to go
- * forward a week, go backward a week, or choose the week to be displayed.
+ * forward a week, go backward a week, or choose the week to be displayed. Also allows the user to
+ * add an event, copy the selected events to the next week, delete the selected events, or delete
+ * the events within a range of dates.
  */
 public class WeekControls extends HBox {
 
   private final Date currentViewDate;
   private final Button currentViewButton;
-  private final Runnable refresh;
+  private final Button copySelectedButton;
+  private final Button deleteSelectedButton;
+  private final Runnable showWeek;
 
   /**
    * Creates an instance of the week controls.
    *
    * @param currentViewDate the date currently being viewed in the calendar
-   * @param addEventPopup   an operation which takes in an event and adds it to the calendar
-   * @param refresh         an operation which refreshes the calendar
+   * @param addEventPopup    an operation which shows a popup allowing the user to add an event
+   * @param copySelected     an operation which copies the selected events to the week after them
+   * @param deleteSelected   an operation which deletes the selected events
+   * @param deleteRangePopup an operation which shows a popup allowing the user to delete the events
+   *                         within a range of dates
+   * @param showWeek         an operation which shows the week of the currently viewed date
    */
-  public WeekControls(Date currentViewDate, Consumer<Event> addEventPopup, Runnable refresh) {
+  public WeekControls(Date currentViewDate, Runnable addEventPopup, Runnable copySelected,
+      Runnable deleteSelected, Runnable deleteRangePopup, Runnable showWeek) {
     this.currentViewDate = currentViewDate;
-    this.refresh = refresh;
+    this.showWeek = showWeek;
 
     this.currentViewButton = new Button();
     this.currentViewButton
@@ -64,7 +70,7 @@ public class WeekControls extends HBox {
       validDatePicker.setOnAction(event -> {
         Date chosenDate = CalendarMath.localDateToModelDate(validDatePicker.getValue());
         this.currentViewDate.setDate(chosenDate);
-        this.refresh.run();
+        this.showWeek.run();
         this.updateWeekViewLabel();
         calendarPickerStage.close();
       });
@@ -105,16 +111,62 @@ public class WeekControls extends HBox {
     this.getChildren().add(this.leftRightButton(false));
 
     this.getChildren().add(this.addEventButton(addEventPopup));
+
+    this.copySelectedButton = this.textButton(copySelected);
+    this.copySelectedButton.setText("Copy to next week");
+    this.deleteSelectedButton = this.textButton(deleteSelected);
+    this.setSelectionSize(0);
+    this.getChildren().add(this.copySelectedButton);
+    this.getChildren().add(this.deleteSelectedButton);
+
+    Button deleteRangeButton = this.textButton(deleteRangePopup);
+    deleteRangeButton.setText("Delete range");
+    this.getChildren().add(deleteRangeButton);
+  }
+
+  /**
+   * Shows the given number of selected events on the button for deleting the selected events. The
+   * buttons for copying and deleting the selected events are disabled when no events are selected.
+   *
+   * @param numSelected the number of selected events
+   */
+  public void setSelectionSize(int numSelected) {
+    this.deleteSelectedButton.setText("Delete selected (" + numSelected + ")");
+    this.deleteSelectedButton.setDisable(numSelected == 0);
+    this.copySelectedButton.setDisable(numSelected == 0);
+  }
+
+  /**
+   * Creates a plain text button which runs the given operation when pressed.
+   *
+   * @param action the operation to run when the button is pressed
+   * @return a plain text button running the given operation
+   */
+  private Button textButton(Runnable action) {
+    Button button = new Button();
+    button.setFont(Font.font("Century Gothic", 16));
+    button
+        .setStyle("-fx-text-fill: #9e9e9e;-fx-background-color: transparent;-fx-border-width: 0;");
+
+    button.setOnMouseEntered(e -> button.setStyle("-fx-text-fill: #9e9e9e;"
+        + "-fx-background-color: rgba(112,112,112,0.55);-fx-border-width: 0;"));
+    button.setOnMouseExited(e -> button.setStyle(
+        "-fx-text-fill: #9e9e9e;-fx-background-color: transparent;-fx-border-width: 0;"));
+
+    button.setAlignment(Pos.CENTER);
+    button.setOnAction(e -> action.run());
+
+    return button;
   }
 
   /**
    * Creates a button which allows the user to add an event by creating a popup with the necessary
    * fields.
    *
-   * @param addEventPopup an operation which takes in an event and adds it to the calendar
+   * @param addEventPopup an operation which shows a popup allowing the user to add an event
    * @return a button allowing the user to add an event to the calendar
    */
-  private Button addEventButton(Consumer<Event> addEventPopup) {
+  private Button addEventButton(Runnable addEventPopup) {
     Button addEventButton = new Button();
     addEventButton.setMinWidth(240);
     addEventButton.setFont(Font.font("Century Gothic", 30));
@@ -132,18 +184,7 @@ public class WeekControls extends HBox {
 
     addEventButton.setTextAlignment(TextAlignment.CENTER);
     addEventButton.setAlignment(Pos.CENTER);
-    addEventButton.setOnAction(e -> {
-      Stage addEventStage = new Stage();
-      VBox eventAdder = new AddEventPopup(addEventPopup);
-      Scene addEventScene = new Scene(eventAdder, 350, 350);
-      addEventStage.setScene(addEventScene);
-      addEventStage.initOwner(this.getScene().getWindow());
-      addEventStage.initModality(Modality.WINDOW_MODAL);
-      addEventStage.setTitle("Add Event");
-      addEventStage.show();
-      eventAdder.requestFocus();
-
-    });
+    addEventButton.setOnAction(e -> addEventPopup.run());
 
     addEventButton.setText("Add event");
 
@@ -214,15 +255,15 @@ public class WeekControls extends HBox {
 
     this.currentViewDate.setDate(incrementedWeek);
 
-    this.refresh.run();
+    this.showWeek.run();
     this.updateWeekViewLabel();
   }
 
   /**
    * Updates the label showing the currently viewed month and year to reflect the date currently
-   * being viewed in the calendar.
+   * being viewed in the calendar, such as after the shown days were scrolled.
    */
-  private void updateWeekViewLabel() {
+  public void updateWeekViewLabel() {
     String month = MonthName.getMonthName(this.currentViewDate.getMonth()).substring(0, 3);
     int year = this.currentViewDate.getYear();
 
@@ -0,0 +1,226 @@
+package mycalendar.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import mycalendar.model.CalendarMath;
+import mycalendar.model.Event;
+import mycalendar.model.dateandtime.Date;
+
+/**
+ * Represents the events of one week laid out for the day columns: the events of each day, in order
+ * of start time, with events which overlap placed side by side in lanes. Only the events of the
+ * shown colors are laid out, so hidden events never take up a lane. A week laid out again after a
+ * change keeps the layouts of the days whose events did not change. A layout is built off the
+ * JavaFX thread and then only used on the JavaFX thread, so building one never holds up a frame.
+ * Immutable.
+ */
+final class WeekLayout {
+
+  private static final int DAYS_PER_WEEK = 7;
+
+  private final Date sundayOfWeek;
+  private final Date[] dates;
+  private final List<List<EventLayout>> days;
+
+  /**
+   * Constructs a layout of the given events of the week starting on the given Sunday, reusing the
+   * days of the given earlier layout of the same week whose events have not changed.
+   *
+   * @param sundayOfWeek the first date of the week
+   * @param events       the events of the week, in order of date and start time
+   * @param previous     an earlier layout of the week, or null if there is none
+   */
+  private WeekLayout(Date sundayOfWeek, List<Event> events, WeekLayout previous) {
+    this.sundayOfWeek = new Date(sundayOfWeek);
+
+    this.dates = new Date[DAYS_PER_WEEK];
+    List<List<Event>> dayEvents = new ArrayList<>();
+    for (int i = 0; i < DAYS_PER_WEEK; i++) {
+      this.dates[i] = CalendarMath.goForwardDays(sundayOfWeek, i);
+      dayEvents.add(new ArrayList<>());
+    }
+
+    // The events are in order of date, so each day's events follow the previous day's
+    int dayIndex = 0;
+    for (Event event : events) {
+      while (dayIndex < DAYS_PER_WEEK && !this.dates[dayIndex].equals(event.getDate())) {
+        dayIndex++;
+      }
+      if (dayIndex == DAYS_PER_WEEK) {
+        break;
+      }
+
+      dayEvents.get(dayIndex).add(event);
+    }
+
+    List<List<EventLayout>> days = new ArrayList<>();
+    for (int i = 0; i < DAYS_PER_WEEK; i++) {
+      if (previous != null && previous.hasSameEvents(i, dayEvents.get(i))) {
+        days.add(previous.days.get(i));
+      } else {
+        days.add(Collections.unmodifiableList(layOutDay(dayEvents.get(i))));
+      }
+    }
+    this.days = Collections.unmodifiableList(days);
+  }
+
+  /**
+   * Lays out the given events of the week starting on the given Sunday.
+   *
+   * @param sundayOfWeek the first date of the week
+   * @param events       the events of the week, in order of date and start time
+   * @return the layout of the week
+   */
+  static WeekLayout of(Date sundayOfWeek, List<Event> events) {
+    return new WeekLayout(sundayOfWeek, events, null);
+  }
+
+  /**
+   * Lays out the given events of the week starting on the given Sunday again, keeping the days of
+   * the given earlier layout of the week whose events have not changed.
+   *
+   * @param sundayOfWeek the first date of the week
+   * @param events       the events of the week, in order of date and start time
+   * @param previous     an earlier layout of the week, or null if there is none
+   * @return the layout of the week
+   */
+  static WeekLayout of(Date sundayOfWeek, List<Event> events, WeekLayout previous) {
+    return new WeekLayout(sundayOfWeek, events, previous);
+  }
+
+  /**
+   * Gets the first date of the laid out week.
+   *
+   * @return the Sunday of the week
+   */
+  Date getSunday() {
+    return new Date(this.sundayOfWeek);
+  }
+
+  /**
+   * Gets the laid out events of the given day of the week, in order of start time.
+   *
+   * @param date the date of the day
+   * @return the day's laid out events, or an empty list if the date is not within the week
+   */
+  List<EventLayout> getDay(Date date) {
+    for (int i = 0; i < DAYS_PER_WEEK; i++) {
+      if (this.dates[i].equals(date)) {
+        return this.days.get(i);
+      }
+    }
+
+    return List.of();
+  }
+
+  /**
+   * Lays out the given events of one day, placing events which overlap side by side. Takes
+   * O(k log k) time for k events.
+   *
+   * @param events the events of the day, in order of start time
+   * @return the laid out events of the day
+   */
+  private static List<EventLayout> layOutDay(List<Event> events) {
+    int[] startRows = new int[events.size()];
+    int[] endRows = new int[events.size()];
+    for (int i = 0; i < events.size(); i++) {
+      startRows[i] = EventText.startRow(events.get(i));
+      endRows[i] = startRows[i] + EventText.rowSpan(events.get(i));
+    }
+    int[][] lanes = assignLanes(startRows, endRows);
+
+    List<EventLayout> day = new ArrayList<>();
+    for (int i = 0; i < events.size(); i++) {
+      day.add(new EventLayout(events.get(i), lanes[0][i], lanes[1][i]));
+    }
+
+    return day;
+  }
+
+  /**
+   * Places events which overlap side by side, given the rows each event starts and ends on in
+   * order of start row. The events are swept through in order while the events still running are
+   * kept ordered by the row they end on: each event takes the lowest lane freed by the events
+   * which ended before it starts, or a new lane if none is free. Events which overlap one another,
+   * directly or through other events, form a group, and every event of a group is given the number
+   * of lanes the group needed so that they all have the same width. Takes O(k log k) time for k
+   * events.
+   *
+   * @param startRows the row each event starts on, in order
+   * @param endRows   the row each event ends on
+   * @return the lane of each event followed by the number of lanes of each event's group
+   */
+  private static int[][] assignLanes(int[] startRows, int[] endRows) {
+    int[] lanes = new int[startRows.length];
+    int[] laneCounts = new int[startRows.length];
+    // The row each running event ends on and its lane, the event ending first on top
+    PriorityQueue<int[]> running = new PriorityQueue<>(Comparator.comparingInt(end -> end[0]));
+    PriorityQueue<Integer> freeLanes = new PriorityQueue<>();
+    int groupStart = 0;
+    int groupLanes = 0;
+
+    for (int i = 0; i < startRows.length; i++) {
+      int startRow = startRows[i];
+      while (!running.isEmpty() && running.peek()[0] <= startRow) {
+        freeLanes.add(running.poll()[1]);
+      }
+
+      // Once nothing is running, the events before this one form a finished group
+      if (running.isEmpty()) {
+        Arrays.fill(laneCounts, groupStart, i, groupLanes);
+        groupStart = i;
+        groupLanes = 0;
+        freeLanes.clear();
+      }
+
+      int lane = freeLanes.isEmpty() ? groupLanes++ : freeLanes.poll();
+      lanes[i] = lane;
+      running.add(new int[] {endRows[i], lane});
+    }
+    Arrays.fill(laneCounts, groupStart, startRows.length, groupLanes);
+
+    return new int[][] {lanes, laneCounts};
+  }
+
+  /**
+   * Determines whether or not the given events are the same as the events laid out for the given
+   * day, so that the day's layout can be kept.
+   *
+   * @param dayIndex the index of the day within the week, starting with 0 for Sunday
+   * @param events   the events of the day, in order of start time
+   * @return whether or not the day's events are unchanged
+   */
+  private boolean hasSameEvents(int dayIndex, List<Event> events) {
+    List<EventLayout> day = this.days.get(dayIndex);
+    if (day.size() != events.size()) {
+      return false;
+    }
+
+    for (int i = 0; i < events.size(); i++) {
+      if (!isSameEvent(day.get(i).getEvent(), events.get(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Determines whether or not the given events are the same without comparing their contents.
+   * Events are replaced rather than changed within the calendar, so an event read again is the same
+   * object. The occurrences of a series are made each time they are read, but are the same as long
+   * as their series and date are.
+   *
+   * @param first  the first event
+   * @param second the second event
+   * @return whether or not the events are the same
+   */
+  private static boolean isSameEvent(Event first, Event second) {
+    return first == second || (first.isRecurring() && second.isRecurring()
+        && first.getSeries() == second.getSeries() && first.getDate().equals(second.getDate()));
+  }
+}
@@ -0,0 +1,385 @@
+package mycalendar.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import mycalendar.model.dateandtime.Date;
+import mycalendar.model.dateandtime.Time;
+
+/**
+ * Checks that calendars can be read and changed from several threads at once. Writer threads add,
+ * remove, update, and bulk change their own events in calendars shown together in a merged
+ * calendar, while reader threads keep checking that every snapshot they read is consistent with
+ * itself and that the locked reads of each calendar see the events which are never removed. Once
+ * the writers finish, each calendar must hold exactly the events its writers left in it.
+ *
+ * <p>Run with {@code java mycalendar.model.ConcurrentCalendarStressTest [readers] [writers]
+ * [seconds]} after compiling it together with the sources. Exits with status 1 if any check fails.
+ */
+public final class ConcurrentCalendarStressTest {
+
+  private static final String[] CALENDAR_NAMES = {"work", "personal"};
+  private static final int ANCHORS_PER_CALENDAR = 50;
+  private static final int FIRST_YEAR = 2020;
+  private static final int YEARS = 4;
+
+  private final MergedCalendarModel merged;
+  private final int numReaders;
+  private final int numWriters;
+  private final long durationMillis;
+  // The events of each calendar which are never removed, by calendar name
+  private final List<List<Event>> anchors;
+  // The events each writer has left in its calendar, by writer
+  private final List<List<Event>> liveEvents;
+  private final Queue<String> failures;
+  private final AtomicBoolean writing;
+  private final AtomicLong reads;
+  private final AtomicLong writes;
+
+  /**
+   * Constructs a stress test with the given numbers of threads.
+   *
+   * @param numReaders     the number of reader threads
+   * @param numWriters     the number of writer threads
+   * @param durationMillis how long the writers run for, in milliseconds
+   */
+  private ConcurrentCalendarStressTest(int numReaders, int numWriters, long durationMillis) {
+    this.merged = new MergedCalendarModel();
+    this.numReaders = numReaders;
+    this.numWriters = numWriters;
+    this.durationMillis = durationMillis;
+    this.anchors = new ArrayList<>();
+    this.liveEvents = new ArrayList<>();
+    this.failures = new ConcurrentLinkedQueue<>();
+    this.writing = new AtomicBoolean(true);
+    this.reads = new AtomicLong();
+    this.writes = new AtomicLong();
+  }
+
+  /**
+   * Runs the stress test.
+   *
+   * @param args the number of readers, the number of writers, and the number of seconds to run
+   *             for, each optional
+   * @throws InterruptedException if interrupted while waiting for the threads
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int numReaders = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+    int numWriters = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    ConcurrentCalendarStressTest test =
+        new ConcurrentCalendarStressTest(numReaders, numWriters, seconds * 1000L);
+    test.run();
+
+    System.out.printf("%d readers, %d writers: %d reads, %d writes, %d failures%n", numReaders,
+        numWriters, test.reads.get(), test.writes.get(), test.failures.size());
+    for (String failure : test.failures.stream().limit(20).toList()) {
+      System.out.println("  " + failure);
+    }
+    if (!test.failures.isEmpty()) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Sets up the calendars, runs the readers and writers together, and checks the calendars once
+   * the writers are done.
+   *
+   * @throws InterruptedException if interrupted while waiting for the threads
+   */
+  private void run() throws InterruptedException {
+    Random random = new Random(0);
+    for (int i = 0; i < CALENDAR_NAMES.length; i++) {
+      CalendarModel calendar = new CalendarModelImpl();
+      List<Event> calendarAnchors = new ArrayList<>();
+      for (int j = 0; j < ANCHORS_PER_CALENDAR; j++) {
+        calendarAnchors.add(randomEvent(random, "anchor " + i + "-" + j));
+      }
+      calendar.addAll(calendarAnchors);
+      calendar.addSeries(new EventSeries(randomEvent(random, "daily " + i),
+          new RecurrenceRule(RecurrenceFrequency.Daily, Set.of(), 1, null, 400, Set.of())));
+      this.merged.addCalendar(CALENDAR_NAMES[i], calendar);
+      this.anchors.add(calendarAnchors);
+    }
+    for (int i = 0; i < this.numWriters; i++) {
+      this.liveEvents.add(new ArrayList<>());
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < this.numReaders; i++) {
+      int readerIndex = i;
+      threads.add(Thread.ofPlatform().name("reader-" + i).start(() -> {
+        this.await(start);
+        this.read(new Random(1000 + readerIndex));
+      }));
+    }
+    List<Thread> writers = new ArrayList<>();
+    for (int i = 0; i < this.numWriters; i++) {
+      int writerIndex = i;
+      writers.add(Thread.ofPlatform().name("writer-" + i).start(() -> {
+        this.await(start);
+        this.write(writerIndex, new Random(writerIndex));
+      }));
+    }
+
+    start.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    this.writing.set(false);
+    for (Thread reader : threads) {
+      reader.join();
+    }
+
+    this.checkFinalState();
+  }
+
+  /**
+   * Keeps changing the events of the writer with the given index until the test's time is up. Each
+   * writer only changes its own events, so the events left in each calendar are known afterwards.
+   *
+   * @param writerIndex the index of the writer
+   * @param random      the source of the changes to make
+   */
+  private void write(int writerIndex, Random random) {
+    String calendarName = CALENDAR_NAMES[writerIndex % CALENDAR_NAMES.length];
+    CalendarModel calendar = this.merged.getCalendar(calendarName);
+    List<Event> live = this.liveEvents.get(writerIndex);
+    String prefix = "writer " + writerIndex + " ";
+    long end = System.currentTimeMillis() + this.durationMillis;
+    int numCreated = 0;
+
+    try {
+      while (System.currentTimeMillis() < end) {
+        int choice = random.nextInt(10);
+        if (choice < 5 || live.isEmpty()) {
+          Event event = randomEvent(random, prefix + numCreated++);
+          calendar.addEvent(event);
+          live.add(event);
+        } else if (choice < 7) {
+          calendar.removeEvent(live.remove(random.nextInt(live.size())));
+        } else if (choice < 8) {
+          List<Event> batch = new ArrayList<>();
+          for (int i = 0; i < 20; i++) {
+            batch.add(randomEvent(random, prefix + numCreated++));
+          }
+          calendar.addAll(batch);
+          live.addAll(batch);
+        } else if (choice < 9) {
+          Set<Event> doomed = new HashSet<>();
+          for (Event event : live) {
+            if (random.nextInt(8) == 0) {
+              doomed.add(event);
+            }
+          }
+          List<Event> removed = calendar.removeAll(doomed::contains);
+          if (!new HashSet<>(removed).equals(doomed)) {
+            this.fail("removeAll removed " + removed.size() + " of " + doomed.size() + " events");
+          }
+          live.removeAll(doomed);
+        } else {
+          int index = random.nextInt(live.size());
+          Event updatedEvent = randomEvent(random, prefix + numCreated++);
+          calendar.updateEvent(live.get(index), updatedEvent);
+          live.set(index, updatedEvent);
+        }
+        this.writes.incrementAndGet();
+      }
+    } catch (RuntimeException e) {
+      this.fail(Thread.currentThread().getName() + " threw " + e);
+    }
+  }
+
+  /**
+   * Keeps reading the calendars and checking what is read until the writers are done.
+   *
+   * @param random the source of the ranges to read
+   */
+  private void read(Random random) {
+    try {
+      while (this.writing.get()) {
+        this.checkSnapshot(this.merged.snapshot(), random);
+        this.checkLockedReads(random);
+        this.checkMergedRange(random);
+        this.reads.incrementAndGet();
+      }
+    } catch (RuntimeException e) {
+      this.fail(Thread.currentThread().getName() + " threw " + e);
+    }
+  }
+
+  /**
+   * Checks that the given snapshot is consistent with itself: its events are in order without
+   * duplicates and include every anchor, and the events and counts of a random range agree with
+   * each other color by color.
+   *
+   * @param snapshot the snapshot to check
+   * @param random   the source of the range to check
+   */
+  private void checkSnapshot(CalendarSnapshot snapshot, Random random) {
+    List<Event> events = snapshot.getEvents();
+    this.checkOrder(events, "snapshot events");
+    Set<Event> eventSet = new HashSet<>(events);
+    if (eventSet.size() != events.size()) {
+      this.fail("snapshot has " + (events.size() - eventSet.size()) + " duplicate events");
+    }
+    for (List<Event> calendarAnchors : this.anchors) {
+      if (!eventSet.containsAll(calendarAnchors)) {
+        this.fail("snapshot is missing an anchor event");
+      }
+    }
+
+    Date start = randomDate(random);
+    Date end = CalendarMath.goForwardDays(start, random.nextInt(120));
+    List<Event> inRange = snapshot.getEventsInRange(start, end, EnumSet.allOf(EventColor.class));
+    this.checkOrder(inRange, "range of every color");
+    Map<EventColor, Integer> counts = snapshot.countEventsInRange(start, end);
+
+    int total = 0;
+    for (EventColor color : EventColor.values()) {
+      List<Event> ofColor = snapshot.getEventsInRange(start, end, EnumSet.of(color));
+      this.checkOrder(ofColor, "range of " + color);
+      for (Event event : ofColor) {
+        if (event.getColor() != color || event.getDate().compareTo(start) < 0
+            || event.getDate().compareTo(end) > 0) {
+          this.fail("range of " + color + " has " + event.getTitle());
+        }
+      }
+      if (ofColor.size() != counts.get(color)) {
+        this.fail(color + " has " + ofColor.size() + " events but counts " + counts.get(color));
+      }
+      total += ofColor.size();
+    }
+    if (total != inRange.size()) {
+      this.fail("colors add up to " + total + " events but the range has " + inRange.size());
+    }
+  }
+
+  /**
+   * Checks that the reads made under each calendar's lock see the anchor events and titles.
+   *
+   * @param random the source of the anchor to look for
+   */
+  private void checkLockedReads(Random random) {
+    for (int i = 0; i < CALENDAR_NAMES.length; i++) {
+      CalendarModel calendar = this.merged.getCalendar(CALENDAR_NAMES[i]);
+      List<Event> calendarAnchors = this.anchors.get(i);
+      Event anchor = calendarAnchors.get(random.nextInt(calendarAnchors.size()));
+      if (!calendar.contains(anchor)) {
+        this.fail(CALENDAR_NAMES[i] + " does not contain " + anchor.getTitle());
+      }
+      if (calendar.suggestTitles("anchor", 8).isEmpty()) {
+        this.fail(CALENDAR_NAMES[i] + " suggests no anchor titles");
+      }
+    }
+  }
+
+  /**
+   * Checks that a range read from every calendar at once is in order.
+   *
+   * @param random the source of the range to read
+   */
+  private void checkMergedRange(Random random) {
+    Date start = randomDate(random);
+    Date end = CalendarMath.goForwardDays(start, random.nextInt(30));
+    this.checkOrder(this.merged.getEventsInRange(start, end), "merged range");
+  }
+
+  /**
+   * Checks that each calendar holds exactly the anchors and the events its writers left in it.
+   */
+  private void checkFinalState() {
+    for (int i = 0; i < CALENDAR_NAMES.length; i++) {
+      Set<Event> expected = new HashSet<>(this.anchors.get(i));
+      for (int writer = i; writer < this.numWriters; writer += CALENDAR_NAMES.length) {
+        expected.addAll(this.liveEvents.get(writer));
+      }
+
+      CalendarModel calendar = this.merged.getCalendar(CALENDAR_NAMES[i]);
+      Set<Event> actual = new HashSet<>(calendar.snapshot().getEvents());
+      if (!actual.equals(expected)) {
+        this.fail(CALENDAR_NAMES[i] + " holds " + actual.size() + " events but should hold "
+            + expected.size());
+      }
+      for (Event event : expected) {
+        if (!calendar.contains(event)) {
+          this.fail(CALENDAR_NAMES[i] + " does not contain " + event.getTitle());
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks that the given events are in chronological order.
+   *
+   * @param events the events to check
+   * @param what   a description of the events for the failure message
+   */
+  private void checkOrder(List<Event> events, String what) {
+    for (int i = 1; i < events.size(); i++) {
+      if (DateIndex.CHRONOLOGICAL.compare(events.get(i - 1), events.get(i)) > 0) {
+        this.fail(what + " is out of order at " + i);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Records a failed check.
+   *
+   * @param failure what went wrong
+   */
+  private void fail(String failure) {
+    this.failures.add(failure);
+  }
+
+  /**
+   * Waits for the given latch, so that every thread starts at once.
+   *
+   * @param latch the latch to wait for
+   */
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Creates an event on a random date and time with a random color and the given title.
+   *
+   * @param random the source of the event's date, times, and color
+   * @param title  the title of the event, which makes it unique
+   * @return a random event
+   */
+  private static Event randomEvent(Random random, String title) {
+    int startHour = random.nextInt(20);
+    return new Event(randomDate(random), new Time(startHour, random.nextInt(4) * 15),
+        new Time(startHour + 1 + random.nextInt(3), 0), title, "",
+        EventColor.values()[random.nextInt(EventColor.values().length)]);
+  }
+
+  /**
+   * Creates a random date within the years the test's events are on.
+   *
+   * @param random the source of the date
+   * @return a random date
+   */
+  private static Date randomDate(Random random) {
+    return new Date(FIRST_YEAR + random.nextInt(YEARS), 1 + random.nextInt(12),
+        1 + random.nextInt(28));
+  }
+}